@@ -0,0 +1,133 @@
+package bench;
+
+import model.spi.CsrStore;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+import static model.algorithms.Algorithms.NO_PARENT;
+import static model.algorithms.Algorithms.UNREACHABLE;
+
+final class Benchmarks {
+    static final int REPETITIONS = 3;
+    private static final long SEED = 42;
+
+    private Benchmarks(){}
+
+    static CsrStore randomGraph(int verticesCount, int degree, ToIntFunction<SplittableRandom> weights){
+        return randomGraph(SEED, verticesCount, degree, weights);
+    }
+
+    static CsrStore randomGraph(long seed, int verticesCount, int degree, ToIntFunction<SplittableRandom> weights){
+        SplittableRandom random = new SplittableRandom(seed);
+        int edgesCount = verticesCount*degree;
+        int[] starts = new int[edgesCount], ends = new int[edgesCount], edgeWeights = new int[edgesCount];
+        for (int e = 0; e < edgesCount; ++e){
+            starts[e] = random.nextInt(verticesCount);
+            ends[e] = random.nextInt(verticesCount);
+            edgeWeights[e] = weights.applyAsInt(random);
+        }
+        return CsrStore.of(verticesCount, starts, ends, edgeWeights);
+    }
+
+    static long measure(Runnable algorithm){
+        return measure(0, REPETITIONS, algorithm);
+    }
+
+    static long measure(int warmup, int repetitions, Runnable algorithm){
+        for (int i = 0; i < warmup; ++i)
+            algorithm.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < repetitions; ++i){
+            long start = System.nanoTime();
+            algorithm.run();
+            best = Math.min(best, System.nanoTime()-start);
+        }
+        return best;
+    }
+
+    static void check(boolean condition, String message){
+        if (!condition)
+            throw new IllegalStateException(message);
+    }
+
+    static boolean isShortestPathTree(GraphStore graph, int source, long[] distances, int[] parents){
+        int n = graph.verticesCount();
+        if (distances[source] != 0 || parents[source] != NO_PARENT)
+            return false;
+        EdgeCursor cursor = graph.outCursor();
+        for (int v = 0; v < n; ++v){
+            if (v == source)
+                continue;
+            int parent = parents[v];
+            if (distances[v] == UNREACHABLE || parent == NO_PARENT){
+                if (distances[v] != UNREACHABLE || parent != NO_PARENT)
+                    return false;
+                continue;
+            }
+            if (distances[parent] == UNREACHABLE || !hasTightEdge(cursor, parent, v, distances))
+                return false;
+        }
+        byte[] state = new byte[n];
+        int[] path = new int[n];
+        state[source] = 2;
+        for (int v = 0; v < n; ++v){
+            int length = 0;
+            for (int w = v; w != NO_PARENT && state[w] == 0; w = parents[w]){
+                state[w] = 1;
+                path[length++] = w;
+            }
+            int end = length == 0 ? NO_PARENT : parents[path[length-1]];
+            if (end != NO_PARENT && state[end] == 1)
+                return false;
+            for (int i = 0; i < length; ++i)
+                state[path[i]] = 2;
+        }
+        return true;
+    }
+
+    static boolean isFeasibleFlow(GraphStore graph, int source, int sink, int[] flows, long flow){
+        long[] balance = new long[graph.verticesCount()];
+        EdgeCursor cursor = graph.outCursor();
+        for (int v = 0; v < graph.verticesCount(); ++v){
+            for (cursor.at(v); cursor.next(); ){
+                int edgeFlow = flows[(int) cursor.edge()];
+                if (edgeFlow < 0 || edgeFlow > cursor.weight())
+                    return false;
+                balance[v] -= edgeFlow;
+                balance[cursor.neighbour()] += edgeFlow;
+            }
+        }
+        for (int v = 0; v < balance.length; ++v){
+            long expected = v == source ? -flow : v == sink ? flow : 0;
+            if (source != sink && balance[v] != expected)
+                return false;
+        }
+        return true;
+    }
+
+    static long cutCapacity(GraphStore graph, boolean[] sourceSide){
+        long capacity = 0;
+        EdgeCursor cursor = graph.outCursor();
+        for (int v = 0; v < graph.verticesCount(); ++v){
+            if (!sourceSide[v])
+                continue;
+            for (cursor.at(v); cursor.next(); ){
+                if (!sourceSide[cursor.neighbour()])
+                    capacity += cursor.weight();
+            }
+        }
+        return capacity;
+    }
+
+    private static boolean hasTightEdge(EdgeCursor cursor, int parent, int vertex, long[] distances){
+        for (cursor.at(parent); cursor.next(); ){
+            if (cursor.neighbour() == vertex && distances[parent]+cursor.weight() == distances[vertex])
+                return true;
+        }
+        return false;
+    }
+
+}
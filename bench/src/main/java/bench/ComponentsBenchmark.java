@@ -0,0 +1,68 @@
+package bench;
+
+import model.algorithms.Components;
+import model.algorithms.ParallelComponents;
+import model.spi.CsrStore;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static bench.Benchmarks.check;
+import static bench.Benchmarks.measure;
+import static bench.Benchmarks.randomGraph;
+
+public final class ComponentsBenchmark {
+    private static final int DEFAULT_VERTICES = 2_000_000, DEFAULT_DEGREE = 4, DEFAULT_MAX_THREADS = 32;
+
+    private ComponentsBenchmark(){}
+
+    public static void main(String[] args){
+        int verticesCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_VERTICES;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEGREE;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_THREADS;
+        System.out.printf("vertices=%d degree=%d cores=%d%n", verticesCount, degree,
+                Runtime.getRuntime().availableProcessors());
+        CsrStore graph = randomGraph(verticesCount, degree, random -> 1);
+
+        int[] sequentialLabels = new int[verticesCount], sequentialComponents = new int[verticesCount];
+        long sequentialConnected = measure(() -> Components.connectedComponents(graph, sequentialLabels));
+        long sequentialStrong = measure(() -> Components.stronglyConnectedComponents(graph, sequentialComponents));
+        System.out.printf("%-8s %12s %8s %12s %8s%n", "threads", "cc ms", "speedup", "scc ms", "speedup");
+        System.out.printf("%-8s %12.1f %8s %12.1f %8s%n", "seq", sequentialConnected/1e6, "-",
+                sequentialStrong/1e6, "-");
+
+        long baseConnected = 0, baseStrong = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2){
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                int[] labels = new int[verticesCount], components = new int[verticesCount];
+                long connected = measure(() -> ParallelComponents.connectedComponents(graph, labels, pool));
+                long strong = measure(() -> ParallelComponents.stronglyConnectedComponents(graph, components, pool));
+                check(Arrays.equals(labels, sequentialLabels) && samePartition(components, sequentialComponents),
+                        "Parallel partition differs from the sequential one");
+                if (threads == 1){
+                    baseConnected = connected;
+                    baseStrong = strong;
+                }
+                System.out.printf("%-8d %12.1f %8.2f %12.1f %8.2f%n", threads, connected/1e6,
+                        (double) baseConnected/connected, strong/1e6, (double) baseStrong/strong);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static boolean samePartition(int[] first, int[] second){
+        Map<Integer, Integer> forward = new HashMap<>(), backward = new HashMap<>();
+        for (int v = 0; v < first.length; ++v){
+            int left = first[v], right = second[v];
+            if (forward.computeIfAbsent(left, key -> right) != right
+                    || backward.computeIfAbsent(right, key -> left) != left)
+                return false;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,211 @@
+package bench;
+
+import model.ConcurrentGraph;
+import model.Edge;
+import model.Graph;
+import model.HashGraph;
+import model.Vertex;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public final class ConcurrentGraphBenchmark {
+    private static final int DEFAULT_WRITERS = 4, DEFAULT_READERS = 4, DEFAULT_VERTICES = 10_000;
+    private static final long DEFAULT_DURATION_MS = 3_000, WARMUP_MS = 1_000;
+
+    private ConcurrentGraphBenchmark(){}
+
+    public static void main(String[] args) throws InterruptedException {
+        int writers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WRITERS;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_READERS;
+        int verticesCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_VERTICES;
+        long durationMs = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_DURATION_MS;
+        System.out.printf("writers=%d readers=%d vertices=%d duration=%dms%n",
+                writers, readers, verticesCount, durationMs);
+        run("synchronized HashGraph", () -> new SynchronizedGraph(new HashGraph()),
+                writers, readers, verticesCount, durationMs);
+        run("ConcurrentGraph", ConcurrentGraph::new, writers, readers, verticesCount, durationMs);
+    }
+
+    private static void run(String name, Supplier<Graph> factory, int writers, int readers,
+                            int verticesCount, long durationMs) throws InterruptedException {
+        measure(factory.get(), writers, readers, verticesCount, WARMUP_MS);
+        long[] ops = measure(factory.get(), writers, readers, verticesCount, durationMs);
+        System.out.printf("%-24s writes: %,12d ops/s   reads: %,12d ops/s%n", name,
+                ops[0]*1000/durationMs, ops[1]*1000/durationMs);
+    }
+
+    private static long[] measure(Graph graph, int writers, int readers, int verticesCount, long durationMs)
+            throws InterruptedException {
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < verticesCount; ++i){
+            Vertex vertex = new Vertex("v"+i);
+            vertices.add(vertex);
+            graph.addVertex(vertex);
+        }
+        for (int i = 0; i < 4*verticesCount; ++i)
+            graph.addEdge(randomEdge(vertices));
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder writes = new LongAdder(), reads = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < writers; ++i)
+            threads.add(new Thread(() -> write(graph, vertices, start, stop, writes), "writer-"+i));
+        for (int i = 0; i < readers; ++i)
+            threads.add(new Thread(() -> read(graph, vertices, start, stop, reads), "reader-"+i));
+        for (Thread thread: threads)
+            thread.start();
+        start.countDown();
+        Thread.sleep(durationMs);
+        stop.set(true);
+        for (Thread thread: threads)
+            thread.join();
+        return new long[]{writes.sum(), reads.sum()};
+    }
+
+    private static void write(Graph graph, List<Vertex> vertices, CountDownLatch start,
+                              AtomicBoolean stop, LongAdder counter){
+        await(start);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!stop.get()){
+            Edge edge = randomEdge(vertices);
+            switch (random.nextInt(3)){
+                case 0:
+                    graph.addEdge(edge);
+                    break;
+                case 1:
+                    graph.getEdge(edge.getStart(), edge.getEnd()).ifPresent(graph::removeEdge);
+                    break;
+                default:
+                    graph.addEdge(edge);
+                    try {
+                        graph.reverseEdge(edge, random.nextInt(edge.getWeight()+1));
+                    } catch (IllegalArgumentException e){
+                        continue;
+                    }
+            }
+            counter.increment();
+        }
+    }
+
+    private static void read(Graph graph, List<Vertex> vertices, CountDownLatch start,
+                             AtomicBoolean stop, LongAdder counter){
+        await(start);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long checksum = 0;
+        while (!stop.get()){
+            Vertex vertex = vertices.get(random.nextInt(vertices.size()));
+            for (Map.Entry<Vertex, Edge> entry: graph.adjencyList(vertex).entrySet())
+                checksum += entry.getValue().getWeight();
+            counter.increment();
+        }
+        if (checksum == Long.MIN_VALUE)
+            System.out.println(checksum);
+    }
+
+    private static Edge randomEdge(List<Vertex> vertices){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Edge(vertices.get(random.nextInt(vertices.size())),
+                vertices.get(random.nextInt(vertices.size())), 1+random.nextInt(100));
+    }
+
+    private static void await(CountDownLatch latch){
+        try {
+            latch.await();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class SynchronizedGraph implements Graph {
+        private final Graph graph;
+
+        private SynchronizedGraph(Graph graph){
+            this.graph = graph;
+        }
+
+        @Override
+        public synchronized Map<Vertex, Edge> adjencyList(Vertex vertex){
+            return graph.adjencyList(vertex);
+        }
+
+        @Override
+        public synchronized Map<Vertex, Edge> precedencyList(Vertex vertex){
+            return graph.precedencyList(vertex);
+        }
+
+        @Override
+        public synchronized int verticesCount(){
+            return graph.verticesCount();
+        }
+
+        @Override
+        public synchronized int edgesCount(){
+            return graph.edgesCount();
+        }
+
+        @Override
+        public synchronized long modificationCount(){
+            return graph.modificationCount();
+        }
+
+        @Override
+        public synchronized Graph addVertex(Vertex vertex){
+            graph.addVertex(vertex);
+            return this;
+        }
+
+        @Override
+        public synchronized Graph addEdge(Edge newEdge){
+            graph.addEdge(newEdge);
+            return this;
+        }
+
+        @Override
+        public synchronized Graph removeVertex(Vertex vertex){
+            graph.removeVertex(vertex);
+            return this;
+        }
+
+        @Override
+        public synchronized Graph removeEdge(Edge edge){
+            graph.removeEdge(edge);
+            return this;
+        }
+
+        @Override
+        public synchronized Set<Vertex> getVertices(){
+            return new HashSet<>(graph.getVertices());
+        }
+
+        @Override
+        public synchronized Set<Edge> getEdges(){
+            return graph.getEdges();
+        }
+
+        @Override
+        public synchronized Optional<Edge> getEdge(Vertex start, Vertex end){
+            return graph.getEdge(start, end);
+        }
+
+        @Override
+        public synchronized void reverseEdge(Edge edge, int reversed){
+            graph.reverseEdge(edge, reversed);
+        }
+
+        @Override
+        public synchronized void edgeModified(Edge edge){
+            graph.edgeModified(edge);
+        }
+
+        @Override
+        public synchronized Graph clone(){
+            return new SynchronizedGraph(graph.clone());
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package bench;
+
+import model.algorithms.Algorithms;
+import model.algorithms.DenseKernels;
+import model.algorithms.IdEventRecorder;
+import model.spi.CsrStore;
+import model.spi.MatrixStore;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static bench.Benchmarks.check;
+import static bench.Benchmarks.measure;
+
+public final class DenseKernelsBenchmark {
+    private static final int DEFAULT_VERTICES = 1024, DEFAULT_DENSITY = 100, MAX_WEIGHT = 1000;
+    private static final int WARMUP = 10, REPETITIONS = 5;
+
+    private DenseKernelsBenchmark(){}
+
+    public static void main(String[] args){
+        int verticesCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_VERTICES;
+        int density = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DENSITY;
+        MatrixStore graph = randomGraph(verticesCount, density);
+        CsrStore sparse = CsrStore.copyOf(graph);
+        System.out.printf("vertices=%d edges=%d vector=%s%n", verticesCount, graph.edgesCount(),
+                DenseKernels.isVectorAvailable() ? "available" : "unavailable, run with --add-modules "
+                        +DenseKernels.VECTOR_MODULE);
+        System.out.printf("%-16s %12s %12s %8s %14s%n", "kernel", "scalar ms", "vector ms", "speedup", "reference ms");
+
+        int[] parents = new int[verticesCount];
+        long spanningWeight = Algorithms.kruskal(sparse, (edge, start, end, value) -> {}, IdEventRecorder.NONE);
+        report("prim", mode -> {
+            long weight = DenseKernels.prim(graph, parents, mode);
+            check(weight == spanningWeight, "prim results differ from the reference");
+            return weight;
+        }, () -> Algorithms.kruskal(sparse, (edge, start, end, value) -> {}, IdEventRecorder.NONE));
+
+        int[] expected = new int[verticesCount], distances = new int[verticesCount];
+        Algorithms.breathFirstSearch(sparse, 0, expected, IdEventRecorder.NONE);
+        report("bfs", mode -> {
+            DenseKernels.breathFirstSearch(graph, 0, distances, mode);
+            check(Arrays.equals(distances, expected), "bfs results differ from the reference");
+            return distances;
+        }, () -> {
+            Algorithms.breathFirstSearch(sparse, 0, expected, IdEventRecorder.NONE);
+            return expected;
+        });
+
+        long[] allPairs = new long[verticesCount*verticesCount];
+        long[] scalarPairs = new long[allPairs.length];
+        DenseKernels.floydWarshall(graph, scalarPairs, DenseKernels.Mode.SCALAR);
+        report("floyd-warshall", mode -> {
+            DenseKernels.floydWarshall(graph, allPairs, mode);
+            check(Arrays.equals(allPairs, scalarPairs), "floyd-warshall results differ from the reference");
+            return allPairs;
+        }, null);
+    }
+
+    private interface Kernel {
+        Object run(DenseKernels.Mode mode);
+    }
+
+    private static void report(String name, Kernel kernel, Supplier<Object> reference){
+        long scalar = measure(WARMUP, REPETITIONS, () -> kernel.run(DenseKernels.Mode.SCALAR));
+        System.out.printf("%-16s %12.1f", name, scalar/1e6);
+        if (DenseKernels.isVectorAvailable()){
+            long vector = measure(WARMUP, REPETITIONS, () -> kernel.run(DenseKernels.Mode.VECTOR));
+            System.out.printf(" %12.1f %8.2f", vector/1e6, (double) scalar/vector);
+        } else
+            System.out.printf(" %12s %8s", "-", "-");
+        System.out.printf(" %14s%n", reference == null ? "-"
+                : String.format("%.1f", measure(WARMUP, REPETITIONS, reference::get)/1e6));
+    }
+
+    private static MatrixStore randomGraph(int verticesCount, int density){
+        SplittableRandom random = new SplittableRandom(42);
+        MatrixStore graph = new MatrixStore(verticesCount);
+        for (int v = 0; v < verticesCount; ++v){
+            for (int w = 0; w < verticesCount; ++w){
+                if (v != w && random.nextInt(100) < density)
+                    graph.setEdge(v, w, 1+random.nextInt(MAX_WEIGHT));
+            }
+        }
+        return graph;
+    }
+
+}
@@ -0,0 +1,72 @@
+package bench;
+
+import model.algorithms.Algorithms;
+import model.algorithms.IdEventRecorder;
+import model.algorithms.MaxFlow;
+import model.spi.CsrStore;
+import model.spi.EdgeVisitor;
+
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+import static bench.Benchmarks.check;
+import static bench.Benchmarks.cutCapacity;
+import static bench.Benchmarks.isFeasibleFlow;
+import static bench.Benchmarks.measure;
+import static bench.Benchmarks.randomGraph;
+
+public final class MaxFlowBenchmark {
+    private static final int DEFAULT_VERTICES = 200_000, DEFAULT_DEGREE = 8, DEFAULT_TRIALS = 1_000;
+    private static final int SMALL_VERTICES = 64, SMALL_DEGREE = 4, MAX_CAPACITY = 100;
+    private static final ToIntFunction<SplittableRandom> CAPACITIES = random -> random.nextInt(MAX_CAPACITY+1);
+    private static final EdgeVisitor IGNORED = (edge, start, end, value) -> {};
+
+    private MaxFlowBenchmark(){}
+
+    public static void main(String[] args){
+        int verticesCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_VERTICES;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEGREE;
+        int trials = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TRIALS;
+        System.out.printf("vertices=%d degree=%d trials=%d%n", verticesCount, degree, trials);
+        SplittableRandom random = new SplittableRandom(trials);
+        for (int trial = 0; trial < trials; ++trial){
+            int n = 2+random.nextInt(SMALL_VERTICES-1);
+            CsrStore graph = randomGraph(trial, n, 1+random.nextInt(SMALL_DEGREE), CAPACITIES);
+            int source = random.nextInt(n), sink = (source+1+random.nextInt(n-1))%n;
+            crossCheck(graph, source, sink);
+        }
+        System.out.printf("%d random graphs: push-relabel flows and cuts match ford-fulkerson%n", trials);
+
+        CsrStore graph = randomGraph(verticesCount, degree, CAPACITIES);
+        int sink = verticesCount-1;
+        long[] expected = new long[1];
+        long fordFulkerson = measure(() ->
+                expected[0] = Algorithms.fordFulkerson(graph, 0, sink, IGNORED, IdEventRecorder.NONE));
+        System.out.printf("%-14s %12s %8s%n", "algorithm", "ms", "speedup");
+        System.out.printf("%-14s %12.1f %8s%n", "ford-fulkerson", fordFulkerson/1e6, "-");
+        for (MaxFlow.Selection selection: MaxFlow.Selection.values()){
+            long[] flow = new long[1];
+            boolean[] sourceSide = new boolean[verticesCount];
+            long time = measure(() -> flow[0] = MaxFlow.pushRelabel(graph, 0, sink, selection, IGNORED, sourceSide,
+                    IdEventRecorder.NONE));
+            check(flow[0] == expected[0], selection+" flow differs from the ford-fulkerson one");
+            check(cutCapacity(graph, sourceSide) == flow[0], selection+" cut capacity differs from the flow");
+            System.out.printf("%-14s %12.1f %8.2f%n", selection, time/1e6, (double) fordFulkerson/time);
+        }
+    }
+
+    private static void crossCheck(CsrStore graph, int source, int sink){
+        long expected = Algorithms.fordFulkerson(graph, source, sink, IGNORED, IdEventRecorder.NONE);
+        for (MaxFlow.Selection selection: MaxFlow.Selection.values()){
+            int[] flows = new int[(int) graph.edgesCount()];
+            boolean[] sourceSide = new boolean[graph.verticesCount()];
+            long flow = MaxFlow.pushRelabel(graph, source, sink, selection,
+                    (edge, start, end, value) -> flows[(int) edge] = value, sourceSide, IdEventRecorder.NONE);
+            check(flow == expected, selection+" flow "+flow+" differs from the ford-fulkerson flow "+expected);
+            check(isFeasibleFlow(graph, source, sink, flows, flow), selection+" flow is not feasible");
+            check(sourceSide[source] && !sourceSide[sink], selection+" cut does not separate the source and sink");
+            check(cutCapacity(graph, sourceSide) == flow, selection+" cut capacity differs from the flow");
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package bench;
+
+import model.algorithms.Algorithms;
+import model.algorithms.IdEventRecorder;
+import model.algorithms.MinCostFlow;
+import model.spi.CsrStore;
+import model.spi.EdgeCursor;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+import static bench.Benchmarks.check;
+import static bench.Benchmarks.isFeasibleFlow;
+import static bench.Benchmarks.measure;
+import static bench.Benchmarks.randomGraph;
+
+public final class MinCostFlowBenchmark {
+    private static final int DEFAULT_VERTICES = 20_000, DEFAULT_DEGREE = 8, DEFAULT_TRIALS = 1_000;
+    private static final int SMALL_VERTICES = 48, SMALL_DEGREE = 4, MAX_CAPACITY = 100, MAX_COST = 50;
+    private static final ToIntFunction<SplittableRandom> CAPACITIES = random -> random.nextInt(MAX_CAPACITY+1);
+
+    private MinCostFlowBenchmark(){}
+
+    public static void main(String[] args){
+        int verticesCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_VERTICES;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEGREE;
+        int trials = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TRIALS;
+        System.out.printf("vertices=%d degree=%d trials=%d%n", verticesCount, degree, trials);
+        SplittableRandom random = new SplittableRandom(trials);
+        for (int trial = 0; trial < trials; ++trial){
+            int n = 2+random.nextInt(SMALL_VERTICES-1);
+            CsrStore graph = randomGraph(trial, n, 1+random.nextInt(SMALL_DEGREE), CAPACITIES);
+            int source = random.nextInt(n), sink = (source+1+random.nextInt(n-1))%n;
+            crossCheck(graph, randomCosts(graph, random), source, sink);
+        }
+        System.out.printf("%d random graphs: both modes return the same feasible optimal flow%n", trials);
+
+        CsrStore graph = randomGraph(verticesCount, degree, CAPACITIES);
+        int[] costs = randomCosts(graph, random);
+        int sink = verticesCount-1;
+        System.out.printf("%-26s %12s %12s %12s%n", "mode", "flow", "cost", "ms");
+        MinCostFlow.Result expected = null;
+        for (MinCostFlow.Mode mode: MinCostFlow.Mode.values()){
+            MinCostFlow.Result[] result = new MinCostFlow.Result[1];
+            long time = measure(() -> result[0] = MinCostFlow.minCostMaxFlow(graph, edge -> costs[(int) edge], 0,
+                    sink, mode, (edge, start, end, value) -> {}, IdEventRecorder.NONE));
+            if (expected == null)
+                expected = result[0];
+            check(result[0].flow() == expected.flow() && result[0].cost() == expected.cost(),
+                    mode+" result "+result[0]+" differs from "+expected);
+            System.out.printf("%-26s %12d %12d %12.1f%n", mode, result[0].flow(), result[0].cost(), time/1e6);
+        }
+    }
+
+    private static int[] randomCosts(CsrStore graph, SplittableRandom random){
+        int[] costs = new int[(int) graph.edgesCount()];
+        for (int edge = 0; edge < costs.length; ++edge)
+            costs[edge] = random.nextInt(MAX_COST+1);
+        return costs;
+    }
+
+    private static void crossCheck(CsrStore graph, int[] costs, int source, int sink){
+        long maxFlow = Algorithms.fordFulkerson(graph, source, sink, (edge, start, end, value) -> {},
+                IdEventRecorder.NONE);
+        MinCostFlow.Result expected = null;
+        for (MinCostFlow.Mode mode: MinCostFlow.Mode.values()){
+            int[] flows = new int[costs.length];
+            MinCostFlow.Result result = MinCostFlow.minCostMaxFlow(graph, edge -> costs[(int) edge], source, sink,
+                    mode, (edge, start, end, value) -> flows[(int) edge] = value, IdEventRecorder.NONE);
+            if (expected == null)
+                expected = result;
+            check(result.flow() == expected.flow() && result.cost() == expected.cost(),
+                    mode+" result "+result+" differs from "+expected);
+            check(result.flow() == maxFlow, mode+" flow "+result.flow()+" is not the maximum flow "+maxFlow);
+            check(isFeasibleFlow(graph, source, sink, flows, result.flow()), mode+" flow is not feasible");
+            check(flowCost(flows, costs) == result.cost(), mode+" cost does not match its edge flows");
+            check(!hasNegativeResidualCycle(graph, costs, flows), mode+" flow is not of minimum cost");
+        }
+    }
+
+    private static long flowCost(int[] flows, int[] costs){
+        long cost = 0;
+        for (int edge = 0; edge < flows.length; ++edge)
+            cost += (long) flows[edge]*costs[edge];
+        return cost;
+    }
+
+    private static boolean hasNegativeResidualCycle(CsrStore graph, int[] costs, int[] flows){
+        int n = graph.verticesCount(), m = 0;
+        int[] starts = new int[2*costs.length], ends = new int[2*costs.length], weights = new int[2*costs.length];
+        EdgeCursor cursor = graph.outCursor();
+        for (int v = 0; v < n; ++v){
+            for (cursor.at(v); cursor.next(); ){
+                int edge = (int) cursor.edge(), w = cursor.neighbour();
+                if (flows[edge] < cursor.weight()){
+                    starts[m] = v;
+                    ends[m] = w;
+                    weights[m++] = costs[edge];
+                }
+                if (flows[edge] > 0){
+                    starts[m] = w;
+                    ends[m] = v;
+                    weights[m++] = -costs[edge];
+                }
+            }
+        }
+        CsrStore residual = CsrStore.of(n, Arrays.copyOf(starts, m), Arrays.copyOf(ends, m),
+                Arrays.copyOf(weights, m));
+        return Algorithms.negativeCycle(residual, new int[n]) > 0;
+    }
+
+}
@@ -0,0 +1,172 @@
+package bench;
+
+import model.io.GraphFile;
+import model.io.GraphReader;
+import server.GraphServer;
+import server.Protocol;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class QueryLoadGenerator {
+    private static final int DEFAULT_CONNECTIONS = 4, DEFAULT_DEPTH = 16, DEFAULT_REQUESTS = 20_000;
+    private static final byte[] OPERATIONS = {Protocol.REACHABLE, Protocol.SHORTEST_PATH, Protocol.BFS,
+            Protocol.SPANNING_TREE, Protocol.MAX_FLOW};
+    private static final String[] OPERATION_NAMES = {"", "bfs", "shortest-path", "reachable", "spanning-tree",
+            "max-flow"};
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private QueryLoadGenerator(){}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0){
+            System.err.println("usage: QueryLoadGenerator GRAPH-FILE [connections] [pipeline-depth] [requests] "
+                    +"[HOST:PORT | UNIX-SOCKET-PATH]");
+            System.exit(2);
+        }
+        GraphFile graph = GraphReader.read(Paths.get(args[0]));
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONNECTIONS;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DEPTH;
+        int requests = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_REQUESTS;
+        GraphServer embedded = null;
+        SocketAddress address;
+        if (args.length > 4)
+            address = parseAddress(args[4]);
+        else {
+            embedded = GraphServer.start(graph.toGraph(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                    Runtime.getRuntime().availableProcessors());
+            address = embedded.address();
+        }
+        try {
+            System.out.printf("vertices=%d edges=%d connections=%d depth=%d requests=%d server=%s%n",
+                    graph.verticesCount(), graph.edgesCount(), connections, depth, requests,
+                    embedded == null ? address : "embedded "+address);
+            System.out.printf("%-14s %8s %6s %6s %10s %9s %9s %9s %9s %9s%n", "operation", "requests", "busy",
+                    "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (byte operation: OPERATIONS)
+                run(address, graph, operation, connections, depth, requests);
+        } finally {
+            if (embedded != null)
+                embedded.close();
+        }
+    }
+
+    private static SocketAddress parseAddress(String address){
+        int colon = address.lastIndexOf(':');
+        if (address.startsWith("/") || colon < 0)
+            return UnixDomainSocketAddress.of(address);
+        return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon+1)));
+    }
+
+    private static void run(SocketAddress address, GraphFile graph, byte operation, int connections, int depth,
+                            int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicLong busy = new AtomicLong(), errors = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; ++c){
+            int from = (int) ((long) requests*c/connections), to = (int) ((long) requests*(c+1)/connections);
+            SplittableRandom random = new SplittableRandom(42+c);
+            String[][] arguments = new String[to-from][Protocol.arity(operation)];
+            for (String[] vertices: arguments){
+                for (int i = 0; i < vertices.length; ++i)
+                    vertices[i] = graph.name(random.nextInt(graph.verticesCount()));
+            }
+            Thread thread = new Thread(() ->
+                    drive(address, operation, arguments, depth, latencies, from, busy, errors));
+            thread.setUncaughtExceptionHandler((failed, e) -> failure.compareAndSet(null, e));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread: threads)
+            thread.join();
+        long elapsed = System.nanoTime()-start;
+        if (failure.get() != null){
+            System.out.printf("%-14s %8d failed: %s%n", OPERATION_NAMES[operation], requests, failure.get());
+            return;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-14s %8d %6d %6d %10.0f", OPERATION_NAMES[operation], requests, busy.get(), errors.get(),
+                requests/(elapsed/1e9));
+        for (double percentile: PERCENTILES)
+            System.out.printf(" %9.3f", latencies[(int) Math.min(requests-1, Math.ceil(percentile*requests)-1)]/1e6);
+        System.out.printf(" %9.3f%n", latencies[requests-1]/1e6);
+    }
+
+    private static void drive(SocketAddress address, byte operation, String[][] arguments, int depth,
+                              long[] latencies, int offset, AtomicLong busy, AtomicLong errors){
+        try (SocketChannel channel = address instanceof UnixDomainSocketAddress
+                ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open()){
+            channel.connect(address);
+            Semaphore window = new Semaphore(depth);
+            AtomicLongArray sent = new AtomicLongArray(arguments.length);
+            AtomicReference<Throwable> writeFailure = new AtomicReference<>();
+            Thread writer = new Thread(() -> {
+                try {
+                    for (int id = 0; id < arguments.length; ++id){
+                        window.acquire();
+                        sent.set(id, System.nanoTime());
+                        Protocol.write(channel, Protocol.request(id, operation, arguments[id]));
+                    }
+                } catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                } catch (IOException | RuntimeException | Error e){
+                    writeFailure.set(e);
+                    try {
+                        channel.shutdownInput();
+                    } catch (IOException suppressed){
+                        e.addSuppressed(suppressed);
+                    }
+                }
+            });
+            writer.start();
+            try {
+                for (int received = 0; received < arguments.length; ++received){
+                    Protocol.Response response = Protocol.read(channel);
+                    if (response == null)
+                        throw new IOException("Server closed the connection");
+                    latencies[offset+response.id()] = System.nanoTime()-sent.get(response.id());
+                    if (response.status() == Protocol.BUSY)
+                        busy.incrementAndGet();
+                    else if (response.status() != Protocol.OK)
+                        errors.incrementAndGet();
+                    window.release();
+                }
+            } catch (IOException e){
+                if (writeFailure.get() == null)
+                    throw e;
+            } finally {
+                writer.interrupt();
+                writer.join();
+            }
+            Throwable failure = writeFailure.get();
+            if (failure instanceof IOException)
+                throw (IOException) failure;
+            if (failure instanceof RuntimeException)
+                throw (RuntimeException) failure;
+            if (failure != null)
+                throw (Error) failure;
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package bench;
+
+import model.algorithms.Algorithms;
+import model.algorithms.IdEventRecorder;
+import model.algorithms.ParallelShortestPaths;
+import model.spi.CsrStore;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+
+import static bench.Benchmarks.check;
+import static bench.Benchmarks.isShortestPathTree;
+import static bench.Benchmarks.measure;
+import static bench.Benchmarks.randomGraph;
+
+public final class ShortestPathsBenchmark {
+    private static final int DEFAULT_VERTICES = 1_000_000, DEFAULT_DEGREE = 8, DEFAULT_MAX_THREADS = 32;
+    private static final double[] DELTA_SCALES = {1/16.0, 1/4.0, 1, 4, 16};
+
+    private enum Weights {
+        UNIT(random -> 1),
+        UNIFORM(random -> 1+random.nextInt(100)),
+        WIDE(random -> 1+random.nextInt(1_000_000)),
+        HEAVY_TAILED(random -> (int) Math.min(1_000_000, Math.pow(1-random.nextDouble(), -1.5)));
+
+        private final ToIntFunction<SplittableRandom> generator;
+
+        Weights(ToIntFunction<SplittableRandom> generator){
+            this.generator = generator;
+        }
+    }
+
+    private ShortestPathsBenchmark(){}
+
+    public static void main(String[] args){
+        int verticesCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_VERTICES;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEGREE;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_THREADS;
+        System.out.printf("vertices=%d degree=%d cores=%d%n", verticesCount, degree,
+                Runtime.getRuntime().availableProcessors());
+        for (Weights weights: Weights.values()){
+            CsrStore graph = randomGraph(verticesCount, degree, weights.generator);
+            long[] expected = new long[verticesCount], distances = new long[verticesCount];
+            int[] expectedParents = new int[verticesCount], parents = new int[verticesCount];
+            long sequential = measure(() ->
+                    Algorithms.bellmanFord(graph, 0, expected, expectedParents, IdEventRecorder.NONE));
+            check(isShortestPathTree(graph, 0, expected, expectedParents),
+                    "Sequential parents do not form a shortest-path tree");
+            System.out.printf("%n%s: sequential bellman-ford %.1f ms%n", weights, sequential/1e6);
+            System.out.printf("%-8s %12s %8s%n", "threads", "bf ms", "speedup");
+            for (int threads = 1; threads <= maxThreads; threads *= 2){
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    long time = measure(() -> ParallelShortestPaths.bellmanFord(graph, 0, distances, parents, pool));
+                    checkTree(graph, expected, distances, parents);
+                    System.out.printf("%-8d %12.1f %8.2f%n", threads, time/1e6, (double) sequential/time);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            long suggested = ParallelShortestPaths.suggestedDelta(graph);
+            System.out.printf("%-8s %12s %12s %8s%n", "threads", "delta", "ds ms", "speedup");
+            for (int threads = 1; threads <= maxThreads; threads *= 2){
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    for (double scale: DELTA_SCALES){
+                        long delta = Math.max(1, Math.round(suggested*scale));
+                        long time = measure(() ->
+                                ParallelShortestPaths.deltaStepping(graph, 0, delta, distances, parents, pool));
+                        checkTree(graph, expected, distances, parents);
+                        System.out.printf("%-8d %12d %12.1f %8.2f%s%n", threads, delta, time/1e6,
+                                (double) sequential/time, scale == 1 ? " (suggested)" : "");
+                    }
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    private static void checkTree(CsrStore graph, long[] expected, long[] distances, int[] parents){
+        check(Arrays.equals(distances, expected), "Parallel distances differ from the sequential ones");
+        check(isShortestPathTree(graph, 0, distances, parents), "Parallel parents do not form a shortest-path tree");
+    }
+
+}
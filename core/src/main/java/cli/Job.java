@@ -0,0 +1,299 @@
+package cli;
+
+import helpers.Assertions;
+import model.algorithms.*;
+import model.io.GraphFile;
+import model.spi.CsrStore;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static model.algorithms.Algorithms.UNREACHABLE;
+import static model.algorithms.Algorithms.UNREACHED;
+
+final class Job {
+    static final String ALGORITHMS = "bfs:S dfs:S bellman-ford:S parallel-bellman-ford:S delta-stepping:S "
+            +"dijkstra:S,T contraction-hierarchy:S,T kruskal ford-fulkerson:S,T push-relabel:S,T "
+            +"min-cost-flow:S,T min-cost-flow-scaling:S,T scc parallel-scc cc parallel-cc topological-sort "
+            +"negative-cycle";
+
+    private final String algorithm, arguments;
+    private final boolean parallel;
+    private final Function<ForkJoinPool, String> body;
+    private final Consumer<PrintStream> details;
+
+    private Job(String algorithm, String arguments, boolean parallel, Function<ForkJoinPool, String> body,
+                Consumer<PrintStream> details){
+        this.algorithm = algorithm;
+        this.arguments = arguments;
+        this.parallel = parallel;
+        this.body = body;
+        this.details = details;
+    }
+
+    String algorithm(){
+        return algorithm;
+    }
+
+    String arguments(){
+        return arguments;
+    }
+
+    boolean isParallel(){
+        return parallel;
+    }
+
+    String run(ForkJoinPool pool){
+        return body.apply(pool);
+    }
+
+    void details(PrintStream out){
+        out.println("# "+algorithm+" "+arguments);
+        details.accept(out);
+    }
+
+    static Job parse(String spec, GraphFile graph){
+        int colon = spec.indexOf(':');
+        String algorithm = colon < 0 ? spec : spec.substring(0, colon);
+        String arguments = colon < 0 ? "" : spec.substring(colon+1);
+        String[] names = arguments.isEmpty() ? new String[0] : arguments.split(",");
+        CsrStore store = graph.store();
+        int n = graph.verticesCount();
+        switch (algorithm){
+            case "bfs": {
+                int source = vertex(graph, names, 1, algorithm)[0];
+                int[] distances = new int[n];
+                return sequential(algorithm, arguments, () -> {
+                    Algorithms.breathFirstSearch(store, source, distances, IdEventRecorder.NONE);
+                    int reached = 0, depth = 0;
+                    for (int distance: distances){
+                        if (distance != UNREACHED){
+                            ++reached;
+                            depth = Math.max(depth, distance);
+                        }
+                    }
+                    return String.format("reached=%d depth=%d", reached, depth);
+                }, out -> printVertices(out, graph, v -> distances[v] == UNREACHED ? "-" : distances[v]));
+            }
+            case "dfs": {
+                int source = vertex(graph, names, 1, algorithm)[0];
+                int[] discovery = new int[n], finish = new int[n];
+                return sequential(algorithm, arguments, () -> String.format("reached=%d",
+                        Algorithms.depthFirstSearch(store, source, discovery, finish, IdEventRecorder.NONE)/2),
+                        out -> printVertices(out, graph, v -> discovery[v] == 0 ? "-" : discovery[v]+"/"+finish[v]));
+            }
+            case "bellman-ford": {
+                int source = vertex(graph, names, 1, algorithm)[0];
+                long[] distances = new long[n];
+                int[] parents = new int[n];
+                return sequential(algorithm, arguments, () -> {
+                    boolean noNegativeCycle = Algorithms.bellmanFord(store, source, distances, parents,
+                            IdEventRecorder.NONE);
+                    return distanceSummary(distances)+" negative-cycle="+!noNegativeCycle;
+                }, out -> printVertices(out, graph, v -> distance(distances[v])));
+            }
+            case "parallel-bellman-ford": {
+                int source = vertex(graph, names, 1, algorithm)[0];
+                long[] distances = new long[n];
+                return new Job(algorithm, arguments, true, pool -> {
+                    boolean noNegativeCycle = ParallelShortestPaths.bellmanFord(store, source, distances, null, pool);
+                    return distanceSummary(distances)+" negative-cycle="+!noNegativeCycle;
+                }, out -> printVertices(out, graph, v -> distance(distances[v])));
+            }
+            case "delta-stepping": {
+                int source = vertex(graph, names, 1, algorithm)[0];
+                long[] distances = new long[n];
+                long delta = ParallelShortestPaths.suggestedDelta(store);
+                return new Job(algorithm, arguments, true, pool -> {
+                    ParallelShortestPaths.deltaStepping(store, source, delta, distances, null, pool);
+                    return distanceSummary(distances)+" delta="+delta;
+                }, out -> printVertices(out, graph, v -> distance(distances[v])));
+            }
+            case "dijkstra": {
+                int[] ends = vertex(graph, names, 2, algorithm);
+                ShortestPath[] found = new ShortestPath[1];
+                return sequential(algorithm, arguments, () -> {
+                    found[0] = PointToPoint.bidirectionalDijkstra(store, ends[0], ends[1], IdEventRecorder.NONE)
+                            .orElse(null);
+                    return pathSummary(found[0]);
+                }, out -> printPath(out, graph, found[0]));
+            }
+            case "contraction-hierarchy": {
+                int[] ends = vertex(graph, names, 2, algorithm);
+                ShortestPath[] found = new ShortestPath[1];
+                return sequential(algorithm, arguments, () -> {
+                    ContractionHierarchy hierarchy = ContractionHierarchy.build(store);
+                    found[0] = hierarchy.newQuery().path(ends[0], ends[1]).orElse(null);
+                    return pathSummary(found[0])+" arcs="+hierarchy.arcsCount();
+                }, out -> printPath(out, graph, found[0]));
+            }
+            case "kruskal": {
+                vertex(graph, names, 0, algorithm);
+                List<int[]> spanning = new ArrayList<>();
+                return sequential(algorithm, arguments, () -> {
+                    spanning.clear();
+                    long weight = Algorithms.kruskal(store, (edge, start, end, value) ->
+                            spanning.add(new int[]{start, end, value}), IdEventRecorder.NONE);
+                    return String.format("weight=%d edges=%d", weight, spanning.size());
+                }, out -> printEdges(out, graph, spanning));
+            }
+            case "ford-fulkerson": {
+                int[] ends = vertex(graph, names, 2, algorithm);
+                List<int[]> flows = new ArrayList<>();
+                return sequential(algorithm, arguments, () -> {
+                    flows.clear();
+                    long flow = Algorithms.fordFulkerson(store, ends[0], ends[1], (edge, start, end, value) ->
+                            flows.add(new int[]{start, end, value}), IdEventRecorder.NONE);
+                    return "flow="+flow;
+                }, out -> printEdges(out, graph, flows));
+            }
+            case "push-relabel": {
+                int[] ends = vertex(graph, names, 2, algorithm);
+                List<int[]> flows = new ArrayList<>();
+                boolean[] sourceSide = new boolean[n];
+                return sequential(algorithm, arguments, () -> {
+                    flows.clear();
+                    long flow = MaxFlow.pushRelabel(store, ends[0], ends[1], MaxFlow.Selection.HIGHEST_LABEL,
+                            (edge, start, end, value) -> flows.add(new int[]{start, end, value}), sourceSide,
+                            IdEventRecorder.NONE);
+                    int sourceSideCount = 0;
+                    for (boolean side: sourceSide)
+                        sourceSideCount += side ? 1 : 0;
+                    return String.format("flow=%d source-side=%d", flow, sourceSideCount);
+                }, out -> printEdges(out, graph, flows));
+            }
+            case "min-cost-flow":
+            case "min-cost-flow-scaling": {
+                int[] ends = vertex(graph, names, 2, algorithm);
+                MinCostFlow.Mode mode = algorithm.equals("min-cost-flow")
+                        ? MinCostFlow.Mode.SUCCESSIVE_SHORTEST_PATHS : MinCostFlow.Mode.COST_SCALING;
+                List<int[]> flows = new ArrayList<>();
+                return sequential(algorithm, arguments, () -> {
+                    flows.clear();
+                    MinCostFlow.Result result = MinCostFlow.minCostMaxFlow(store, graph::cost, ends[0], ends[1],
+                            mode, (edge, start, end, value) -> flows.add(new int[]{start, end, value}),
+                            IdEventRecorder.NONE);
+                    return String.format("flow=%d cost=%d", result.flow(), result.cost());
+                }, out -> printEdges(out, graph, flows));
+            }
+            case "scc": {
+                vertex(graph, names, 0, algorithm);
+                int[] components = new int[n];
+                return sequential(algorithm, arguments, () ->
+                        "components="+Components.stronglyConnectedComponents(store, components),
+                        out -> printVertices(out, graph, v -> components[v]));
+            }
+            case "parallel-scc": {
+                vertex(graph, names, 0, algorithm);
+                int[] components = new int[n];
+                return new Job(algorithm, arguments, true, pool ->
+                        "components="+ParallelComponents.stronglyConnectedComponents(store, components, pool),
+                        out -> printVertices(out, graph, v -> components[v]));
+            }
+            case "cc": {
+                vertex(graph, names, 0, algorithm);
+                int[] labels = new int[n];
+                return sequential(algorithm, arguments, () ->
+                        "components="+Components.connectedComponents(store, labels),
+                        out -> printVertices(out, graph, v -> graph.name(labels[v])));
+            }
+            case "parallel-cc": {
+                vertex(graph, names, 0, algorithm);
+                int[] labels = new int[n];
+                return new Job(algorithm, arguments, true, pool ->
+                        "components="+ParallelComponents.connectedComponents(store, labels, pool),
+                        out -> printVertices(out, graph, v -> graph.name(labels[v])));
+            }
+            case "topological-sort": {
+                vertex(graph, names, 0, algorithm);
+                int[][] order = new int[1][];
+                return sequential(algorithm, arguments, () -> {
+                    order[0] = Components.topologicalSort(store).orElse(null);
+                    return "acyclic="+(order[0] != null);
+                }, out -> {
+                    if (order[0] != null)
+                        for (int v: order[0])
+                            out.println(graph.name(v));
+                });
+            }
+            case "negative-cycle": {
+                vertex(graph, names, 0, algorithm);
+                int[] cycle = new int[n];
+                int[] length = new int[1];
+                return sequential(algorithm, arguments, () -> {
+                    length[0] = Algorithms.negativeCycle(store, cycle);
+                    return "length="+length[0];
+                }, out -> {
+                    for (int i = 0; i < length[0]; ++i)
+                        out.println(graph.name(cycle[i]));
+                });
+            }
+            default:
+                throw new IllegalArgumentException("Unknown algorithm '"+algorithm+"', expected one of: "
+                        +ALGORITHMS);
+        }
+    }
+
+    private static Job sequential(String algorithm, String arguments, Supplier<String> body,
+                                  Consumer<PrintStream> details){
+        return new Job(algorithm, arguments, false, pool -> body.get(), details);
+    }
+
+    private static int[] vertex(GraphFile graph, String[] names, int expected, String algorithm){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException(algorithm+" expects "+expected+" vertex argument(s), got "
+                        +Arrays.toString(names)),
+                names.length == expected
+        );
+        int[] ids = new int[expected];
+        for (int i = 0; i < expected; ++i)
+            ids[i] = graph.id(names[i]);
+        return ids;
+    }
+
+    private static String distance(long distance){
+        return distance == UNREACHABLE ? "-" : Long.toString(distance);
+    }
+
+    private static String distanceSummary(long[] distances){
+        int reached = 0;
+        long farthest = 0;
+        for (long distance: distances){
+            if (distance != UNREACHABLE){
+                ++reached;
+                farthest = Math.max(farthest, distance);
+            }
+        }
+        return String.format("reached=%d farthest=%d", reached, farthest);
+    }
+
+    private static String pathSummary(ShortestPath path){
+        return path == null ? "unreachable"
+                : String.format("distance=%d hops=%d settled=%d", path.distance(), path.length()-1, path.settled());
+    }
+
+    private static void printVertices(PrintStream out, GraphFile graph, IntFunction<Object> value){
+        for (int v = 0; v < graph.verticesCount(); ++v)
+            out.println(graph.name(v)+"\t"+value.apply(v));
+    }
+
+    private static void printEdges(PrintStream out, GraphFile graph, List<int[]> edges){
+        for (int[] edge: edges)
+            out.println(graph.name(edge[0])+"\t"+graph.name(edge[1])+"\t"+edge[2]);
+    }
+
+    private static void printPath(PrintStream out, GraphFile graph, ShortestPath path){
+        if (path == null)
+            return;
+        for (int position = 0; position < path.length(); ++position)
+            out.println(graph.name(path.vertex(position))+"\t"+path.distanceAt(position));
+    }
+
+}
@@ -0,0 +1,72 @@
+package cli;
+
+import model.io.GraphReader;
+import server.GraphServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Paths;
+
+public final class QueryServer {
+    private static final int USAGE_ERROR = 2, RUN_ERROR = 1, DEFAULT_PORT = 7687;
+    private static final String USAGE = "usage: QueryServer [--host HOST] [--port N | --unix PATH] [--workers N] "
+            +"GRAPH-FILE";
+
+    private QueryServer(){}
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = "127.0.0.1", unix = null, graphFile = null;
+        int port = DEFAULT_PORT, workers = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; ++i){
+                switch (args[i]){
+                    case "--host":
+                        host = value(args, ++i);
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--unix":
+                        unix = value(args, ++i);
+                        break;
+                    case "--workers":
+                        workers = Integer.parseInt(value(args, ++i));
+                        break;
+                    default:
+                        if (graphFile != null)
+                            throw new IllegalArgumentException("Unexpected argument "+args[i]);
+                        graphFile = args[i];
+                }
+            }
+            if (graphFile == null)
+                throw new IllegalArgumentException("A graph file is required");
+        } catch (IllegalArgumentException e){
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(USAGE_ERROR);
+        }
+        SocketAddress address = unix != null ? UnixDomainSocketAddress.of(unix) : new InetSocketAddress(host, port);
+        try {
+            GraphServer server = GraphServer.start(GraphReader.read(Paths.get(graphFile)).toGraph(), address, workers);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException ignored){}
+            }));
+            System.err.println("Serving "+graphFile+" on "+server.address()+" with "+workers+" workers");
+        } catch (IOException | IllegalArgumentException e){
+            System.err.println(e.getMessage());
+            System.exit(RUN_ERROR);
+        }
+        Thread.currentThread().join();
+    }
+
+    private static String value(String[] args, int i){
+        if (i >= args.length)
+            throw new IllegalArgumentException(args[i-1]+" expects a value");
+        return args[i];
+    }
+
+}
@@ -0,0 +1,140 @@
+package cli;
+
+import model.io.GraphFile;
+import model.io.GraphReader;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public final class Runner {
+    private static final int USAGE_ERROR = 2, RUN_ERROR = 1;
+    private static final String USAGE = "usage: Runner [--output FILE] [--details FILE] [--threads N[,N...]] "
+            +"[--repeat N] [--warmup N] GRAPH-FILE ALGORITHM[:VERTEX[,VERTEX]]...%n"
+            +"graph file lines: '# comment', 'vertex' or 'start end weight [cost]'%n"
+            +"algorithms: %s%n";
+
+    private Runner(){}
+
+    public static void main(String[] args){
+        String output = null, detailsOutput = null, graphFile = null;
+        int[] threads = {1};
+        int repeat = 1, warmup = 0;
+        List<String> specs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; ++i){
+                switch (args[i]){
+                    case "--output":
+                        output = value(args, ++i);
+                        break;
+                    case "--details":
+                        detailsOutput = value(args, ++i);
+                        break;
+                    case "--threads":
+                        threads = threads(value(args, ++i));
+                        break;
+                    case "--repeat":
+                        repeat = atLeast(value(args, ++i), 1);
+                        break;
+                    case "--warmup":
+                        warmup = atLeast(value(args, ++i), 0);
+                        break;
+                    case "--help":
+                        usage();
+                        return;
+                    default:
+                        if (graphFile == null)
+                            graphFile = args[i];
+                        else
+                            specs.add(args[i]);
+                }
+            }
+            if (graphFile == null || specs.isEmpty())
+                throw new IllegalArgumentException("A graph file and at least one algorithm are required");
+        } catch (IllegalArgumentException e){
+            System.err.println(e.getMessage());
+            usage();
+            System.exit(USAGE_ERROR);
+        }
+        try (PrintStream out = output == null ? new PrintStream(System.out, false)
+                : new PrintStream(new FileOutputStream(output), false, "UTF-8");
+             PrintStream details = detailsOutput == null ? null
+                : new PrintStream(new FileOutputStream(detailsOutput), false, "UTF-8")){
+            run(out, details, graphFile, specs, threads, repeat, warmup);
+        } catch (IOException | IllegalArgumentException e){
+            System.err.println(e.getMessage());
+            System.exit(RUN_ERROR);
+        }
+    }
+
+    private static void run(PrintStream out, PrintStream details, String graphFile, List<String> specs,
+                            int[] threads, int repeat, int warmup) throws IOException {
+        out.println("algorithm\targuments\tthreads\trun\tmillis\tresult");
+        long start = System.nanoTime();
+        GraphFile graph = GraphReader.read(Paths.get(graphFile));
+        print(out, "load", graphFile, 1, 0, System.nanoTime()-start,
+                String.format("vertices=%d edges=%d", graph.verticesCount(), graph.edgesCount()));
+        List<Job> jobs = new ArrayList<>();
+        for (String spec: specs)
+            jobs.add(Job.parse(spec, graph));
+        for (Job job: jobs){
+            for (int threadsCount: job.isParallel() ? threads : new int[]{1}){
+                ForkJoinPool pool = job.isParallel() ? new ForkJoinPool(threadsCount) : null;
+                try {
+                    for (int run = 0; run < warmup; ++run)
+                        job.run(pool);
+                    for (int run = 1; run <= repeat; ++run){
+                        long time = System.nanoTime();
+                        String result = job.run(pool);
+                        print(out, job.algorithm(), job.arguments(), threadsCount, run, System.nanoTime()-time,
+                                result);
+                    }
+                } finally {
+                    if (pool != null)
+                        pool.shutdown();
+                }
+            }
+            if (details != null)
+                job.details(details);
+        }
+    }
+
+    private static void print(PrintStream out, String algorithm, String arguments, int threads, int run, long nanos,
+                              String result){
+        out.printf("%s\t%s\t%d\t%d\t%.3f\t%s%n", algorithm, arguments.isEmpty() ? "-" : arguments, threads, run,
+                nanos/1e6, result);
+        out.flush();
+    }
+
+    private static String value(String[] args, int i){
+        if (i >= args.length)
+            throw new IllegalArgumentException(args[i-1]+" expects a value");
+        return args[i];
+    }
+
+    private static int atLeast(String value, int minimum){
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= minimum)
+                return parsed;
+        } catch (NumberFormatException ignored){}
+        throw new IllegalArgumentException("'"+value+"' is not an integer of at least "+minimum);
+    }
+
+    private static int[] threads(String value){
+        String[] tokens = value.split(",");
+        int[] threads = new int[tokens.length];
+        for (int i = 0; i < tokens.length; ++i)
+            threads[i] = atLeast(tokens[i], 1);
+        return threads;
+    }
+
+    private static void usage(){
+        System.err.printf(USAGE, Job.ALGORITHMS);
+    }
+
+}
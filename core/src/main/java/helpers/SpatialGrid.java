@@ -0,0 +1,185 @@
+package helpers;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+public final class SpatialGrid<T> {
+    private static final int MAX_CELLS_PER_ITEM = 64, LEVELS = 32;
+    private static final int LEVEL = 0, MIN_CX = 1, MIN_CY = 2, MAX_CX = 3, MAX_CY = 4;
+
+    private final double cellSize;
+    private final ToDoubleFunction<T> minXOf, minYOf, maxXOf, maxYOf;
+    private final List<Map<Long, List<T>>> levels = new ArrayList<>();
+    private final Map<T, int[]> rangeOf = new HashMap<>();
+    private final Set<T> unbounded = new HashSet<>();
+
+    public SpatialGrid(double cellSize, ToDoubleFunction<T> xOf, ToDoubleFunction<T> yOf){
+        this(cellSize, xOf, yOf, xOf, yOf);
+    }
+
+    public SpatialGrid(double cellSize, ToDoubleFunction<T> minXOf, ToDoubleFunction<T> minYOf,
+                       ToDoubleFunction<T> maxXOf, ToDoubleFunction<T> maxYOf){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Cell size must be positive"),
+                cellSize > 0
+        );
+        this.cellSize = cellSize;
+        this.minXOf = minXOf;
+        this.minYOf = minYOf;
+        this.maxXOf = maxXOf;
+        this.maxYOf = maxYOf;
+    }
+
+    public void put(T item){
+        int[] range = rangeFor(item);
+        int[] oldRange = rangeOf.put(item, range);
+        if (oldRange != null){
+            if (Arrays.equals(oldRange, range))
+                return;
+            removeFromCells(item, oldRange);
+        }
+        if (range[LEVEL] == LEVELS){
+            unbounded.add(item);
+            return;
+        }
+        while (levels.size() <= range[LEVEL])
+            levels.add(new HashMap<>());
+        Map<Long, List<T>> cells = levels.get(range[LEVEL]);
+        for (int cx = range[MIN_CX]; cx <= range[MAX_CX]; ++cx){
+            for (int cy = range[MIN_CY]; cy <= range[MAX_CY]; ++cy)
+                cells.computeIfAbsent(cellKey(cx, cy), key -> new ArrayList<>()).add(item);
+        }
+    }
+
+    private int[] rangeFor(T item){
+        double minX = minXOf.applyAsDouble(item), minY = minYOf.applyAsDouble(item),
+                maxX = maxXOf.applyAsDouble(item), maxY = maxYOf.applyAsDouble(item);
+        for (int level = 0; level < LEVELS; ++level){
+            int minCX = cellIndex(minX, level), minCY = cellIndex(minY, level),
+                    maxCX = cellIndex(maxX, level), maxCY = cellIndex(maxY, level);
+            if (((long) maxCX-minCX+1)*((long) maxCY-minCY+1) <= MAX_CELLS_PER_ITEM)
+                return new int[]{level, minCX, minCY, maxCX, maxCY};
+        }
+        return new int[]{LEVELS, 0, 0, 0, 0};
+    }
+
+    public void remove(T item){
+        int[] range = rangeOf.remove(item);
+        if (range != null)
+            removeFromCells(item, range);
+    }
+
+    public boolean contains(T item){
+        return rangeOf.containsKey(item);
+    }
+
+    public int size(){
+        return rangeOf.size();
+    }
+
+    public void clear(){
+        levels.clear();
+        rangeOf.clear();
+        unbounded.clear();
+    }
+
+    public Optional<T> nearest(double x, double y, double radius){
+        T best = null;
+        double bestDistSq = radius*radius;
+        for (int level = 0; level < levels.size(); ++level){
+            Map<Long, List<T>> cells = levels.get(level);
+            if (cells.isEmpty())
+                continue;
+            int minCX = cellIndex(x-radius, level), maxCX = cellIndex(x+radius, level),
+                    minCY = cellIndex(y-radius, level), maxCY = cellIndex(y+radius, level);
+            for (int cx = minCX; cx <= maxCX; ++cx){
+                for (int cy = minCY; cy <= maxCY; ++cy){
+                    List<T> cell = cells.get(cellKey(cx, cy));
+                    if (cell == null)
+                        continue;
+                    for (T item: cell){
+                        double distSq = distanceSq(item, x, y);
+                        if (distSq <= bestDistSq){
+                            best = item;
+                            bestDistSq = distSq;
+                        }
+                    }
+                }
+            }
+        }
+        for (T item: unbounded){
+            double distSq = distanceSq(item, x, y);
+            if (distSq <= bestDistSq){
+                best = item;
+                bestDistSq = distSq;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public void forEachIn(double minX, double minY, double maxX, double maxY, Consumer<T> action){
+        for (int level = 0; level < levels.size(); ++level){
+            Map<Long, List<T>> cells = levels.get(level);
+            if (cells.isEmpty())
+                continue;
+            int minCX = cellIndex(minX, level), maxCX = cellIndex(maxX, level),
+                    minCY = cellIndex(minY, level), maxCY = cellIndex(maxY, level);
+            for (int cx = minCX; cx <= maxCX; ++cx){
+                for (int cy = minCY; cy <= maxCY; ++cy){
+                    List<T> cell = cells.get(cellKey(cx, cy));
+                    if (cell == null)
+                        continue;
+                    for (T item: cell){
+                        int[] range = rangeOf.get(item);
+                        boolean firstVisitedCell = cx == Math.max(range[MIN_CX], minCX)
+                                && cy == Math.max(range[MIN_CY], minCY);
+                        if (firstVisitedCell && intersects(item, minX, minY, maxX, maxY))
+                            action.accept(item);
+                    }
+                }
+            }
+        }
+        for (T item: unbounded){
+            if (intersects(item, minX, minY, maxX, maxY))
+                action.accept(item);
+        }
+    }
+
+    private boolean intersects(T item, double minX, double minY, double maxX, double maxY){
+        return minXOf.applyAsDouble(item) <= maxX && maxXOf.applyAsDouble(item) >= minX
+                && minYOf.applyAsDouble(item) <= maxY && maxYOf.applyAsDouble(item) >= minY;
+    }
+
+    private double distanceSq(T item, double x, double y){
+        double dx = Math.max(0, Math.max(minXOf.applyAsDouble(item)-x, x-maxXOf.applyAsDouble(item))),
+                dy = Math.max(0, Math.max(minYOf.applyAsDouble(item)-y, y-maxYOf.applyAsDouble(item)));
+        return dx*dx+dy*dy;
+    }
+
+    private void removeFromCells(T item, int[] range){
+        if (range[LEVEL] == LEVELS){
+            unbounded.remove(item);
+            return;
+        }
+        Map<Long, List<T>> cells = levels.get(range[LEVEL]);
+        for (int cx = range[MIN_CX]; cx <= range[MAX_CX]; ++cx){
+            for (int cy = range[MIN_CY]; cy <= range[MAX_CY]; ++cy){
+                long key = cellKey(cx, cy);
+                List<T> cell = cells.get(key);
+                cell.remove(item);
+                if (cell.isEmpty())
+                    cells.remove(key);
+            }
+        }
+    }
+
+    private int cellIndex(double coordinate, int level){
+        return (int) Math.floor(coordinate/Math.scalb(cellSize, level));
+    }
+
+    private static long cellKey(int cx, int cy){
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+}
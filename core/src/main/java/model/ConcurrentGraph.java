@@ -0,0 +1,293 @@
+package model;
+
+import helpers.Assertions;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class ConcurrentGraph implements Graph {
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final ConcurrentMap<Vertex, ConcurrentMap<Vertex, Edge>> edges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Vertex, ConcurrentMap<Vertex, Edge>> reversedEdges = new ConcurrentHashMap<>();
+    private final AtomicInteger edgesCount = new AtomicInteger();
+    private final AtomicLong modificationCount = new AtomicLong();
+    private final ReentrantLock[] stripes;
+
+    public ConcurrentGraph(){
+        this(DEFAULT_STRIPES);
+    }
+
+    public ConcurrentGraph(int stripesCount){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Stripes count must be a positive power of two"),
+                stripesCount > 0 && Integer.bitCount(stripesCount) == 1
+        );
+        stripes = new ReentrantLock[stripesCount];
+        for (int i = 0; i < stripesCount; ++i)
+            stripes[i] = new ReentrantLock();
+    }
+
+    public ConcurrentGraph(Set<Vertex> vertices, Set<Edge> edges){
+        this();
+        addVertices(vertices);
+        addEdges(edges);
+    }
+
+    private int stripe(Vertex vertex){
+        int h = vertex.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length-1);
+    }
+
+    private void lock(Vertex first, Vertex second){
+        int low = Math.min(stripe(first), stripe(second)), high = Math.max(stripe(first), stripe(second));
+        stripes[low].lock();
+        if (high != low)
+            stripes[high].lock();
+    }
+
+    private void unlock(Vertex first, Vertex second){
+        int low = Math.min(stripe(first), stripe(second)), high = Math.max(stripe(first), stripe(second));
+        if (high != low)
+            stripes[high].unlock();
+        stripes[low].unlock();
+    }
+
+    private int[] lockAll(Collection<Vertex> vertices){
+        int[] indices = new int[vertices.size()];
+        int i = 0;
+        for (Vertex vertex: vertices)
+            indices[i++] = stripe(vertex);
+        Arrays.sort(indices);
+        int distinct = 0;
+        for (int j = 0; j < indices.length; ++j){
+            if (distinct == 0 || indices[distinct-1] != indices[j])
+                indices[distinct++] = indices[j];
+        }
+        int[] locked = Arrays.copyOf(indices, distinct);
+        for (int index: locked)
+            stripes[index].lock();
+        return locked;
+    }
+
+    private void unlockAll(int[] locked){
+        for (int i = locked.length-1; i >= 0; --i)
+            stripes[locked[i]].unlock();
+    }
+
+    @Override
+    public Map<Vertex, Edge> adjencyList(Vertex vertex){
+        return new HashMap<>(edges.get(vertex));
+    }
+
+    @Override
+    public Map<Vertex, Edge> precedencyList(Vertex vertex){
+        return new HashMap<>(reversedEdges.get(vertex));
+    }
+
+    @Override
+    public int verticesCount(){
+        return edges.size();
+    }
+
+    @Override
+    public int edgesCount(){
+        return edgesCount.get();
+    }
+
+    @Override
+    public long modificationCount(){
+        return modificationCount.get();
+    }
+
+    @Override
+    public Graph addVertex(Vertex vertex){
+        lock(vertex, vertex);
+        try {
+            if (!edges.containsKey(vertex)){
+                reversedEdges.put(vertex, new ConcurrentHashMap<>());
+                edges.put(vertex, new ConcurrentHashMap<>());
+                modificationCount.incrementAndGet();
+            }
+        } finally {
+            unlock(vertex, vertex);
+        }
+        return this;
+    }
+
+    @Override
+    public Graph addEdge(Edge newEdge){
+        lock(newEdge.getStart(), newEdge.getEnd());
+        try {
+            Map<Vertex, Edge> successors = edges.get(newEdge.getStart()),
+                    predecessors = reversedEdges.get(newEdge.getEnd());
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Start and end of the edge must be registered as vertices"),
+                    successors != null && predecessors != null
+            );
+            putEdge(successors, predecessors, newEdge);
+        } finally {
+            unlock(newEdge.getStart(), newEdge.getEnd());
+        }
+        return this;
+    }
+
+    private void putEdge(Map<Vertex, Edge> successors, Map<Vertex, Edge> predecessors, Edge newEdge){
+        predecessors.put(newEdge.getStart(), newEdge);
+        Edge previous = successors.put(newEdge.getEnd(), newEdge);
+        if (previous == null)
+            edgesCount.incrementAndGet();
+        if (previous != newEdge){
+            if (previous != null)
+                previous.detach(this);
+            newEdge.attach(this);
+        }
+        modificationCount.incrementAndGet();
+    }
+
+    @Override
+    public Graph removeVertex(Vertex vertex){
+        while (true){
+            Map<Vertex, Edge> successors = edges.get(vertex), predecessors = reversedEdges.get(vertex);
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Cannot remove an unregistered vertex"),
+                    successors != null && predecessors != null
+            );
+            Set<Vertex> neighbours = new HashSet<>(successors.keySet());
+            neighbours.addAll(predecessors.keySet());
+            neighbours.add(vertex);
+            int[] locked = lockAll(neighbours);
+            try {
+                if (edges.get(vertex) != successors || reversedEdges.get(vertex) != predecessors)
+                    continue;
+                if (!stripesLocked(locked, successors.keySet()) || !stripesLocked(locked, predecessors.keySet()))
+                    continue;
+                edges.remove(vertex);
+                reversedEdges.remove(vertex);
+                for (Edge edge: successors.values()){
+                    Map<Vertex, Edge> reversed = reversedEdges.get(edge.getEnd());
+                    if (reversed != null)
+                        reversed.remove(vertex);
+                    edge.detach(this);
+                }
+                for (Edge edge: predecessors.values()){
+                    Map<Vertex, Edge> map = edges.get(edge.getStart());
+                    if (map != null)
+                        map.remove(vertex);
+                    edge.detach(this);
+                }
+                int removed = successors.size()+predecessors.size()-(successors.containsKey(vertex) ? 1 : 0);
+                edgesCount.addAndGet(-removed);
+                modificationCount.incrementAndGet();
+                return this;
+            } finally {
+                unlockAll(locked);
+            }
+        }
+    }
+
+    private boolean stripesLocked(int[] locked, Set<Vertex> vertices){
+        for (Vertex vertex: vertices){
+            if (Arrays.binarySearch(locked, stripe(vertex)) < 0)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Graph removeEdge(Edge edge){
+        lock(edge.getStart(), edge.getEnd());
+        try {
+            Map<Vertex, Edge> successors = edges.get(edge.getStart());
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Exception at edge removal: unregistered start vertex"),
+                    successors != null
+            );
+            deleteEdge(successors, edge);
+        } finally {
+            unlock(edge.getStart(), edge.getEnd());
+        }
+        return this;
+    }
+
+    private void deleteEdge(Map<Vertex, Edge> successors, Edge edge){
+        Edge removed = successors.remove(edge.getEnd());
+        if (removed != null){
+            reversedEdges.get(edge.getEnd()).remove(edge.getStart());
+            removed.detach(this);
+            edgesCount.decrementAndGet();
+            modificationCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void edgeModified(Edge edge){
+        modificationCount.incrementAndGet();
+    }
+
+    @Override
+    public Set<Vertex> getVertices(){
+        return Collections.unmodifiableSet(edges.keySet());
+    }
+
+    @Override
+    public Set<Edge> getEdges(){
+        Set<Edge> res = new HashSet<>();
+        for (Map<Vertex, Edge> map: edges.values())
+            res.addAll(map.values());
+        return res;
+    }
+
+    @Override
+    public Optional<Edge> getEdge(Vertex start, Vertex end){
+        Map<Vertex, Edge> map = edges.get(start);
+        if (map == null)
+            return Optional.empty();
+        return Optional.ofNullable(map.get(end));
+    }
+
+    @Override
+    public void reverseEdge(Edge edge, int reversed){
+        lock(edge.getStart(), edge.getEnd());
+        try {
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Cannot reverse an edge that is not in the graph"),
+                    getEdge(edge.getStart(), edge.getEnd()).filter(e -> e == edge).isPresent()
+            );
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Cannot reverse an edge for more than its weight"),
+                    edge.getWeight() >= reversed
+            );
+            edge.setWeight(edge.getWeight()-reversed);
+            if (edge.getWeight() == 0)
+                deleteEdge(edges.get(edge.getStart()), edge);
+            Optional<Edge> alreadyExisting = getEdge(edge.getEnd(), edge.getStart());
+            if (!alreadyExisting.isPresent())
+                putEdge(edges.get(edge.getEnd()), reversedEdges.get(edge.getStart()),
+                        new Edge(edge.getEnd(), edge.getStart(), reversed));
+            else {
+                Edge reverseEdge = alreadyExisting.get();
+                reverseEdge.setWeight(reverseEdge.getWeight()+reversed);
+            }
+        } finally {
+            unlock(edge.getStart(), edge.getEnd());
+        }
+    }
+
+    @Override
+    public Graph clone(){
+        Map<Vertex, Vertex> newVertices = new HashMap<>();
+        for (Vertex vertex : getVertices())
+            newVertices.put(vertex, vertex.clone());
+        ConcurrentGraph res = new ConcurrentGraph(stripes.length);
+        res.addVertices(newVertices.values());
+        for (Edge edge: getEdges())
+            res.addEdge(edge.copy(newVertices.get(edge.getStart()), newVertices.get(edge.getEnd())));
+        return res;
+    }
+
+}
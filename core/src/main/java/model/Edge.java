@@ -0,0 +1,142 @@
+package model;
+
+import helpers.Assertions;
+
+import java.util.Arrays;
+
+public final class Edge implements Graph.Component {
+    public static final int DEFAULT_USED_WEIGHT = -1;
+    private static final Graph[] NO_OWNERS = {};
+
+    private final Vertex start, end;
+    private final boolean signed;
+    private int weight, cost, usedWeight = DEFAULT_USED_WEIGHT;
+    private volatile Graph[] owners = NO_OWNERS;
+
+    public static boolean isValidWeight(int weight){
+        return weight >= 0;
+    }
+
+    public static boolean isValidCost(int cost){
+        return cost >= 0;
+    }
+
+    public Edge(Vertex start, Vertex end, int weight){
+        this(start, end, weight, 0, false);
+    }
+
+    public Edge(Vertex start, Vertex end, int weight, int cost){
+        this(start, end, weight, cost, false);
+    }
+
+    private Edge(Vertex start, Vertex end, int weight, int cost, boolean signed){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Weight must be non negative"),
+                signed || isValidWeight(weight)
+        );
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Cost must be non negative"),
+                isValidCost(cost)
+        );
+        this.start = start;
+        this.end = end;
+        this.weight = weight;
+        this.cost = cost;
+        this.signed = signed;
+    }
+
+    public static Edge signed(Vertex start, Vertex end, int weight){
+        return new Edge(start, end, weight, 0, true);
+    }
+
+    public static Edge of(Vertex start, Vertex end, int weight, int cost, boolean signed){
+        return new Edge(start, end, weight, cost, signed);
+    }
+
+    public Edge copy(Vertex start, Vertex end){
+        return of(start, end, weight, cost, signed);
+    }
+
+    public Vertex getStart(){
+        return start;
+    }
+
+    public Vertex getEnd(){
+        return end;
+    }
+
+    public boolean isSigned(){
+        return signed;
+    }
+
+    public int getWeight(){
+        return weight;
+    }
+
+    public int getCost(){
+        return cost;
+    }
+
+    public int getUsedWeight(){
+        return usedWeight;
+    }
+
+    public void setWeight(int weight){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Weight must be non negative"),
+                signed || isValidWeight(weight)
+        );
+        if (this.weight == weight)
+            return;
+        this.weight = weight;
+        modified();
+    }
+
+    public void setCost(int cost){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Cost must be non negative"),
+                isValidCost(cost)
+        );
+        if (this.cost == cost)
+            return;
+        this.cost = cost;
+        modified();
+    }
+
+    synchronized void attach(Graph graph){
+        Graph[] res = Arrays.copyOf(owners, owners.length+1);
+        res[owners.length] = graph;
+        owners = res;
+    }
+
+    synchronized void detach(Graph graph){
+        for (int i = 0; i < owners.length; ++i){
+            if (owners[i] == graph){
+                Graph[] res = new Graph[owners.length-1];
+                System.arraycopy(owners, 0, res, 0, i);
+                System.arraycopy(owners, i+1, res, i, res.length-i);
+                owners = res;
+                return;
+            }
+        }
+    }
+
+    private void modified(){
+        for (Graph owner: owners)
+            owner.edgeModified(this);
+    }
+
+    public void setUsedWeight(int usedWeight){
+        this.usedWeight = usedWeight;
+    }
+
+    public void increaseUsedWeight(int delta){
+        usedWeight += delta;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("( %s -> %s )", start, end);
+    }
+
+}
@@ -0,0 +1,71 @@
+package model;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface Graph {
+
+    Map<Vertex, Edge> adjencyList(Vertex vertex);
+
+    Map<Vertex, Edge> precedencyList(Vertex vertex);
+
+    int verticesCount();
+
+    int edgesCount();
+
+    long modificationCount();
+
+    default long version(){
+        return modificationCount();
+    }
+
+    void edgeModified(Edge edge);
+
+    Graph addVertex(Vertex vertex);
+
+    Graph addEdge(Edge newEdge);
+
+    default Graph addVertices(Collection<Vertex> newVertices){
+        for (Vertex vertex : newVertices)
+            addVertex(vertex);
+        return this;
+    }
+
+    default Graph addEdges(Collection<Edge> newEdges){
+        for (Edge edge: newEdges)
+            addEdge(edge);
+        return this;
+    }
+
+    Graph removeVertex(Vertex vertex);
+
+    Graph removeEdge(Edge edge);
+
+    Set<Vertex> getVertices();
+
+    Set<Edge> getEdges();
+
+    Optional<Edge> getEdge(Vertex start, Vertex end);
+
+    void reverseEdge(Edge edge, int reversed);
+
+    default void clearVerticesProperties(){
+        for (Vertex vertex: getVertices())
+            vertex.clearProperties();
+    }
+
+    default Optional<Vertex> getVertexByName(String name){
+        for (Vertex vertex : getVertices()) {
+            if (vertex.getName().equals(name))
+                return Optional.of(vertex);
+        }
+        return Optional.empty();
+    }
+
+    Graph clone();
+
+    interface Component {}
+
+}
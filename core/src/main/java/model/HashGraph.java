@@ -6,86 +6,126 @@ import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public final class Graph implements Serializable {
+public final class HashGraph implements Graph, Serializable {
     private final Map<Vertex, Map<Vertex, Edge>> edges = new HashMap<>();
+    private final Map<Vertex, Map<Vertex, Edge>> reversedEdges = new HashMap<>();
+    private int edgesCount = 0;
+    private long modificationCount = 0;
 
-    public Graph(){}
+    public HashGraph(){}
 
-    public Graph(Set<Vertex> vertices, Set<Edge> edges){
+    public HashGraph(Set<Vertex> vertices, Set<Edge> edges){
         addVertices(vertices);
         addEdges(edges);
     }
 
+    @Override
     public Map<Vertex, Edge> adjencyList(Vertex vertex){
         return new HashMap<>(edges.get(vertex));
     }
 
+    @Override
     public Map<Vertex, Edge> precedencyList(Vertex vertex){
-        Map<Vertex, Edge> res = new HashMap<>();
-        for (Edge edge: getEdges().stream().filter(e -> e.getEnd() == vertex).collect(Collectors.toSet())){
-            res.put(edge.getStart(), edge);
-        }
-        return new HashMap<>(res);
+        return new HashMap<>(reversedEdges.get(vertex));
     }
 
+    @Override
     public int verticesCount(){
         return edges.size();
     }
 
+    @Override
     public int edgesCount(){
-        return getEdges().size();
+        return edgesCount;
     }
 
+    @Override
+    public long modificationCount(){
+        return modificationCount;
+    }
+
+    @Override
     public Graph addVertex(Vertex vertex){
+        if (edges.containsKey(vertex))
+            return this;
         edges.put(vertex, new HashMap<>());
+        reversedEdges.put(vertex, new HashMap<>());
+        ++modificationCount;
         return this;
     }
 
+    @Override
     public Graph addEdge(Edge newEdge){
         Assertions.assertContains(
                 () -> new IllegalArgumentException("Start and end of the edge must be registered as vertices"),
                 getVertices(), newEdge.getStart(), newEdge.getEnd()
         );
-        edges.get(newEdge.getStart()).put(newEdge.getEnd(), newEdge);
-        return this;
-    }
-
-    public Graph addVertices(Collection<Vertex> newVertices){
-        for (Vertex vertex : newVertices)
-            addVertex(vertex);
-        return this;
-    }
-
-    public Graph addEdges(Collection<Edge> newEdges){
-        for (Edge edge: newEdges)
-            addEdge(edge);
+        Edge previous = edges.get(newEdge.getStart()).put(newEdge.getEnd(), newEdge);
+        reversedEdges.get(newEdge.getEnd()).put(newEdge.getStart(), newEdge);
+        if (previous == null)
+            ++edgesCount;
+        if (previous != newEdge){
+            if (previous != null)
+                previous.detach(this);
+            newEdge.attach(this);
+        }
+        ++modificationCount;
         return this;
     }
 
+    @Override
     public Graph removeVertex(Vertex vertex){
         Assertions.assertContains(
                 () -> new IllegalArgumentException("Cannot remove an unregistered vertex"),
                 getVertices(), vertex
         );
-        edges.remove(vertex);
-        for (Map<Vertex, Edge> map: edges.values())
-            map.remove(vertex);
+        Map<Vertex, Edge> successors = edges.remove(vertex), predecessors = reversedEdges.remove(vertex);
+        for (Edge edge: successors.values()){
+            Map<Vertex, Edge> reversed = reversedEdges.get(edge.getEnd());
+            if (reversed != null)
+                reversed.remove(vertex);
+            edge.detach(this);
+        }
+        for (Edge edge: predecessors.values()){
+            Map<Vertex, Edge> map = edges.get(edge.getStart());
+            if (map != null)
+                map.remove(vertex);
+            edge.detach(this);
+        }
+        edgesCount -= successors.size()+predecessors.size();
+        if (successors.containsKey(vertex))
+            ++edgesCount;
+        ++modificationCount;
         return this;
     }
 
+    @Override
     public Graph removeEdge(Edge edge){
         try {
-            edges.get(edge.getStart()).remove(edge.getEnd());
+            Edge removed = edges.get(edge.getStart()).remove(edge.getEnd());
+            if (removed != null){
+                reversedEdges.get(edge.getEnd()).remove(edge.getStart());
+                removed.detach(this);
+                --edgesCount;
+                ++modificationCount;
+            }
         } catch (Exception e){
             throw new IllegalArgumentException("Exception at edge removal: ", e);
         }
         return this;
     }
 
+    @Override
+    public void edgeModified(Edge edge){
+        ++modificationCount;
+    }
+
+    @Override
     public Set<Vertex> getVertices(){
         return edges.keySet();
     }
 
+    @Override
     public Set<Edge> getEdges(){
         Set<Edge> res = new HashSet<>();
         for (Map<Vertex, Edge> map: edges.values())
@@ -94,6 +134,7 @@ public final class Graph implements Serializable {
         return res;
     }
 
+    @Override
     public Optional<Edge> getEdge(Vertex start, Vertex end){
         Map<Vertex, Edge> map = edges.get(start);
         if (Objects.isNull(map))
@@ -104,10 +145,11 @@ public final class Graph implements Serializable {
         return Optional.of(res);
     }
 
+    @Override
     public void reverseEdge(Edge edge, int reversed){
-        Assertions.assertContains(
+        Assertions.assertThat(
                 () -> new IllegalArgumentException("Cannot reverse an edge that is not in the graph"),
-                getEdges(), edge
+                getEdge(edge.getStart(), edge.getEnd()).filter(e -> e == edge).isPresent()
         );
         Assertions.assertThat(
                 () -> new IllegalArgumentException("Cannot reverse an edge for more than its weight"),
@@ -125,19 +167,6 @@ public final class Graph implements Serializable {
         }
     }
 
-    public void clearVerticesProperties(){
-        for (Vertex vertex: getVertices())
-            vertex.clearProperties();
-    }
-
-    public Optional<Vertex> getVertexByName(String name){
-        for (Vertex vertex : getVertices()) {
-            if (vertex.getName().equals(name))
-                return Optional.of(vertex);
-        }
-        return Optional.empty();
-    }
-
     @Override
     public Graph clone(){
         Map<Vertex, Vertex> newVertices = new HashMap<>();
@@ -145,11 +174,9 @@ public final class Graph implements Serializable {
             newVertices.put(vertex, vertex.clone());
         }
         Set<Edge> newEdges = getEdges().stream()
-                .map(e -> new Edge(newVertices.get(e.getStart()), newVertices.get(e.getEnd()), e.getWeight()))
+                .map(e -> e.copy(newVertices.get(e.getStart()), newVertices.get(e.getEnd())))
                 .collect(Collectors.toSet());
-        return new Graph(new HashSet<>(newVertices.values()), newEdges);
+        return new HashGraph(new HashSet<>(newVertices.values()), newEdges);
     }
 
-    public interface Component {}
-
 }
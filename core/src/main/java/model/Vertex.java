@@ -9,6 +9,7 @@ public final class Vertex implements Graph.Component {
     private final String name;
     private Parent parent = Parent.UNKNOWN;
     private final Map<String, Object> properties = new HashMap<>();
+    private int propertiesVersion = 0;
 
     public Vertex(String name){
         this.name = name;
@@ -20,6 +21,7 @@ public final class Vertex implements Graph.Component {
 
     public void setProperty(String propertyName, Object value){
         properties.put(propertyName, value);
+        ++propertiesVersion;
     }
 
     public Object getProperty(String propName){
@@ -28,9 +30,14 @@ public final class Vertex implements Graph.Component {
 
     public void clearProperties(){
         properties.clear();
+        ++propertiesVersion;
         parent = Parent.UNKNOWN;
     }
 
+    public int getPropertiesVersion(){
+        return propertiesVersion;
+    }
+
     public Map<String, Object> getProperties(){
         return Collections.unmodifiableMap(properties);
     }
@@ -49,6 +56,8 @@ public final class Vertex implements Graph.Component {
 
         public static final Parent NONE = new None(), UNKNOWN = new Unknown();
 
+        private Parent(){}
+
         private static final class Real extends Parent {
             private final Vertex vertex;
 
@@ -0,0 +1,333 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+import model.spi.EdgeCursor;
+import model.spi.EdgeVisitor;
+import model.spi.GraphStore;
+import model.spi.IndexedGraph;
+
+import java.util.*;
+
+public final class Algorithms {
+
+    private static final String COLOR = "color", GREY = "grey", WHITE = "white", BLACK = "black";
+    public static final String FINISH_TIME = "f", DISCOVERY_TIME = "d";
+    public static final String DISTANCE = "d";
+    public static final String INFINITY = "∞";
+    public static final String KEY = "key";
+    public static final String PARENT = "π";
+    public static final String FLOW = "flow";
+    public static final int UNREACHED = -1, NO_PARENT = -1;
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private Algorithms(){}
+
+    static IdEventRecorder ids(IndexedGraph index, EventRecorder recorder){
+        if (recorder == EventRecorder.NONE)
+            return IdEventRecorder.NONE;
+        return (type, from, to, value) -> recorder.record(type, index.vertex(from), index.vertex(to), value);
+    }
+
+    static void checkVertex(GraphStore graph, int vertex){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Vertex id "+vertex+" is not in the graph"),
+                vertex >= 0 && vertex < graph.verticesCount()
+        );
+    }
+
+    public static void depthFirstSearch(Graph graph, Vertex startVertex){
+        depthFirstSearch(graph, startVertex, EventRecorder.NONE);
+    }
+
+    public static void depthFirstSearch(Graph graph, Vertex startVertex, EventRecorder recorder){
+        Assertions.assertContains(
+                () -> new IllegalArgumentException("Cannot run DFS with a start vertex that is not in the graph"),
+                graph.getVertices(), startVertex
+        );
+        graph.clearVerticesProperties();
+        IndexedGraph index = IndexedGraph.of(graph);
+        int n = index.verticesCount();
+        int[] discovery = new int[n], finish = new int[n];
+        depthFirstSearch(index, index.id(startVertex), discovery, finish, ids(index, recorder));
+        for (int v = 0; v < n; ++v){
+            Vertex vertex = index.vertex(v);
+            if (discovery[v] == 0){
+                vertex.setProperty(COLOR, WHITE);
+                continue;
+            }
+            vertex.setProperty(DISCOVERY_TIME, Integer.toString(discovery[v]));
+            vertex.setProperty(FINISH_TIME, Integer.toString(finish[v]));
+            vertex.setProperty(COLOR, BLACK);
+        }
+    }
+
+    public static int depthFirstSearch(GraphStore graph, int start, int[] discovery, int[] finish,
+                                       IdEventRecorder recorder){
+        checkVertex(graph, start);
+        Arrays.fill(discovery, 0);
+        Arrays.fill(finish, 0);
+        EdgeCursor[] cursors = new EdgeCursor[16];
+        int[] stack = new int[16];
+        int depth = 0, time = 0;
+        stack[0] = start;
+        cursors[0] = graph.outCursor().at(start);
+        discovery[start] = ++time;
+        recorder.record(EventType.VISIT, start, start, time);
+        while (depth >= 0){
+            EdgeCursor cursor = cursors[depth];
+            if (!cursor.next()){
+                finish[stack[depth--]] = ++time;
+                continue;
+            }
+            int next = cursor.neighbour();
+            if (discovery[next] != 0)
+                continue;
+            recorder.record(EventType.TREE_EDGE, stack[depth], next, time);
+            if (++depth == stack.length){
+                stack = Arrays.copyOf(stack, 2*depth);
+                cursors = Arrays.copyOf(cursors, 2*depth);
+            }
+            if (cursors[depth] == null)
+                cursors[depth] = graph.outCursor();
+            cursors[depth].at(next);
+            stack[depth] = next;
+            discovery[next] = ++time;
+            recorder.record(EventType.VISIT, next, next, time);
+        }
+        return time;
+    }
+
+    public static void breathFirstSearch(Graph graph, Vertex startVertex){
+        breathFirstSearch(graph, startVertex, EventRecorder.NONE);
+    }
+
+    public static void breathFirstSearch(Graph graph, Vertex startVertex, EventRecorder recorder){
+        IndexedGraph index = IndexedGraph.of(graph);
+        int[] distances = new int[index.verticesCount()];
+        breathFirstSearch(index, index.id(startVertex), distances, ids(index, recorder));
+        for (int v = 0; v < distances.length; ++v){
+            index.vertex(v).setProperty(DISTANCE,
+                    distances[v] == UNREACHED ? INFINITY : (Object) distances[v]);
+        }
+    }
+
+    public static void breathFirstSearch(GraphStore graph, int source, int[] distances, IdEventRecorder recorder){
+        checkVertex(graph, source);
+        Arrays.fill(distances, UNREACHED);
+        int[] queue = new int[graph.verticesCount()];
+        int head = 0, tail = 0;
+        distances[source] = 0;
+        recorder.record(EventType.VISIT, source, source, 0);
+        queue[tail++] = source;
+        EdgeCursor cursor = graph.outCursor();
+        while (head < tail){
+            int current = queue[head++];
+            for (cursor.at(current); cursor.next(); ){
+                int next = cursor.neighbour();
+                if (distances[next] != UNREACHED)
+                    continue;
+                distances[next] = distances[current]+1;
+                recorder.record(EventType.TREE_EDGE, current, next, distances[next]);
+                recorder.record(EventType.VISIT, next, next, distances[next]);
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    public static Set<Edge> kruskal(Graph graph){
+        return kruskal(graph, EventRecorder.NONE);
+    }
+
+    public static Set<Edge> kruskal(Graph graph, EventRecorder recorder){
+        IndexedGraph index = IndexedGraph.of(graph);
+        Set<Edge> spanningEdges = new HashSet<>();
+        kruskal(index, (edge, start, end, weight) -> spanningEdges.add(index.edge(edge)), ids(index, recorder));
+        return spanningEdges;
+    }
+
+    public static long kruskal(GraphStore graph, EdgeVisitor spanningEdges, IdEventRecorder recorder){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Too many edges to sort in memory"),
+                graph.edgesCount() < Integer.MAX_VALUE
+        );
+        int m = (int) graph.edgesCount();
+        long[] ids = new long[m], order = new long[m];
+        int[] starts = new int[m], ends = new int[m], weights = new int[m];
+        EdgeCursor cursor = graph.outCursor();
+        int e = 0;
+        for (int v = 0; v < graph.verticesCount(); ++v){
+            for (cursor.at(v); cursor.next(); ++e){
+                ids[e] = cursor.edge();
+                starts[e] = v;
+                ends[e] = cursor.neighbour();
+                weights[e] = cursor.weight();
+                order[e] = (((weights[e] & 0xFFFFFFFFL) ^ 0x80000000L) << 32) | e;
+            }
+        }
+        Arrays.sort(order);
+        IntDisjointSet sets = new IntDisjointSet(graph.verticesCount());
+        long total = 0;
+        for (long key: order){
+            int i = (int) key;
+            if (sets.union(starts[i], ends[i])){
+                total += weights[i];
+                spanningEdges.visit(ids[i], starts[i], ends[i], weights[i]);
+                recorder.record(EventType.TREE_EDGE, starts[i], ends[i], weights[i]);
+            }
+        }
+        return total;
+    }
+
+    public static void fordFulkerson(Graph originalGraph, Vertex sourceArg, Vertex sinkArg){
+        fordFulkerson(originalGraph, sourceArg, sinkArg, EventRecorder.NONE);
+    }
+
+    public static void fordFulkerson(Graph originalGraph, Vertex sourceArg, Vertex sinkArg,
+                                     EventRecorder recorder){
+        IndexedGraph index = IndexedGraph.of(originalGraph);
+        for (Edge edge: originalGraph.getEdges())
+            edge.setUsedWeight(0);
+        long flow = fordFulkerson(index, index.id(sourceArg), index.id(sinkArg),
+                (edge, start, end, value) -> index.edge(edge).setUsedWeight(value), ids(index, recorder));
+        sourceArg.setProperty("Flow to "+sinkArg.getName(), flow);
+    }
+
+    public static long fordFulkerson(GraphStore graph, int source, int sink, EdgeVisitor edgeFlows,
+                                     IdEventRecorder recorder){
+        checkVertex(graph, source);
+        checkVertex(graph, sink);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Too many edges for an in-memory residual graph"),
+                graph.edgesCount() < Integer.MAX_VALUE/2
+        );
+        if (source == sink)
+            return 0;
+        ResidualGraph residual = new ResidualGraph(graph);
+        int n = graph.verticesCount();
+        int[] parentArcs = new int[n], queue = new int[n];
+        long flow = 0;
+        while (residual.shortestAugmentingPath(source, sink, parentArcs, queue)){
+            int bottleneck = Integer.MAX_VALUE;
+            for (int v = sink; v != source; v = residual.tail(parentArcs[v]))
+                bottleneck = Math.min(bottleneck, residual.capacity(parentArcs[v]));
+            for (int v = sink; v != source; v = residual.tail(parentArcs[v])){
+                int arc = parentArcs[v];
+                residual.push(arc, bottleneck);
+                int edge = arc >> 1;
+                recorder.record(EventType.AUGMENT, residual.start(edge), residual.end(edge),
+                        (arc & 1) == 0 ? bottleneck : -bottleneck);
+            }
+            flow += bottleneck;
+        }
+        residual.forEachFlow(edgeFlows);
+        return flow;
+    }
+
+    public static boolean bellmanFord(Graph graph, Vertex source){
+        return bellmanFord(graph, source, EventRecorder.NONE);
+    }
+
+    public static boolean bellmanFord(Graph graph, Vertex source, EventRecorder recorder){
+        IndexedGraph index = IndexedGraph.of(graph);
+        int n = index.verticesCount();
+        long[] distances = new long[n];
+        int[] parents = new int[n];
+        boolean noNegativeCycle = bellmanFord(index, index.id(source), distances, parents, ids(index, recorder));
+        for (int v = 0; v < n; ++v){
+            Vertex vertex = index.vertex(v);
+            vertex.setProperty(DISTANCE, distances[v] == UNREACHABLE ? INFINITY : (Object) (int) distances[v]);
+            vertex.setProperty(PARENT, parents[v] == NO_PARENT ? null : index.vertex(parents[v]));
+        }
+        return noNegativeCycle;
+    }
+
+    public static boolean bellmanFord(GraphStore graph, int source, long[] distances, int[] parents,
+                                      IdEventRecorder recorder){
+        checkVertex(graph, source);
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(parents, NO_PARENT);
+        distances[source] = 0;
+        recorder.record(EventType.VISIT, source, source, 0);
+        EdgeCursor cursor = graph.outCursor();
+        boolean relaxed = true;
+        for (int i = 1; i < graph.verticesCount() && relaxed; ++i)
+            relaxed = relaxAll(graph, cursor, distances, parents, recorder) != NO_PARENT;
+        return !relaxed || relaxAll(graph, cursor, distances, parents, IdEventRecorder.NONE) == NO_PARENT;
+    }
+
+    public static Optional<List<Vertex>> negativeCycle(Graph graph){
+        IndexedGraph index = IndexedGraph.of(graph);
+        int[] cycle = new int[index.verticesCount()];
+        int length = negativeCycle(index, cycle);
+        if (length == 0)
+            return Optional.empty();
+        List<Vertex> vertices = new ArrayList<>(length);
+        for (int i = 0; i < length; ++i)
+            vertices.add(index.vertex(cycle[i]));
+        return Optional.of(vertices);
+    }
+
+    public static int negativeCycle(GraphStore graph, int[] cycle){
+        int n = graph.verticesCount();
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("The cycle array must have one slot per vertex"),
+                cycle.length >= n
+        );
+        int[] parents = new int[n];
+        int relaxed = relaxFromVirtualSource(graph, new long[n], parents);
+        if (relaxed == NO_PARENT)
+            return 0;
+        int onCycle = relaxed;
+        for (int i = 0; i < n; ++i)
+            onCycle = parents[onCycle];
+        int length = 0;
+        int v = onCycle;
+        do {
+            cycle[length++] = v;
+            v = parents[v];
+        } while (v != onCycle);
+        for (int i = 0, j = length-1; i < j; ++i, --j){
+            int swapped = cycle[i];
+            cycle[i] = cycle[j];
+            cycle[j] = swapped;
+        }
+        return length;
+    }
+
+    static int relaxFromVirtualSource(GraphStore graph, long[] distances, int[] parents){
+        Arrays.fill(distances, 0);
+        Arrays.fill(parents, NO_PARENT);
+        EdgeCursor cursor = graph.outCursor();
+        int relaxed = NO_PARENT;
+        for (int i = 0; i < graph.verticesCount(); ++i){
+            relaxed = relaxAll(graph, cursor, distances, parents, IdEventRecorder.NONE);
+            if (relaxed == NO_PARENT)
+                break;
+        }
+        return relaxed;
+    }
+
+    private static int relaxAll(GraphStore graph, EdgeCursor cursor, long[] distances, int[] parents,
+                                IdEventRecorder recorder){
+        int relaxed = NO_PARENT;
+        for (int start = 0; start < graph.verticesCount(); ++start){
+            if (distances[start] == UNREACHABLE)
+                continue;
+            for (cursor.at(start); cursor.next(); ){
+                int end = cursor.neighbour();
+                long possDist = distances[start]+cursor.weight();
+                if (distances[end] <= possDist)
+                    continue;
+                distances[end] = possDist;
+                parents[end] = start;
+                relaxed = end;
+                recorder.record(EventType.RELAX, start, end, (int) possDist);
+            }
+        }
+        return relaxed;
+    }
+
+}
@@ -0,0 +1,151 @@
+package model.algorithms;
+
+import model.Graph;
+import model.Vertex;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+import model.spi.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public final class Components {
+    public static final String COMPONENT = "scc", ORDER = "order";
+    private static final int UNVISITED = -1;
+
+    private Components(){}
+
+    public static int stronglyConnectedComponents(Graph graph){
+        IndexedGraph index = IndexedGraph.of(graph);
+        int[] components = new int[index.verticesCount()];
+        int count = stronglyConnectedComponents(index, components);
+        for (int v = 0; v < components.length; ++v)
+            index.vertex(v).setProperty(COMPONENT, components[v]);
+        return count;
+    }
+
+    public static int stronglyConnectedComponents(GraphStore graph, int[] components){
+        int n = graph.verticesCount();
+        int[] indices = new int[n], lows = new int[n], sccStack = new int[n], frames = new int[n];
+        boolean[] onStack = new boolean[n];
+        EdgeCursor[] cursors = new EdgeCursor[Math.min(n, 16)];
+        Arrays.fill(indices, UNVISITED);
+        int counter = 0, sccTop = 0, count = 0;
+        for (int root = 0; root < n; ++root){
+            if (indices[root] != UNVISITED)
+                continue;
+            int depth = 0;
+            frames[0] = root;
+            cursors = cursorAt(graph, cursors, 0, root);
+            indices[root] = lows[root] = counter++;
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+            while (depth >= 0){
+                int v = frames[depth];
+                EdgeCursor cursor = cursors[depth];
+                if (cursor.next()){
+                    int w = cursor.neighbour();
+                    if (indices[w] == UNVISITED){
+                        frames[++depth] = w;
+                        cursors = cursorAt(graph, cursors, depth, w);
+                        indices[w] = lows[w] = counter++;
+                        sccStack[sccTop++] = w;
+                        onStack[w] = true;
+                    }
+                    else if (onStack[w])
+                        lows[v] = Math.min(lows[v], indices[w]);
+                    continue;
+                }
+                if (lows[v] == indices[v]){
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack[w] = false;
+                        components[w] = count;
+                    } while (w != v);
+                    ++count;
+                }
+                if (--depth >= 0)
+                    lows[frames[depth]] = Math.min(lows[frames[depth]], lows[v]);
+            }
+        }
+        for (int v = 0; v < n; ++v)
+            components[v] = count-1-components[v];
+        return count;
+    }
+
+    private static EdgeCursor[] cursorAt(GraphStore graph, EdgeCursor[] cursors, int depth, int vertex){
+        if (depth == cursors.length)
+            cursors = Arrays.copyOf(cursors, Math.max(1, 2*depth));
+        if (cursors[depth] == null)
+            cursors[depth] = graph.outCursor();
+        cursors[depth].at(vertex);
+        return cursors;
+    }
+
+    public static int connectedComponents(GraphStore graph, int[] labels){
+        int n = graph.verticesCount();
+        IntDisjointSet sets = new IntDisjointSet(n);
+        EdgeCursor cursor = graph.outCursor();
+        for (int v = 0; v < n; ++v){
+            for (cursor.at(v); cursor.next(); )
+                sets.union(v, cursor.neighbour());
+        }
+        int[] smallest = new int[n];
+        Arrays.fill(smallest, UNVISITED);
+        int count = 0;
+        for (int v = 0; v < n; ++v){
+            int root = sets.find(v);
+            if (smallest[root] == UNVISITED){
+                smallest[root] = v;
+                ++count;
+            }
+            labels[v] = smallest[root];
+        }
+        return count;
+    }
+
+    public static boolean topologicalSort(Graph graph){
+        IndexedGraph index = IndexedGraph.of(graph);
+        Optional<int[]> order = topologicalSort(index);
+        order.ifPresent(vertices -> {
+            for (int position = 0; position < vertices.length; ++position)
+                index.vertex(vertices[position]).setProperty(ORDER, position);
+        });
+        return order.isPresent();
+    }
+
+    public static Optional<int[]> topologicalSort(GraphStore graph){
+        int n = graph.verticesCount();
+        int[] inDegrees = new int[n], order = new int[n];
+        EdgeCursor cursor = graph.outCursor();
+        for (int v = 0; v < n; ++v){
+            for (cursor.at(v); cursor.next(); )
+                ++inDegrees[cursor.neighbour()];
+        }
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; ++v){
+            if (inDegrees[v] == 0)
+                order[tail++] = v;
+        }
+        while (head < tail){
+            int v = order[head++];
+            for (cursor.at(v); cursor.next(); ){
+                if (--inDegrees[cursor.neighbour()] == 0)
+                    order[tail++] = cursor.neighbour();
+            }
+        }
+        return tail == n ? Optional.of(order) : Optional.empty();
+    }
+
+    public static boolean isAcyclic(GraphStore graph){
+        return topologicalSort(graph).isPresent();
+    }
+
+    public static Condensation condense(GraphStore graph){
+        int[] components = new int[graph.verticesCount()];
+        int count = stronglyConnectedComponents(graph, components);
+        return new Condensation(graph, components, count);
+    }
+
+}
@@ -0,0 +1,149 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+
+import java.util.Arrays;
+
+public final class Condensation implements GraphStore {
+    private static final int NONE = -1;
+
+    private final int[] components;
+    private final int count;
+    private final int[] memberOffsets, members;
+    private final int[] offsets, targets, weights;
+
+    Condensation(GraphStore graph, int[] components, int count){
+        this.components = components;
+        this.count = count;
+        int n = graph.verticesCount();
+        memberOffsets = new int[count+1];
+        for (int v = 0; v < n; ++v)
+            ++memberOffsets[components[v]+1];
+        for (int c = 0; c < count; ++c)
+            memberOffsets[c+1] += memberOffsets[c];
+        members = new int[n];
+        int[] fill = Arrays.copyOf(memberOffsets, count);
+        for (int v = 0; v < n; ++v)
+            members[fill[components[v]]++] = v;
+
+        int[] slotOf = new int[count];
+        Arrays.fill(slotOf, NONE);
+        int[] growTargets = new int[16], growWeights = new int[16];
+        offsets = new int[count+1];
+        EdgeCursor cursor = graph.outCursor();
+        int size = 0;
+        for (int c = 0; c < count; ++c){
+            int first = size;
+            for (int i = memberOffsets[c]; i < memberOffsets[c+1]; ++i){
+                for (cursor.at(members[i]); cursor.next(); ){
+                    int target = components[cursor.neighbour()];
+                    if (target == c)
+                        continue;
+                    int slot = slotOf[target];
+                    if (slot >= first && slot < size && growTargets[slot] == target){
+                        growWeights[slot] = Math.min(growWeights[slot], cursor.weight());
+                        continue;
+                    }
+                    if (size == growTargets.length){
+                        growTargets = Arrays.copyOf(growTargets, 2*size);
+                        growWeights = Arrays.copyOf(growWeights, 2*size);
+                    }
+                    slotOf[target] = size;
+                    growTargets[size] = target;
+                    growWeights[size++] = cursor.weight();
+                }
+            }
+            offsets[c+1] = size;
+        }
+        targets = Arrays.copyOf(growTargets, size);
+        weights = Arrays.copyOf(growWeights, size);
+    }
+
+    public int component(int vertex){
+        return components[vertex];
+    }
+
+    public int componentSize(int component){
+        return memberOffsets[component+1]-memberOffsets[component];
+    }
+
+    public int[] members(int component){
+        return Arrays.copyOfRange(members, memberOffsets[component], memberOffsets[component+1]);
+    }
+
+    public int[] components(){
+        return components.clone();
+    }
+
+    @Override
+    public int verticesCount(){
+        return count;
+    }
+
+    @Override
+    public long edgesCount(){
+        return targets.length;
+    }
+
+    @Override
+    public EdgeCursor outCursor(){
+        return new Cursor();
+    }
+
+    @Override
+    public boolean hasEdge(int start, int end){
+        return find(start, end) >= 0;
+    }
+
+    @Override
+    public int weight(int start, int end){
+        int e = find(start, end);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("No edge between the given components"),
+                e >= 0
+        );
+        return weights[e];
+    }
+
+    private int find(int start, int end){
+        for (int e = offsets[start]; e < offsets[start+1]; ++e){
+            if (targets[e] == end)
+                return e;
+        }
+        return -1;
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private int position, limit;
+
+        @Override
+        public EdgeCursor at(int vertex){
+            position = offsets[vertex]-1;
+            limit = offsets[vertex+1];
+            return this;
+        }
+
+        @Override
+        public boolean next(){
+            return ++position < limit;
+        }
+
+        @Override
+        public int neighbour(){
+            return targets[position];
+        }
+
+        @Override
+        public int weight(){
+            return weights[position];
+        }
+
+        @Override
+        public long edge(){
+            return position;
+        }
+    }
+
+}
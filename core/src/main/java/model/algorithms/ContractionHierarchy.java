@@ -0,0 +1,531 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static model.algorithms.Algorithms.NO_PARENT;
+import static model.algorithms.Algorithms.UNREACHABLE;
+
+public final class ContractionHierarchy {
+    private static final int MAGIC = 0x4348_0001;
+    private static final int WITNESS_SETTLED_LIMIT = 500, SIMULATION_SETTLED_LIMIT = 15, NO_MIDDLE = -1;
+
+    private final int n;
+    private final int[] ranks;
+    private final int[] upOffsets, upTargets, upMiddles;
+    private final long[] upWeights;
+    private final int[] downOffsets, downSources, downMiddles;
+    private final long[] downWeights;
+
+    private ContractionHierarchy(int n, int[] ranks, int[] upOffsets, int[] upTargets, long[] upWeights,
+                                 int[] upMiddles, int[] downOffsets, int[] downSources, long[] downWeights,
+                                 int[] downMiddles){
+        this.n = n;
+        this.ranks = ranks;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+    }
+
+    public static ContractionHierarchy build(GraphStore graph){
+        return new Contraction(graph).run();
+    }
+
+    public int verticesCount(){
+        return n;
+    }
+
+    public int rank(int vertex){
+        return ranks[vertex];
+    }
+
+    public int arcsCount(){
+        return upTargets.length+downSources.length;
+    }
+
+    public Query newQuery(){
+        return new Query();
+    }
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))){
+            write(out);
+        }
+    }
+
+    public static ContractionHierarchy load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))){
+            return read(in);
+        }
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(n);
+        writeInts(out, ranks);
+        writeInts(out, upOffsets);
+        writeInts(out, upTargets);
+        writeLongs(out, upWeights);
+        writeInts(out, upMiddles);
+        writeInts(out, downOffsets);
+        writeInts(out, downSources);
+        writeLongs(out, downWeights);
+        writeInts(out, downMiddles);
+    }
+
+    static ContractionHierarchy read(DataInputStream in) throws IOException {
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Not a contraction hierarchy file"),
+                in.readInt() == MAGIC
+        );
+        int n = in.readInt();
+        int[] ranks = readInts(in), upOffsets = readInts(in), upTargets = readInts(in);
+        long[] upWeights = readLongs(in);
+        int[] upMiddles = readInts(in), downOffsets = readInts(in), downSources = readInts(in);
+        long[] downWeights = readLongs(in);
+        int[] downMiddles = readInts(in);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Corrupted contraction hierarchy file"),
+                ranks.length == n && upOffsets.length == n+1 && downOffsets.length == n+1
+                        && upTargets.length == upWeights.length && upTargets.length == upMiddles.length
+                        && downSources.length == downWeights.length && downSources.length == downMiddles.length
+        );
+        return new ContractionHierarchy(n, ranks, upOffsets, upTargets, upWeights, upMiddles,
+                downOffsets, downSources, downWeights, downMiddles);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value: values)
+            out.writeInt(value);
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value: values)
+            out.writeLong(value);
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; ++i)
+            values[i] = in.readInt();
+        return values;
+    }
+
+    private static long[] readLongs(DataInputStream in) throws IOException {
+        long[] values = new long[in.readInt()];
+        for (int i = 0; i < values.length; ++i)
+            values[i] = in.readLong();
+        return values;
+    }
+
+    private int middle(int start, int end){
+        if (ranks[start] < ranks[end]){
+            for (int e = upOffsets[start]; e < upOffsets[start+1]; ++e){
+                if (upTargets[e] == end)
+                    return upMiddles[e];
+            }
+        }
+        else {
+            for (int e = downOffsets[end]; e < downOffsets[end+1]; ++e){
+                if (downSources[e] == start)
+                    return downMiddles[e];
+            }
+        }
+        throw new IllegalStateException("Missing arc in the contraction hierarchy");
+    }
+
+    private long weight(int start, int end){
+        if (ranks[start] < ranks[end]){
+            for (int e = upOffsets[start]; e < upOffsets[start+1]; ++e){
+                if (upTargets[e] == end)
+                    return upWeights[e];
+            }
+        }
+        else {
+            for (int e = downOffsets[end]; e < downOffsets[end+1]; ++e){
+                if (downSources[e] == start)
+                    return downWeights[e];
+            }
+        }
+        throw new IllegalStateException("Missing arc in the contraction hierarchy");
+    }
+
+    public final class Query {
+        private final Side forward = new Side(upOffsets, upTargets, upWeights, downOffsets, downSources, downWeights),
+                backward = new Side(downOffsets, downSources, downWeights, upOffsets, upTargets, upWeights);
+        private int epoch = 0, meeting = NO_PARENT, settled = 0;
+
+        private Query(){}
+
+        public long distance(int source, int target){
+            checkVertex(source);
+            checkVertex(target);
+            ++epoch;
+            settled = 0;
+            meeting = NO_PARENT;
+            forward.start(source);
+            backward.start(target);
+            long best = UNREACHABLE;
+            while (true){
+                boolean forwardActive = !forward.heap.isEmpty() && forward.heap.minKey() < best;
+                boolean backwardActive = !backward.heap.isEmpty() && backward.heap.minKey() < best;
+                if (!forwardActive && !backwardActive)
+                    break;
+                Side side = !backwardActive || forwardActive && forward.heap.minKey() <= backward.heap.minKey()
+                        ? forward : backward;
+                Side other = side == forward ? backward : forward;
+                int current = side.settle();
+                ++settled;
+                if (other.reached(current) && side.distances[current]+other.distances[current] < best){
+                    best = side.distances[current]+other.distances[current];
+                    meeting = current;
+                }
+            }
+            return best;
+        }
+
+        public Optional<ShortestPath> path(int source, int target){
+            long distance = distance(source, target);
+            if (distance == UNREACHABLE)
+                return Optional.empty();
+            int[] up = new int[16];
+            int upLength = 0;
+            for (int v = meeting; v != NO_PARENT; v = forward.parents[v]){
+                if (upLength == up.length)
+                    up = Arrays.copyOf(up, 2*upLength);
+                up[upLength++] = v;
+            }
+            int[] hops = new int[16];
+            int hopsLength = 0;
+            for (int i = upLength-1; i >= 0; --i){
+                if (hopsLength == hops.length)
+                    hops = Arrays.copyOf(hops, 2*hopsLength);
+                hops[hopsLength++] = up[i];
+            }
+            for (int v = backward.parents[meeting]; v != NO_PARENT; v = backward.parents[v]){
+                if (hopsLength == hops.length)
+                    hops = Arrays.copyOf(hops, 2*hopsLength);
+                hops[hopsLength++] = v;
+            }
+            return Optional.of(unpack(hops, hopsLength, settled));
+        }
+
+        private void checkVertex(int vertex){
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Vertex id "+vertex+" is not in the hierarchy"),
+                    vertex >= 0 && vertex < n
+            );
+        }
+
+        private final class Side {
+            private final int[] offsets, neighbours, stallOffsets, stallNeighbours;
+            private final long[] weights, stallWeights;
+            private final long[] distances = new long[n];
+            private final int[] parents = new int[n], stamps = new int[n];
+            private final LongHeap heap = new LongHeap(n);
+
+            private Side(int[] offsets, int[] neighbours, long[] weights,
+                         int[] stallOffsets, int[] stallNeighbours, long[] stallWeights){
+                this.offsets = offsets;
+                this.neighbours = neighbours;
+                this.weights = weights;
+                this.stallOffsets = stallOffsets;
+                this.stallNeighbours = stallNeighbours;
+                this.stallWeights = stallWeights;
+            }
+
+            private void start(int origin){
+                heap.clear();
+                touch(origin, 0, NO_PARENT);
+            }
+
+            private boolean reached(int vertex){
+                return stamps[vertex] == epoch;
+            }
+
+            private void touch(int vertex, long distance, int parent){
+                stamps[vertex] = epoch;
+                distances[vertex] = distance;
+                parents[vertex] = parent;
+                heap.push(vertex, distance);
+            }
+
+            private int settle(){
+                int current = heap.poll();
+                if (stalled(current))
+                    return current;
+                for (int e = offsets[current]; e < offsets[current+1]; ++e){
+                    int next = neighbours[e];
+                    long distance = distances[current]+weights[e];
+                    if (!reached(next) || distance < distances[next])
+                        touch(next, distance, current);
+                }
+                return current;
+            }
+
+            private boolean stalled(int vertex){
+                for (int e = stallOffsets[vertex]; e < stallOffsets[vertex+1]; ++e){
+                    int higher = stallNeighbours[e];
+                    if (reached(higher) && distances[higher]+stallWeights[e] < distances[vertex])
+                        return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    private ShortestPath unpack(int[] hops, int hopsLength, int settled){
+        int[] vertices = new int[16];
+        long[] distances = new long[16];
+        vertices[0] = hops[0];
+        int length = 1;
+        int[] stack = new int[16];
+        for (int i = 1; i < hopsLength; ++i){
+            int top = 0;
+            stack[top++] = hops[i-1];
+            stack[top++] = hops[i];
+            while (top > 0){
+                int end = stack[--top], start = stack[--top];
+                int middle = middle(start, end);
+                if (middle == NO_MIDDLE){
+                    if (length == vertices.length){
+                        vertices = Arrays.copyOf(vertices, 2*length);
+                        distances = Arrays.copyOf(distances, 2*length);
+                    }
+                    distances[length] = distances[length-1]+weight(start, end);
+                    vertices[length++] = end;
+                    continue;
+                }
+                if (top+4 > stack.length)
+                    stack = Arrays.copyOf(stack, 2*stack.length);
+                stack[top++] = middle;
+                stack[top++] = end;
+                stack[top++] = start;
+                stack[top++] = middle;
+            }
+        }
+        return new ShortestPath(Arrays.copyOf(vertices, length), Arrays.copyOf(distances, length), settled);
+    }
+
+    private static final class Arcs {
+        private int size = 0;
+        private int[] ends = new int[4], middles = new int[4];
+        private long[] weights = new long[4];
+
+        private void put(int end, long weight, int middle){
+            for (int i = 0; i < size; ++i){
+                if (ends[i] == end){
+                    if (weight < weights[i]){
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == ends.length){
+                ends = Arrays.copyOf(ends, 2*size);
+                middles = Arrays.copyOf(middles, 2*size);
+                weights = Arrays.copyOf(weights, 2*size);
+            }
+            ends[size] = end;
+            weights[size] = weight;
+            middles[size++] = middle;
+        }
+
+        private void remove(int end){
+            for (int i = 0; i < size; ++i){
+                if (ends[i] == end){
+                    --size;
+                    ends[i] = ends[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Contraction {
+        private final int n;
+        private final Arcs[] out, in;
+        private final boolean[] contracted;
+        private final int[] ranks, deletedNeighbours, levels;
+        private final LongHeap order;
+        private final LongHeap witnessHeap;
+        private final long[] witnessDistances;
+        private final int[] witnessStamps, witnessTargets;
+        private int witnessEpoch = 0;
+
+        private Contraction(GraphStore graph){
+            n = graph.verticesCount();
+            out = new Arcs[n];
+            in = new Arcs[n];
+            for (int v = 0; v < n; ++v){
+                out[v] = new Arcs();
+                in[v] = new Arcs();
+            }
+            EdgeCursor cursor = graph.outCursor();
+            for (int v = 0; v < n; ++v){
+                for (cursor.at(v); cursor.next(); ){
+                    int w = cursor.neighbour();
+                    Assertions.assertThat(
+                            () -> new IllegalArgumentException("Contraction hierarchies require non negative weights"),
+                            cursor.weight() >= 0
+                    );
+                    if (w == v)
+                        continue;
+                    out[v].put(w, cursor.weight(), NO_MIDDLE);
+                    in[w].put(v, cursor.weight(), NO_MIDDLE);
+                }
+            }
+            contracted = new boolean[n];
+            ranks = new int[n];
+            deletedNeighbours = new int[n];
+            levels = new int[n];
+            order = new LongHeap(n);
+            witnessHeap = new LongHeap(n);
+            witnessDistances = new long[n];
+            witnessStamps = new int[n];
+            witnessTargets = new int[n];
+        }
+
+        private ContractionHierarchy run(){
+            for (int v = 0; v < n; ++v)
+                order.push(v, priority(v));
+            int rank = 0;
+            while (!order.isEmpty()){
+                int v = order.poll();
+                long priority = priority(v);
+                if (!order.isEmpty() && priority > order.minKey()){
+                    order.push(v, priority);
+                    continue;
+                }
+                contract(v, true);
+                contracted[v] = true;
+                ranks[v] = rank++;
+                for (int i = 0; i < out[v].size; ++i)
+                    in[out[v].ends[i]].remove(v);
+                for (int i = 0; i < in[v].size; ++i)
+                    out[in[v].ends[i]].remove(v);
+                updateNeighbours(v, out[v]);
+                updateNeighbours(v, in[v]);
+            }
+            return assemble();
+        }
+
+        private void updateNeighbours(int v, Arcs arcs){
+            for (int i = 0; i < arcs.size; ++i){
+                int neighbour = arcs.ends[i];
+                ++deletedNeighbours[neighbour];
+                levels[neighbour] = Math.max(levels[neighbour], levels[v]+1);
+                order.update(neighbour, priority(neighbour));
+            }
+        }
+
+        private long priority(int v){
+            long edgeDifference = contract(v, false)-(long) out[v].size-in[v].size;
+            return 2*edgeDifference+deletedNeighbours[v]+levels[v];
+        }
+
+        private int contract(int v, boolean apply){
+            Arcs incoming = in[v], outgoing = out[v];
+            int shortcuts = 0;
+            for (int i = 0; i < incoming.size; ++i){
+                int u = incoming.ends[i];
+                ++witnessEpoch;
+                long limit = 0;
+                int targets = 0;
+                for (int j = 0; j < outgoing.size; ++j){
+                    int w = outgoing.ends[j];
+                    if (w == u)
+                        continue;
+                    limit = Math.max(limit, incoming.weights[i]+outgoing.weights[j]);
+                    witnessTargets[w] = witnessEpoch;
+                    ++targets;
+                }
+                witnessSearch(u, v, limit, targets, apply ? WITNESS_SETTLED_LIMIT : SIMULATION_SETTLED_LIMIT);
+                for (int j = 0; j < outgoing.size; ++j){
+                    int w = outgoing.ends[j];
+                    if (w == u)
+                        continue;
+                    long through = incoming.weights[i]+outgoing.weights[j];
+                    if (witnessStamps[w] == witnessEpoch && witnessDistances[w] <= through)
+                        continue;
+                    ++shortcuts;
+                    if (apply){
+                        out[u].put(w, through, v);
+                        in[w].put(u, through, v);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        private void witnessSearch(int source, int excluded, long limit, int targets, int settledLimit){
+            witnessHeap.clear();
+            witnessStamps[source] = witnessEpoch;
+            witnessDistances[source] = 0;
+            witnessHeap.push(source, 0);
+            for (int settled = 0; !witnessHeap.isEmpty() && targets > 0 && settled < settledLimit; ++settled){
+                if (witnessHeap.minKey() > limit)
+                    break;
+                int current = witnessHeap.poll();
+                if (witnessTargets[current] == witnessEpoch)
+                    --targets;
+                Arcs arcs = out[current];
+                for (int i = 0; i < arcs.size; ++i){
+                    int next = arcs.ends[i];
+                    if (next == excluded)
+                        continue;
+                    long distance = witnessDistances[current]+arcs.weights[i];
+                    if (witnessStamps[next] != witnessEpoch || distance < witnessDistances[next]){
+                        witnessStamps[next] = witnessEpoch;
+                        witnessDistances[next] = distance;
+                        witnessHeap.push(next, distance);
+                    }
+                }
+            }
+        }
+
+        private ContractionHierarchy assemble(){
+            int[] upOffsets = new int[n+1], downOffsets = new int[n+1];
+            for (int v = 0; v < n; ++v){
+                upOffsets[v+1] = upOffsets[v]+out[v].size;
+                downOffsets[v+1] = downOffsets[v]+in[v].size;
+            }
+            int[] upTargets = new int[upOffsets[n]], upMiddles = new int[upOffsets[n]];
+            long[] upWeights = new long[upOffsets[n]];
+            int[] downSources = new int[downOffsets[n]], downMiddles = new int[downOffsets[n]];
+            long[] downWeights = new long[downOffsets[n]];
+            for (int v = 0; v < n; ++v){
+                System.arraycopy(out[v].ends, 0, upTargets, upOffsets[v], out[v].size);
+                System.arraycopy(out[v].weights, 0, upWeights, upOffsets[v], out[v].size);
+                System.arraycopy(out[v].middles, 0, upMiddles, upOffsets[v], out[v].size);
+                System.arraycopy(in[v].ends, 0, downSources, downOffsets[v], in[v].size);
+                System.arraycopy(in[v].weights, 0, downWeights, downOffsets[v], in[v].size);
+                System.arraycopy(in[v].middles, 0, downMiddles, downOffsets[v], in[v].size);
+            }
+            return new ContractionHierarchy(n, ranks, upOffsets, upTargets, upWeights, upMiddles,
+                    downOffsets, downSources, downWeights, downMiddles);
+        }
+    }
+
+}
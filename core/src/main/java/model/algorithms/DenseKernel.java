@@ -0,0 +1,15 @@
+package model.algorithms;
+
+interface DenseKernel {
+
+    void minPlusRow(int[] distances, int row, int pivotRow, int through, int n);
+
+    void or(long[] target, long[] bits, int offset, int words);
+
+    boolean advance(long[] next, long[] visited, int words);
+
+    int argMin(int[] keys, int n);
+
+    void relax(int[] keys, int[] parents, int[] closed, int[] costs, int row, int parent, int n);
+
+}
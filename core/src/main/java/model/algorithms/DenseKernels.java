@@ -0,0 +1,171 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.spi.EdgeCursor;
+import model.spi.MatrixStore;
+
+import java.util.Arrays;
+
+import static model.algorithms.Algorithms.NO_PARENT;
+import static model.algorithms.Algorithms.UNREACHABLE;
+import static model.algorithms.Algorithms.UNREACHED;
+import static model.algorithms.Algorithms.checkVertex;
+
+public final class DenseKernels {
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final int INFINITY = Integer.MAX_VALUE/2, UNREACHED_BOUND = INFINITY/2, MAX_DISTANCE = INFINITY/4;
+    private static final int NO_EDGE = Integer.MAX_VALUE;
+    private static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    private static final DenseKernel SCALAR = new ScalarKernel();
+
+    public enum Mode {SCALAR, VECTOR}
+
+    private DenseKernels(){}
+
+    public static boolean isVectorAvailable(){
+        return VECTOR_AVAILABLE;
+    }
+
+    public static Mode defaultMode(){
+        return VECTOR_AVAILABLE ? Mode.VECTOR : Mode.SCALAR;
+    }
+
+    public static boolean floydWarshall(MatrixStore graph, long[] distances){
+        return floydWarshall(graph, distances, defaultMode());
+    }
+
+    public static boolean floydWarshall(MatrixStore graph, long[] distances, Mode mode){
+        DenseKernel kernel = kernel(mode);
+        int n = graph.verticesCount();
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Distances must hold "+n+"x"+n+" entries"),
+                distances.length == n*n
+        );
+        int[] matrix = new int[n*n];
+        Arrays.fill(matrix, INFINITY);
+        for (int v = 0; v < n; ++v)
+            matrix[v*n+v] = 0;
+        long largest = 0;
+        EdgeCursor cursor = graph.outCursor();
+        for (int v = 0; v < n; ++v){
+            for (cursor.at(v); cursor.next(); ){
+                int w = cursor.neighbour(), weight = cursor.weight();
+                matrix[v*n+w] = Math.min(matrix[v*n+w], weight);
+                largest = Math.max(largest, Math.abs((long) weight));
+            }
+        }
+        long bound = largest*Math.max(1, n-1);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Path lengths up to "+bound+" do not fit the dense kernels"),
+                bound < MAX_DISTANCE
+        );
+        for (int k = 0; k < n; ++k){
+            int pivotRow = k*n;
+            for (int i = 0; i < n; ++i){
+                int through = matrix[i*n+k];
+                if (through < UNREACHED_BOUND)
+                    kernel.minPlusRow(matrix, i*n, pivotRow, through, n);
+            }
+            for (int i = 0; i < n; ++i){
+                if (matrix[i*n+i] < 0)
+                    return false;
+            }
+        }
+        for (int e = 0; e < matrix.length; ++e)
+            distances[e] = matrix[e] < UNREACHED_BOUND ? matrix[e] : UNREACHABLE;
+        return true;
+    }
+
+    public static void breathFirstSearch(MatrixStore graph, int source, int[] distances){
+        breathFirstSearch(graph, source, distances, Mode.SCALAR);
+    }
+
+    public static void breathFirstSearch(MatrixStore graph, int source, int[] distances, Mode mode){
+        DenseKernel kernel = kernel(mode);
+        checkVertex(graph, source);
+        int n = graph.verticesCount(), words = (n+63) >>> 6;
+        long[] rows = new long[n*words];
+        for (int v = 0; v < n; ++v){
+            long[] row = graph.row(v).toLongArray();
+            System.arraycopy(row, 0, rows, v*words, row.length);
+        }
+        Arrays.fill(distances, UNREACHED);
+        distances[source] = 0;
+        long[] frontier = new long[words], next = new long[words], visited = new long[words];
+        frontier[source >>> 6] = visited[source >>> 6] = 1L << source;
+        for (int level = 1; ; ++level){
+            for (int w = 0; w < words; ++w){
+                for (long bits = frontier[w]; bits != 0; bits &= bits-1)
+                    kernel.or(next, rows, ((w << 6)+Long.numberOfTrailingZeros(bits))*words, words);
+            }
+            if (!kernel.advance(next, visited, words))
+                return;
+            for (int w = 0; w < words; ++w){
+                for (long bits = next[w]; bits != 0; bits &= bits-1)
+                    distances[(w << 6)+Long.numberOfTrailingZeros(bits)] = level;
+            }
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+            Arrays.fill(next, 0);
+        }
+    }
+
+    public static long prim(MatrixStore graph, int[] parents){
+        return prim(graph, parents, Mode.SCALAR);
+    }
+
+    public static long prim(MatrixStore graph, int[] parents, Mode mode){
+        DenseKernel kernel = kernel(mode);
+        int n = graph.verticesCount();
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Parents must hold "+n+" entries"),
+                parents.length == n
+        );
+        int[] costs = new int[n*n];
+        Arrays.fill(costs, NO_EDGE);
+        EdgeCursor cursor = graph.outCursor();
+        for (int v = 0; v < n; ++v){
+            for (cursor.at(v); cursor.next(); ){
+                int w = cursor.neighbour();
+                if (w != v){
+                    costs[v*n+w] = Math.min(costs[v*n+w], cursor.weight());
+                    costs[w*n+v] = Math.min(costs[w*n+v], cursor.weight());
+                }
+            }
+        }
+        int[] keys = new int[n], closed = new int[n];
+        Arrays.fill(keys, NO_EDGE);
+        Arrays.fill(parents, NO_PARENT);
+        long weight = 0;
+        int nextRoot = 0;
+        for (int added = 0; added < n; ++added){
+            int u = kernel.argMin(keys, n);
+            if (keys[u] == NO_EDGE){
+                while (closed[nextRoot] != 0)
+                    ++nextRoot;
+                u = nextRoot;
+            } else
+                weight += keys[u];
+            closed[u] = -1;
+            keys[u] = NO_EDGE;
+            kernel.relax(keys, parents, closed, costs, u*n, u, n);
+        }
+        return weight;
+    }
+
+    private static DenseKernel kernel(Mode mode){
+        if (mode == Mode.SCALAR)
+            return SCALAR;
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Vector kernels need --add-modules "+VECTOR_MODULE),
+                VECTOR_AVAILABLE
+        );
+        return Vectorized.KERNEL;
+    }
+
+    private static final class Vectorized {
+        private static final DenseKernel KERNEL = new VectorKernel();
+    }
+
+}
@@ -0,0 +1,131 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.Vertex;
+
+import java.util.*;
+
+public final class EventBuffer implements EventRecorder {
+    private static final EventType[] TYPES = EventType.values();
+    private static final int NO_VERTEX = -1;
+
+    private final int mask;
+    private final byte[] types;
+    private final int[] data;
+    private final List<Vertex> vertices = new ArrayList<>();
+    private final Map<Vertex, Integer> ids = new HashMap<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private int[] references = new int[16];
+    private long written = 0;
+
+    public EventBuffer(int capacity){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Capacity must be a positive power of two"),
+                capacity > 0 && Integer.bitCount(capacity) == 1
+        );
+        this.mask = capacity-1;
+        this.types = new byte[capacity];
+        this.data = new int[3*capacity];
+    }
+
+    @Override
+    public void record(EventType type, Vertex from, Vertex to, int value){
+        int slot = (int)(written & mask);
+        if (written > mask){
+            release(data[3*slot]);
+            release(data[3*slot+1]);
+        }
+        types[slot] = (byte) type.ordinal();
+        data[3*slot] = idOf(from);
+        data[3*slot+1] = idOf(to);
+        data[3*slot+2] = value;
+        ++written;
+    }
+
+    private int idOf(Vertex vertex){
+        if (vertex == null)
+            return NO_VERTEX;
+        Integer id = ids.get(vertex);
+        if (id == null){
+            id = freeIds.isEmpty() ? vertices.size() : freeIds.pop();
+            ids.put(vertex, id);
+            if (id == vertices.size())
+                vertices.add(vertex);
+            else
+                vertices.set(id, vertex);
+            if (id == references.length)
+                references = Arrays.copyOf(references, 2*references.length);
+        }
+        ++references[id];
+        return id;
+    }
+
+    private void release(int id){
+        if (id == NO_VERTEX || --references[id] > 0)
+            return;
+        ids.remove(vertices.get(id));
+        vertices.set(id, null);
+        freeIds.push(id);
+    }
+
+    public int capacity(){
+        return mask+1;
+    }
+
+    public int size(){
+        return (int) Math.min(written, capacity());
+    }
+
+    public long dropped(){
+        return written-size();
+    }
+
+    public boolean isTruncated(){
+        return written > capacity();
+    }
+
+    public boolean isEmpty(){
+        return written == 0;
+    }
+
+    public EventType type(int index){
+        return TYPES[types[slot(index)]];
+    }
+
+    public int from(int index){
+        return data[3*slot(index)];
+    }
+
+    public int to(int index){
+        return data[3*slot(index)+1];
+    }
+
+    public int value(int index){
+        return data[3*slot(index)+2];
+    }
+
+    public Vertex vertex(int id){
+        return vertices.get(id);
+    }
+
+    public int vertexCount(){
+        return vertices.size();
+    }
+
+    public void clear(){
+        written = 0;
+        vertices.clear();
+        ids.clear();
+        freeIds.clear();
+        Arrays.fill(references, 0);
+    }
+
+    private int slot(int index){
+        Assertions.assertThat(
+                () -> new IndexOutOfBoundsException("No recorded event at index "+index),
+                index >= 0 && index < size()
+        );
+        return (int)((written-size()+index) & mask);
+    }
+
+}
@@ -0,0 +1,11 @@
+package model.algorithms;
+
+import model.Vertex;
+
+@FunctionalInterface
+public interface EventRecorder {
+    EventRecorder NONE = (type, from, to, value) -> {};
+
+    void record(EventType type, Vertex from, Vertex to, int value);
+
+}
@@ -0,0 +1,5 @@
+package model.algorithms;
+
+public enum EventType {
+    VISIT, RELAX, TREE_EDGE, AUGMENT
+}
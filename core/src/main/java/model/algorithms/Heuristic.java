@@ -0,0 +1,9 @@
+package model.algorithms;
+
+@FunctionalInterface
+public interface Heuristic {
+    Heuristic NONE = vertex -> 0;
+
+    long estimate(int vertex);
+
+}
@@ -0,0 +1,9 @@
+package model.algorithms;
+
+@FunctionalInterface
+public interface IdEventRecorder {
+    IdEventRecorder NONE = (type, from, to, value) -> {};
+
+    void record(EventType type, int from, int to, int value);
+
+}
@@ -0,0 +1,40 @@
+package model.algorithms;
+
+final class IntDisjointSet {
+    private final int[] parents, ranks;
+
+    IntDisjointSet(int size){
+        parents = new int[size];
+        ranks = new int[size];
+        for (int i = 0; i < size; ++i)
+            parents[i] = i;
+    }
+
+    int find(int elem){
+        int root = elem;
+        while (parents[root] != root)
+            root = parents[root];
+        while (parents[elem] != root){
+            int next = parents[elem];
+            parents[elem] = root;
+            elem = next;
+        }
+        return root;
+    }
+
+    boolean union(int first, int second){
+        int firstRoot = find(first), secondRoot = find(second);
+        if (firstRoot == secondRoot)
+            return false;
+        if (ranks[firstRoot] < ranks[secondRoot]){
+            int tmp = firstRoot;
+            firstRoot = secondRoot;
+            secondRoot = tmp;
+        }
+        parents[secondRoot] = firstRoot;
+        if (ranks[firstRoot] == ranks[secondRoot])
+            ++ranks[firstRoot];
+        return true;
+    }
+
+}
@@ -0,0 +1,98 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.spi.CsrStore;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static model.algorithms.Algorithms.NO_PARENT;
+import static model.algorithms.Algorithms.UNREACHABLE;
+import static model.algorithms.Algorithms.checkVertex;
+
+public final class Johnson {
+    private final long[] potentials;
+    private final CsrStore reweighted;
+    private final LongHeap heap;
+    private final boolean[] settled;
+
+    private Johnson(long[] potentials, CsrStore reweighted){
+        this.potentials = potentials;
+        this.reweighted = reweighted;
+        heap = new LongHeap(potentials.length);
+        settled = new boolean[potentials.length];
+    }
+
+    public static Optional<Johnson> of(GraphStore graph){
+        int n = graph.verticesCount();
+        long[] potentials = new long[n];
+        if (Algorithms.relaxFromVirtualSource(graph, potentials, new int[n]) != NO_PARENT)
+            return Optional.empty();
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Too many edges for an in-memory reweighted graph"),
+                graph.edgesCount() < Integer.MAX_VALUE
+        );
+        int m = (int) graph.edgesCount();
+        int[] starts = new int[m], ends = new int[m], weights = new int[m];
+        EdgeCursor cursor = graph.outCursor();
+        int e = 0;
+        for (int v = 0; v < n; ++v){
+            for (cursor.at(v); cursor.next(); ++e){
+                long weight = cursor.weight()+potentials[v]-potentials[cursor.neighbour()];
+                Assertions.assertThat(
+                        () -> new IllegalArgumentException("Reweighted edge does not fit an int weight"),
+                        weight <= Integer.MAX_VALUE
+                );
+                starts[e] = v;
+                ends[e] = cursor.neighbour();
+                weights[e] = (int) weight;
+            }
+        }
+        return Optional.of(new Johnson(potentials, CsrStore.of(n, starts, ends, weights)));
+    }
+
+    public long potential(int vertex){
+        return potentials[vertex];
+    }
+
+    public CsrStore reweighted(){
+        return reweighted;
+    }
+
+    public void distancesFrom(int source, long[] distances){
+        checkVertex(reweighted, source);
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(settled, false);
+        heap.clear();
+        distances[source] = 0;
+        heap.push(source, 0);
+        EdgeCursor cursor = reweighted.outCursor();
+        while (!heap.isEmpty()){
+            int v = heap.poll();
+            settled[v] = true;
+            for (cursor.at(v); cursor.next(); ){
+                int w = cursor.neighbour();
+                long distance = distances[v]+cursor.weight();
+                if (!settled[w] && distance < distances[w]){
+                    distances[w] = distance;
+                    heap.push(w, distance);
+                }
+            }
+        }
+        for (int v = 0; v < distances.length; ++v){
+            if (distances[v] != UNREACHABLE)
+                distances[v] += potentials[v]-potentials[source];
+        }
+    }
+
+    public long[][] allPairs(){
+        int n = potentials.length;
+        long[][] distances = new long[n][n];
+        for (int source = 0; source < n; ++source)
+            distancesFrom(source, distances[source]);
+        return distances;
+    }
+
+}
@@ -0,0 +1,119 @@
+package model.algorithms;
+
+import java.util.Arrays;
+
+final class LongHeap {
+    private static final int ABSENT = -1;
+
+    private final int[] heap, positions;
+    private final long[] keys;
+    private int size = 0;
+
+    LongHeap(int capacity){
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    int size(){
+        return size;
+    }
+
+    boolean contains(int elem){
+        return positions[elem] != ABSENT;
+    }
+
+    long key(int elem){
+        return keys[elem];
+    }
+
+    long minKey(){
+        return keys[heap[0]];
+    }
+
+    int peek(){
+        return heap[0];
+    }
+
+    void push(int elem, long key){
+        if (positions[elem] == ABSENT){
+            heap[size] = elem;
+            positions[elem] = size++;
+            keys[elem] = key;
+            siftUp(positions[elem]);
+        }
+        else if (key < keys[elem]){
+            keys[elem] = key;
+            siftUp(positions[elem]);
+        }
+    }
+
+    void update(int elem, long key){
+        if (positions[elem] == ABSENT){
+            push(elem, key);
+            return;
+        }
+        long previous = keys[elem];
+        keys[elem] = key;
+        if (key < previous)
+            siftUp(positions[elem]);
+        else
+            siftDown(positions[elem]);
+    }
+
+    int poll(){
+        int min = heap[0];
+        positions[min] = ABSENT;
+        if (--size > 0){
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    void clear(){
+        for (int i = 0; i < size; ++i)
+            positions[heap[i]] = ABSENT;
+        size = 0;
+    }
+
+    private void siftUp(int position){
+        int elem = heap[position];
+        while (position > 0){
+            int parent = (position-1) >>> 1;
+            if (keys[heap[parent]] <= keys[elem])
+                break;
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(elem, position);
+    }
+
+    private void siftDown(int position){
+        int elem = heap[position];
+        while (true){
+            int child = 2*position+1;
+            if (child >= size)
+                break;
+            if (child+1 < size && keys[heap[child+1]] < keys[heap[child]])
+                ++child;
+            if (keys[heap[child]] >= keys[elem])
+                break;
+            move(heap[child], position);
+            position = child;
+        }
+        move(elem, position);
+    }
+
+    private void move(int elem, int position){
+        heap[position] = elem;
+        positions[elem] = position;
+    }
+
+}
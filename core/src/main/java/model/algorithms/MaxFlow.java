@@ -0,0 +1,272 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+import model.spi.EdgeVisitor;
+import model.spi.GraphStore;
+import model.spi.IndexedGraph;
+
+import java.util.*;
+
+import static model.algorithms.Algorithms.checkVertex;
+import static model.algorithms.Algorithms.ids;
+
+public final class MaxFlow {
+    private static final int NONE = -1;
+    private static final int GLOBAL_RELABEL_FACTOR = 6, RELABEL_WORK = 12;
+
+    public enum Selection {
+        HIGHEST_LABEL, FIFO
+    }
+
+    private MaxFlow(){}
+
+    public static Set<Edge> pushRelabel(Graph originalGraph, Vertex sourceArg, Vertex sinkArg){
+        return pushRelabel(originalGraph, sourceArg, sinkArg, Selection.HIGHEST_LABEL, EventRecorder.NONE);
+    }
+
+    public static Set<Edge> pushRelabel(Graph originalGraph, Vertex sourceArg, Vertex sinkArg, Selection selection,
+                                        EventRecorder recorder){
+        IndexedGraph index = IndexedGraph.of(originalGraph);
+        for (Edge edge: originalGraph.getEdges())
+            edge.setUsedWeight(0);
+        boolean[] sourceSide = new boolean[index.verticesCount()];
+        long flow = pushRelabel(index, index.id(sourceArg), index.id(sinkArg), selection,
+                (edge, start, end, value) -> index.edge(edge).setUsedWeight(value), sourceSide, ids(index, recorder));
+        sourceArg.setProperty("Flow to "+sinkArg.getName(), flow);
+        Set<Edge> cut = new HashSet<>();
+        for (Edge edge: originalGraph.getEdges())
+            if (sourceSide[index.id(edge.getStart())] && !sourceSide[index.id(edge.getEnd())])
+                cut.add(edge);
+        return cut;
+    }
+
+    public static long pushRelabel(GraphStore graph, int source, int sink, Selection selection, EdgeVisitor edgeFlows,
+                                   boolean[] sourceSide, IdEventRecorder recorder){
+        checkVertex(graph, source);
+        checkVertex(graph, sink);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Too many edges for an in-memory residual graph"),
+                graph.edgesCount() < Integer.MAX_VALUE/2
+        );
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("The source side array must have one slot per vertex"),
+                sourceSide.length == graph.verticesCount()
+        );
+        Arrays.fill(sourceSide, false);
+        if (source == sink)
+            return 0;
+        Engine engine = new Engine(new ResidualGraph(graph), selection, recorder);
+        long flow = engine.run(source, sink);
+        engine.residual.forEachFlow(edgeFlows);
+        engine.globalRelabel(sink, source);
+        for (int v = 0; v < sourceSide.length; ++v)
+            sourceSide[v] = engine.labels[v] == engine.n;
+        return flow;
+    }
+
+    static long pushRelabel(ResidualGraph residual, int source, int sink, IdEventRecorder recorder){
+        return new Engine(residual, Selection.HIGHEST_LABEL, recorder).run(source, sink);
+    }
+
+    private static final class Engine {
+        private final ResidualGraph residual;
+        private final Selection selection;
+        private final IdEventRecorder recorder;
+        private final int n;
+        private final long[] excess;
+        private final int[] labels, current, bfs;
+        private final int[] listHead, listNext, listPrev;
+        private final int[] activeHead, activeNext;
+        private final boolean[] queued;
+        private int maxLabel, maxActive, queueHead, queueSize;
+        private long work;
+
+        private Engine(ResidualGraph residual, Selection selection, IdEventRecorder recorder){
+            this.residual = residual;
+            this.selection = selection;
+            this.recorder = recorder;
+            n = residual.verticesCount();
+            excess = new long[n];
+            labels = new int[n];
+            current = new int[n];
+            bfs = new int[n];
+            listHead = new int[n];
+            listNext = new int[n];
+            listPrev = new int[n];
+            activeHead = selection == Selection.HIGHEST_LABEL ? new int[n] : null;
+            activeNext = new int[n];
+            queued = new boolean[n];
+        }
+
+        private long run(int source, int sink){
+            for (int position = residual.firstPosition(source); position < residual.endPosition(source); ++position){
+                int arc = residual.arcAt(position), capacity = residual.capacity(arc);
+                if (capacity > 0 && residual.head(arc) != source)
+                    push(source, arc, capacity);
+            }
+            discharge(sink, source);
+            discharge(source, sink);
+            return excess[sink];
+        }
+
+        private void discharge(int target, int excluded){
+            globalRelabel(target, excluded);
+            long threshold = (long) GLOBAL_RELABEL_FACTOR*n+residual.edgesCount();
+            for (int v = nextActive(); v != NONE; v = nextActive()){
+                discharge(v);
+                if (work > threshold)
+                    globalRelabel(target, excluded);
+            }
+        }
+
+        private void discharge(int v){
+            int label = labels[v];
+            for (int position = current[v], end = residual.endPosition(v); position < end; ++position){
+                int arc = residual.arcAt(position), capacity = residual.capacity(arc);
+                if (capacity == 0 || labels[residual.head(arc)] != label-1)
+                    continue;
+                push(v, arc, (int) Math.min(excess[v], capacity));
+                if (excess[v] == 0){
+                    current[v] = position;
+                    return;
+                }
+            }
+            relabel(v);
+            activate(v);
+        }
+
+        private void push(int v, int arc, int amount){
+            int w = residual.head(arc), edge = arc >> 1;
+            residual.push(arc, amount);
+            excess[v] -= amount;
+            excess[w] += amount;
+            recorder.record(EventType.AUGMENT, residual.start(edge), residual.end(edge),
+                    (arc & 1) == 0 ? amount : -amount);
+            activate(w);
+        }
+
+        private void relabel(int v){
+            int old = labels[v], lowest = n, lowestPosition = residual.firstPosition(v);
+            for (int position = residual.firstPosition(v), end = residual.endPosition(v); position < end; ++position){
+                int arc = residual.arcAt(position);
+                if (residual.capacity(arc) > 0 && labels[residual.head(arc)]+1 < lowest){
+                    lowest = labels[residual.head(arc)]+1;
+                    lowestPosition = position;
+                }
+            }
+            work += RELABEL_WORK+residual.endPosition(v)-residual.firstPosition(v);
+            unlink(v);
+            if (listHead[old] == NONE){
+                gap(old);
+                labels[v] = n;
+                return;
+            }
+            labels[v] = lowest;
+            current[v] = lowestPosition;
+            if (lowest < n)
+                link(v);
+        }
+
+        private void gap(int emptyLabel){
+            for (int label = emptyLabel+1; label <= maxLabel; ++label){
+                for (int u = listHead[label]; u != NONE; u = listNext[u])
+                    labels[u] = n;
+                listHead[label] = NONE;
+            }
+            maxLabel = emptyLabel-1;
+        }
+
+        private void globalRelabel(int target, int excluded){
+            work = 0;
+            Arrays.fill(labels, n);
+            Arrays.fill(listHead, NONE);
+            Arrays.fill(queued, false);
+            if (activeHead != null)
+                Arrays.fill(activeHead, NONE);
+            maxLabel = maxActive = 0;
+            queueHead = queueSize = 0;
+            labels[target] = 0;
+            int first = 0, last = 0;
+            bfs[last++] = target;
+            while (first < last){
+                int w = bfs[first++];
+                link(w);
+                for (int position = residual.firstPosition(w); position < residual.endPosition(w); ++position){
+                    int arc = residual.arcAt(position), u = residual.head(arc);
+                    if (labels[u] == n && u != excluded && residual.capacity(arc ^ 1) > 0){
+                        labels[u] = labels[w]+1;
+                        bfs[last++] = u;
+                    }
+                }
+            }
+            for (int i = 0; i < last; ++i){
+                int v = bfs[i];
+                current[v] = residual.firstPosition(v);
+                if (v != target)
+                    activate(v);
+            }
+        }
+
+        private void activate(int v){
+            if (queued[v] || excess[v] <= 0 || labels[v] >= n || labels[v] == 0)
+                return;
+            queued[v] = true;
+            if (activeHead == null){
+                activeNext[(queueHead+queueSize++)%n] = v;
+                return;
+            }
+            activeNext[v] = activeHead[labels[v]];
+            activeHead[labels[v]] = v;
+            maxActive = Math.max(maxActive, labels[v]);
+        }
+
+        private int nextActive(){
+            if (activeHead == null){
+                while (queueSize > 0){
+                    int v = activeNext[queueHead];
+                    queueHead = (queueHead+1)%n;
+                    --queueSize;
+                    queued[v] = false;
+                    if (labels[v] < n && excess[v] > 0)
+                        return v;
+                }
+                return NONE;
+            }
+            while (maxActive > 0){
+                int v = activeHead[maxActive];
+                if (v == NONE){
+                    --maxActive;
+                    continue;
+                }
+                activeHead[maxActive] = activeNext[v];
+                queued[v] = false;
+                if (labels[v] == maxActive && excess[v] > 0)
+                    return v;
+            }
+            return NONE;
+        }
+
+        private void link(int v){
+            int label = labels[v], head = listHead[label];
+            listPrev[v] = NONE;
+            listNext[v] = head;
+            if (head != NONE)
+                listPrev[head] = v;
+            listHead[label] = v;
+            maxLabel = Math.max(maxLabel, label);
+        }
+
+        private void unlink(int v){
+            if (listPrev[v] != NONE)
+                listNext[listPrev[v]] = listNext[v];
+            else
+                listHead[labels[v]] = listNext[v];
+            if (listNext[v] != NONE)
+                listPrev[listNext[v]] = listPrev[v];
+        }
+    }
+
+}
@@ -0,0 +1,341 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+import model.spi.EdgeVisitor;
+import model.spi.GraphStore;
+import model.spi.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.function.LongToIntFunction;
+
+import static model.algorithms.Algorithms.checkVertex;
+import static model.algorithms.Algorithms.ids;
+
+public final class MinCostFlow {
+    private static final int NONE = -1;
+    private static final int SCALING_FACTOR = 8;
+
+    public enum Mode {
+        SUCCESSIVE_SHORTEST_PATHS, COST_SCALING
+    }
+
+    private MinCostFlow(){}
+
+    public static Result minCostMaxFlow(Graph originalGraph, Vertex sourceArg, Vertex sinkArg){
+        return minCostMaxFlow(originalGraph, sourceArg, sinkArg, Mode.SUCCESSIVE_SHORTEST_PATHS, EventRecorder.NONE);
+    }
+
+    public static Result minCostMaxFlow(Graph originalGraph, Vertex sourceArg, Vertex sinkArg, Mode mode,
+                                        EventRecorder recorder){
+        IndexedGraph index = IndexedGraph.of(originalGraph);
+        for (Edge edge: originalGraph.getEdges())
+            edge.setUsedWeight(0);
+        Result result = minCostMaxFlow(index, edge -> index.edge(edge).getCost(), index.id(sourceArg),
+                index.id(sinkArg), mode, (edge, start, end, value) -> index.edge(edge).setUsedWeight(value),
+                ids(index, recorder));
+        sourceArg.setProperty("Flow to "+sinkArg.getName(), result.flow());
+        sourceArg.setProperty("Cost to "+sinkArg.getName(), result.cost());
+        return result;
+    }
+
+    public static Result minCostMaxFlow(GraphStore graph, LongToIntFunction costs, int source, int sink, Mode mode,
+                                        EdgeVisitor edgeFlows, IdEventRecorder recorder){
+        checkVertex(graph, source);
+        checkVertex(graph, sink);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Too many edges for an in-memory residual graph"),
+                graph.edgesCount() < Integer.MAX_VALUE/2
+        );
+        if (source == sink)
+            return new Result(0, 0);
+        ResidualGraph residual = new ResidualGraph(graph);
+        int[] edgeCosts = new int[residual.edgesCount()];
+        for (int edge = 0; edge < edgeCosts.length; ++edge){
+            int cost = costs.applyAsInt(residual.edgeId(edge));
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Costs must be non negative"),
+                    Edge.isValidCost(cost)
+            );
+            edgeCosts[edge] = cost;
+        }
+        long flow;
+        if (mode == Mode.SUCCESSIVE_SHORTEST_PATHS)
+            flow = new ShortestPaths(residual, edgeCosts, recorder).run(source, sink);
+        else {
+            flow = MaxFlow.pushRelabel(residual, source, sink, recorder);
+            new CostScaling(residual, edgeCosts, recorder).run();
+        }
+        long cost = 0;
+        for (int edge = 0; edge < edgeCosts.length; ++edge)
+            cost += (long) residual.flow(edge)*edgeCosts[edge];
+        residual.forEachFlow(edgeFlows);
+        return new Result(flow, cost);
+    }
+
+    private static long arcCost(int[] edgeCosts, int arc){
+        return (arc & 1) == 0 ? edgeCosts[arc >> 1] : -edgeCosts[arc >> 1];
+    }
+
+    private static void push(ResidualGraph residual, IdEventRecorder recorder, int arc, int amount){
+        int edge = arc >> 1;
+        residual.push(arc, amount);
+        recorder.record(EventType.AUGMENT, residual.start(edge), residual.end(edge),
+                (arc & 1) == 0 ? amount : -amount);
+    }
+
+    public static final class Result {
+        private final long flow, cost;
+
+        private Result(long flow, long cost){
+            this.flow = flow;
+            this.cost = cost;
+        }
+
+        public long flow(){
+            return flow;
+        }
+
+        public long cost(){
+            return cost;
+        }
+
+        @Override
+        public String toString(){
+            return String.format("flow %d at cost %d", flow, cost);
+        }
+    }
+
+    private static final class ShortestPaths {
+        private final ResidualGraph residual;
+        private final int[] edgeCosts;
+        private final IdEventRecorder recorder;
+        private final int n;
+        private final long[] potentials, distances;
+        private final boolean[] settled;
+        private final int[] levels, current, queue, pathArcs;
+        private final LongHeap heap;
+
+        private ShortestPaths(ResidualGraph residual, int[] edgeCosts, IdEventRecorder recorder){
+            this.residual = residual;
+            this.edgeCosts = edgeCosts;
+            this.recorder = recorder;
+            n = residual.verticesCount();
+            potentials = new long[n];
+            distances = new long[n];
+            settled = new boolean[n];
+            levels = new int[n];
+            current = new int[n];
+            queue = new int[n];
+            pathArcs = new int[n];
+            heap = new LongHeap(n);
+        }
+
+        private long run(int source, int sink){
+            long flow = 0;
+            while (dijkstra(source, sink)){
+                while (levelAdmissible(source, sink))
+                    flow += blockingFlow(source, sink);
+            }
+            return flow;
+        }
+
+        private long reducedCost(int arc){
+            return arcCost(edgeCosts, arc)+potentials[residual.tail(arc)]-potentials[residual.head(arc)];
+        }
+
+        private boolean dijkstra(int source, int sink){
+            Arrays.fill(distances, Long.MAX_VALUE);
+            Arrays.fill(settled, false);
+            heap.clear();
+            distances[source] = 0;
+            heap.push(source, 0);
+            while (!heap.isEmpty()){
+                int v = heap.poll();
+                settled[v] = true;
+                if (v == sink)
+                    break;
+                for (int position = residual.firstPosition(v); position < residual.endPosition(v); ++position){
+                    int arc = residual.arcAt(position), w = residual.head(arc);
+                    if (residual.capacity(arc) == 0 || settled[w])
+                        continue;
+                    long distance = distances[v]+reducedCost(arc);
+                    if (distance < distances[w]){
+                        distances[w] = distance;
+                        heap.push(w, distance);
+                    }
+                }
+            }
+            if (!settled[sink])
+                return false;
+            long sinkDistance = distances[sink];
+            for (int v = 0; v < n; ++v)
+                potentials[v] += settled[v] ? distances[v] : sinkDistance;
+            return true;
+        }
+
+        private boolean levelAdmissible(int source, int sink){
+            Arrays.fill(levels, NONE);
+            levels[source] = 0;
+            int first = 0, last = 0;
+            queue[last++] = source;
+            while (first < last){
+                int v = queue[first++];
+                current[v] = residual.firstPosition(v);
+                for (int position = residual.firstPosition(v); position < residual.endPosition(v); ++position){
+                    int arc = residual.arcAt(position), w = residual.head(arc);
+                    if (levels[w] == NONE && residual.capacity(arc) > 0 && reducedCost(arc) == 0){
+                        levels[w] = levels[v]+1;
+                        queue[last++] = w;
+                    }
+                }
+            }
+            return levels[sink] != NONE;
+        }
+
+        private long blockingFlow(int source, int sink){
+            long flow = 0;
+            int v = source, depth = 0;
+            while (true){
+                if (v == sink){
+                    int bottleneck = Integer.MAX_VALUE;
+                    for (int i = 0; i < depth; ++i)
+                        bottleneck = Math.min(bottleneck, residual.capacity(pathArcs[i]));
+                    for (int i = 0; i < depth; ++i)
+                        push(residual, recorder, pathArcs[i], bottleneck);
+                    flow += bottleneck;
+                    v = source;
+                    depth = 0;
+                    continue;
+                }
+                int arc = admissibleArc(v);
+                if (arc != NONE){
+                    pathArcs[depth++] = arc;
+                    v = residual.head(arc);
+                    continue;
+                }
+                levels[v] = NONE;
+                if (depth == 0)
+                    return flow;
+                v = residual.tail(pathArcs[--depth]);
+                ++current[v];
+            }
+        }
+
+        private int admissibleArc(int v){
+            for (int end = residual.endPosition(v); current[v] < end; ++current[v]){
+                int arc = residual.arcAt(current[v]), w = residual.head(arc);
+                if (residual.capacity(arc) > 0 && levels[w] == levels[v]+1 && reducedCost(arc) == 0)
+                    return arc;
+            }
+            return NONE;
+        }
+    }
+
+    private static final class CostScaling {
+        private final ResidualGraph residual;
+        private final long[] costs;
+        private final IdEventRecorder recorder;
+        private final int n;
+        private final long[] potentials, excess;
+        private final int[] current, queue;
+        private final boolean[] queued;
+        private int queueHead, queueSize;
+
+        private CostScaling(ResidualGraph residual, int[] edgeCosts, IdEventRecorder recorder){
+            this.residual = residual;
+            this.recorder = recorder;
+            n = residual.verticesCount();
+            costs = new long[edgeCosts.length];
+            for (int edge = 0; edge < costs.length; ++edge)
+                costs[edge] = (long) edgeCosts[edge]*(n+1);
+            potentials = new long[n];
+            excess = new long[n];
+            current = new int[n];
+            queue = new int[n];
+            queued = new boolean[n];
+        }
+
+        private void run(){
+            long epsilon = 0;
+            for (long cost: costs)
+                epsilon = Math.max(epsilon, cost);
+            while (epsilon > 1){
+                epsilon = Math.max(1, epsilon/SCALING_FACTOR);
+                refine(epsilon);
+            }
+        }
+
+        private long reducedCost(int arc){
+            return arcCost(arc)+potentials[residual.tail(arc)]-potentials[residual.head(arc)];
+        }
+
+        private void refine(long epsilon){
+            for (int v = 0; v < n; ++v){
+                for (int position = residual.firstPosition(v); position < residual.endPosition(v); ++position){
+                    int arc = residual.arcAt(position), capacity = residual.capacity(arc);
+                    if (capacity > 0 && reducedCost(arc) < 0)
+                        push(arc, capacity);
+                }
+            }
+            for (int v = 0; v < n; ++v){
+                current[v] = residual.firstPosition(v);
+                enqueue(v);
+            }
+            while (queueSize > 0){
+                int v = queue[queueHead];
+                queueHead = (queueHead+1)%n;
+                --queueSize;
+                queued[v] = false;
+                discharge(v, epsilon);
+            }
+        }
+
+        private void discharge(int v, long epsilon){
+            while (excess[v] > 0){
+                for (int end = residual.endPosition(v); current[v] < end; ++current[v]){
+                    int arc = residual.arcAt(current[v]), capacity = residual.capacity(arc);
+                    if (capacity == 0 || reducedCost(arc) >= 0)
+                        continue;
+                    push(arc, (int) Math.min(excess[v], capacity));
+                    if (excess[v] == 0)
+                        return;
+                }
+                relabel(v, epsilon);
+            }
+        }
+
+        private void relabel(int v, long epsilon){
+            long highest = Long.MIN_VALUE;
+            for (int position = residual.firstPosition(v); position < residual.endPosition(v); ++position){
+                int arc = residual.arcAt(position);
+                if (residual.capacity(arc) > 0)
+                    highest = Math.max(highest, potentials[residual.head(arc)]-arcCost(arc));
+            }
+            potentials[v] = highest-epsilon;
+            current[v] = residual.firstPosition(v);
+        }
+
+        private long arcCost(int arc){
+            return (arc & 1) == 0 ? costs[arc >> 1] : -costs[arc >> 1];
+        }
+
+        private void push(int arc, int amount){
+            int v = residual.tail(arc), w = residual.head(arc);
+            MinCostFlow.push(residual, recorder, arc, amount);
+            excess[v] -= amount;
+            excess[w] += amount;
+            enqueue(w);
+        }
+
+        private void enqueue(int v){
+            if (queued[v] || excess[v] <= 0)
+                return;
+            queued[v] = true;
+            queue[(queueHead+queueSize++)%n] = v;
+        }
+    }
+
+}
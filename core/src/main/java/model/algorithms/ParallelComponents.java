@@ -0,0 +1,350 @@
+package model.algorithms;
+
+import model.spi.BidirectionalStore;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static model.algorithms.ParallelLoops.filter;
+import static model.algorithms.ParallelLoops.forEach;
+
+public final class ParallelComponents {
+    private static final int NEIGHBOUR_ROUNDS = 2, SAMPLES = 1024, GRAIN = 2048, SEQUENTIAL_THRESHOLD = 1 << 14,
+            TRIM_CUTOFF = 64;
+    private static final int DONE = -1, NO_COLOR = -2, UNVISITED = -1;
+
+    private ParallelComponents(){}
+
+    public static int connectedComponents(GraphStore graph, int[] labels, ForkJoinPool pool){
+        int n = graph.verticesCount();
+        AtomicIntegerArray parents = new AtomicIntegerArray(n);
+        AtomicInteger count = new AtomicInteger();
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            forEach(n, (from, to) -> {
+                for (int v = from; v < to; ++v)
+                    parents.set(v, v);
+            });
+            for (int round = 0; round < NEIGHBOUR_ROUNDS; ++round){
+                int skip = round;
+                forEach(n, (from, to) -> {
+                    EdgeCursor cursor = graph.outCursor();
+                    for (int v = from; v < to; ++v){
+                        if (advance(cursor.at(v), skip+1))
+                            link(parents, v, cursor.neighbour());
+                    }
+                });
+                compress(parents, n);
+            }
+            int giant = graph instanceof BidirectionalStore ? mostFrequentRoot(parents, n) : NO_COLOR;
+            forEach(n, (from, to) -> {
+                EdgeCursor out = graph.outCursor();
+                EdgeCursor in = giant == NO_COLOR ? null : ((BidirectionalStore) graph).inCursor();
+                for (int v = from; v < to; ++v){
+                    if (parents.get(v) == giant)
+                        continue;
+                    for (advance(out.at(v), NEIGHBOUR_ROUNDS); out.next(); )
+                        link(parents, v, out.neighbour());
+                    if (in != null){
+                        for (in.at(v); in.next(); )
+                            link(parents, v, in.neighbour());
+                    }
+                }
+            });
+            compress(parents, n);
+            forEach(n, (from, to) -> {
+                int roots = 0;
+                for (int v = from; v < to; ++v){
+                    labels[v] = parents.get(v);
+                    if (labels[v] == v)
+                        ++roots;
+                }
+                count.addAndGet(roots);
+            });
+        }));
+        return count.get();
+    }
+
+    private static boolean advance(EdgeCursor cursor, int steps){
+        for (int i = 0; i < steps; ++i){
+            if (!cursor.next())
+                return false;
+        }
+        return true;
+    }
+
+    private static void link(AtomicIntegerArray parents, int first, int second){
+        int firstRoot = find(parents, first), secondRoot = find(parents, second);
+        while (firstRoot != secondRoot){
+            int high = Math.max(firstRoot, secondRoot), low = Math.min(firstRoot, secondRoot);
+            if (parents.compareAndSet(high, high, low))
+                return;
+            firstRoot = find(parents, high);
+            secondRoot = find(parents, low);
+        }
+    }
+
+    private static int find(AtomicIntegerArray parents, int elem){
+        int parent;
+        while ((parent = parents.get(elem)) != elem)
+            elem = parent;
+        return elem;
+    }
+
+    private static void compress(AtomicIntegerArray parents, int n){
+        forEach(n, (from, to) -> {
+            for (int v = from; v < to; ++v){
+                int parent = parents.get(v);
+                while (parent != parents.get(parent))
+                    parent = parents.get(parent);
+                parents.set(v, parent);
+            }
+        });
+    }
+
+    private static int mostFrequentRoot(AtomicIntegerArray parents, int n){
+        if (n == 0)
+            return NO_COLOR;
+        SplittableRandom random = new SplittableRandom(n);
+        Map<Integer, Integer> frequencies = new HashMap<>();
+        int best = NO_COLOR, bestFrequency = 0;
+        for (int i = 0; i < SAMPLES; ++i){
+            int root = parents.get(random.nextInt(n));
+            int frequency = frequencies.merge(root, 1, Integer::sum);
+            if (frequency > bestFrequency){
+                best = root;
+                bestFrequency = frequency;
+            }
+        }
+        return best;
+    }
+
+    public static int stronglyConnectedComponents(BidirectionalStore graph, int[] components, ForkJoinPool pool){
+        Scc scc = new Scc(graph, components);
+        pool.invoke(ForkJoinTask.adapt(scc::run));
+        return scc.nextComponent.get();
+    }
+
+    private static final class Scc {
+        private final BidirectionalStore graph;
+        private final int[] components, indices, lows;
+        private final AtomicIntegerArray colors;
+        private final AtomicInteger nextColor = new AtomicInteger(1), nextComponent = new AtomicInteger();
+
+        private Scc(BidirectionalStore graph, int[] components){
+            this.graph = graph;
+            this.components = components;
+            int n = graph.verticesCount();
+            indices = new int[n];
+            lows = new int[n];
+            colors = new AtomicIntegerArray(n);
+        }
+
+        private void run(){
+            int n = graph.verticesCount();
+            int[] remaining = filter(null, n, v -> true);
+            while (remaining.length > 0){
+                int[] current = remaining;
+                forEach(current.length, (from, to) -> {
+                    EdgeCursor out = graph.outCursor(), in = graph.inCursor();
+                    for (int i = from; i < to; ++i){
+                        int v = current[i];
+                        if (!hasLiveNeighbour(out.at(v), v) || !hasLiveNeighbour(in.at(v), v)){
+                            components[v] = nextComponent.getAndIncrement();
+                            colors.set(v, DONE);
+                        }
+                    }
+                });
+                remaining = filter(current, current.length, v -> colors.get(v) == 0);
+                if (current.length-remaining.length <= current.length/TRIM_CUTOFF)
+                    break;
+            }
+            new Partition(0, remaining).invoke();
+        }
+
+        private boolean hasLiveNeighbour(EdgeCursor cursor, int vertex){
+            while (cursor.next()){
+                int w = cursor.neighbour();
+                if (w != vertex && colors.get(w) == 0)
+                    return true;
+            }
+            return false;
+        }
+
+        private final class Partition extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final int color;
+            private final int[] vertices;
+
+            private Partition(int color, int[] vertices){
+                this.color = color;
+                this.vertices = vertices;
+            }
+
+            @Override
+            protected void compute(){
+                List<Partition> forked = new ArrayList<>();
+                int[] vertices = this.vertices;
+                int live = vertices.length;
+                while (live > SEQUENTIAL_THRESHOLD){
+                    int pivot = pivot(vertices);
+                    int forward = nextColor.getAndIncrement(), backward = nextColor.getAndIncrement();
+                    int found = nextColor.getAndIncrement();
+                    colors.set(pivot, forward);
+                    int[] reached = reach(pivot, false, live, color, forward, NO_COLOR, NO_COLOR);
+                    colors.set(pivot, found);
+                    int[] backwardReached = reach(pivot, true, live, forward, found, color, backward);
+                    int component = nextComponent.getAndIncrement();
+                    AtomicInteger size = new AtomicInteger();
+                    forEach(backwardReached.length, (from, to) -> {
+                        int members = 0;
+                        for (int i = from; i < to; ++i){
+                            if (colors.get(backwardReached[i]) == found){
+                                components[backwardReached[i]] = component;
+                                colors.set(backwardReached[i], DONE);
+                                ++members;
+                            }
+                        }
+                        size.addAndGet(members);
+                    });
+                    forked.add(fork(forward, reached));
+                    forked.add(fork(backward, backwardReached));
+                    live -= reached.length+backwardReached.length-size.get();
+                    if (2*live < vertices.length){
+                        vertices = filter(vertices, vertices.length, v -> colors.get(v) == color);
+                        live = vertices.length;
+                    }
+                }
+                tarjan(color, live == vertices.length ? vertices
+                        : filter(vertices, vertices.length, v -> colors.get(v) == color));
+                for (Partition partition: forked)
+                    partition.join();
+            }
+
+            private int pivot(int[] vertices){
+                int i = ThreadLocalRandom.current().nextInt(vertices.length);
+                while (colors.get(vertices[i]) != color)
+                    i = i+1 == vertices.length ? 0 : i+1;
+                return vertices[i];
+            }
+
+            private Partition fork(int color, int[] reached){
+                Partition partition = new Partition(color, filter(reached, reached.length, v -> colors.get(v) == color));
+                partition.fork();
+                return partition;
+            }
+        }
+
+        private int[] reach(int source, boolean incoming, int capacity,
+                            int from, int to, int alternativeFrom, int alternativeTo){
+            int[] visited = new int[capacity];
+            visited[0] = source;
+            EdgeCursor cursor = incoming ? graph.inCursor() : graph.outCursor();
+            int head = 0, tail = 1;
+            while (head < tail){
+                if (tail-head <= GRAIN){
+                    for (cursor.at(visited[head++]); cursor.next(); ){
+                        if (claim(cursor.neighbour(), from, to, alternativeFrom, alternativeTo))
+                            visited[tail++] = cursor.neighbour();
+                    }
+                    continue;
+                }
+                int levelStart = head;
+                AtomicInteger levelTail = new AtomicInteger(tail);
+                forEach(tail-head, (lo, hi) -> {
+                    EdgeCursor levelCursor = incoming ? graph.inCursor() : graph.outCursor();
+                    int[] buffer = new int[16];
+                    int length = 0;
+                    for (int i = levelStart+lo; i < levelStart+hi; ++i){
+                        for (levelCursor.at(visited[i]); levelCursor.next(); ){
+                            int w = levelCursor.neighbour();
+                            if (claim(w, from, to, alternativeFrom, alternativeTo)){
+                                if (length == buffer.length)
+                                    buffer = Arrays.copyOf(buffer, 2*length);
+                                buffer[length++] = w;
+                            }
+                        }
+                    }
+                    System.arraycopy(buffer, 0, visited, levelTail.getAndAdd(length), length);
+                });
+                head = tail;
+                tail = levelTail.get();
+            }
+            return Arrays.copyOf(visited, tail);
+        }
+
+        private boolean claim(int vertex, int from, int to, int alternativeFrom, int alternativeTo){
+            return colors.compareAndSet(vertex, from, to)
+                    || alternativeFrom != NO_COLOR && colors.compareAndSet(vertex, alternativeFrom, alternativeTo);
+        }
+
+        private void tarjan(int color, int[] vertices){
+            int m = vertices.length;
+            for (int v: vertices)
+                indices[v] = UNVISITED;
+            int[] sccStack = new int[m], frames = new int[m];
+            EdgeCursor[] cursors = new EdgeCursor[Math.min(m, 16)];
+            int counter = 0, sccTop = 0;
+            for (int root: vertices){
+                if (indices[root] != UNVISITED)
+                    continue;
+                int depth = 0;
+                frames[0] = root;
+                cursors = cursorAt(cursors, 0, root);
+                indices[root] = lows[root] = counter++;
+                sccStack[sccTop++] = root;
+                while (depth >= 0){
+                    int v = frames[depth];
+                    EdgeCursor cursor = cursors[depth];
+                    if (cursor.next()){
+                        int w = cursor.neighbour();
+                        if (colors.get(w) != color)
+                            continue;
+                        if (indices[w] == UNVISITED){
+                            frames[++depth] = w;
+                            cursors = cursorAt(cursors, depth, w);
+                            indices[w] = lows[w] = counter++;
+                            sccStack[sccTop++] = w;
+                        }
+                        else
+                            lows[v] = Math.min(lows[v], indices[w]);
+                        continue;
+                    }
+                    if (lows[v] == indices[v]){
+                        int component = nextComponent.getAndIncrement();
+                        int w;
+                        do {
+                            w = sccStack[--sccTop];
+                            components[w] = component;
+                            colors.set(w, DONE);
+                        } while (w != v);
+                    }
+                    if (--depth >= 0)
+                        lows[frames[depth]] = Math.min(lows[frames[depth]], lows[v]);
+                }
+            }
+        }
+
+        private EdgeCursor[] cursorAt(EdgeCursor[] cursors, int depth, int vertex){
+            if (depth == cursors.length)
+                cursors = Arrays.copyOf(cursors, Math.max(1, 2*depth));
+            if (cursors[depth] == null)
+                cursors[depth] = graph.outCursor();
+            cursors[depth].at(vertex);
+            return cursors;
+        }
+    }
+
+}
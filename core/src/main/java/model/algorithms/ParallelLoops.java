@@ -0,0 +1,60 @@
+package model.algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+final class ParallelLoops {
+    static final int GRAIN = 2048;
+
+    private ParallelLoops(){}
+
+    static int[] filter(int[] source, int size, IntPredicate keep){
+        int[] result = new int[size];
+        AtomicInteger length = new AtomicInteger();
+        forEach(size, (from, to) -> {
+            int[] buffer = new int[to-from];
+            int kept = 0;
+            for (int i = from; i < to; ++i){
+                int v = source == null ? i : source[i];
+                if (keep.test(v))
+                    buffer[kept++] = v;
+            }
+            System.arraycopy(buffer, 0, result, length.getAndAdd(kept), kept);
+        });
+        return Arrays.copyOf(result, length.get());
+    }
+
+    static void forEach(int size, RangeBody body){
+        new Range(body, 0, size).invoke();
+    }
+
+    interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private static final class Range extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeBody body;
+        private final int from, to;
+
+        private Range(RangeBody body, int from, int to){
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute(){
+            if (to-from <= GRAIN){
+                body.run(from, to);
+                return;
+            }
+            int middle = (from+to) >>> 1;
+            invokeAll(new Range(body, from, middle), new Range(body, middle, to));
+        }
+    }
+
+}
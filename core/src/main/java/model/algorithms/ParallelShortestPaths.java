@@ -0,0 +1,241 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static model.algorithms.Algorithms.NO_PARENT;
+import static model.algorithms.Algorithms.UNREACHABLE;
+import static model.algorithms.Algorithms.checkVertex;
+import static model.algorithms.ParallelLoops.forEach;
+
+public final class ParallelShortestPaths {
+    private static final int DELTA_DEGREE_FACTOR = 2, DELTA_SAMPLES = 4096;
+
+    private ParallelShortestPaths(){}
+
+    public static long suggestedDelta(GraphStore graph){
+        int n = graph.verticesCount();
+        if (graph.edgesCount() == 0)
+            return 1;
+        int[] sample = new int[DELTA_SAMPLES];
+        int sampled = 0;
+        EdgeCursor cursor = graph.outCursor();
+        for (int i = 0; i < DELTA_SAMPLES; ++i){
+            if (cursor.at((int) ((long) i*n/DELTA_SAMPLES)).next())
+                sample[sampled++] = cursor.weight();
+        }
+        if (sampled == 0)
+            return 1;
+        Arrays.sort(sample, 0, sampled);
+        double averageDegree = (double) graph.edgesCount()/n;
+        return Math.max(1, Math.round(DELTA_DEGREE_FACTOR*sample[sampled/2]/averageDegree));
+    }
+
+    public static boolean bellmanFord(GraphStore graph, int source, long[] distances, int[] parents,
+                                      ForkJoinPool pool){
+        checkVertex(graph, source);
+        int n = graph.verticesCount();
+        AtomicLongArray tentative = initialDistances(n, source);
+        AtomicBoolean relaxed = new AtomicBoolean(true);
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            byte[] active = new byte[n], next = new byte[n];
+            active[source] = 1;
+            for (int round = 1; round <= n && relaxed.get(); ++round){
+                relaxed.set(false);
+                byte[] current = active, following = next;
+                forEach(n, (from, to) -> {
+                    EdgeCursor cursor = graph.outCursor();
+                    boolean changed = false;
+                    for (int v = from; v < to; ++v){
+                        if (current[v] == 0)
+                            continue;
+                        current[v] = 0;
+                        long distance = tentative.get(v);
+                        for (cursor.at(v); cursor.next(); ){
+                            if (lowerTo(tentative, cursor.neighbour(), distance+cursor.weight())){
+                                following[cursor.neighbour()] = 1;
+                                changed = true;
+                            }
+                        }
+                    }
+                    if (changed)
+                        relaxed.set(true);
+                });
+                active = following;
+                next = current;
+            }
+        }));
+        finish(graph, source, tentative, distances, parents);
+        return !relaxed.get();
+    }
+
+    public static void deltaStepping(GraphStore graph, int source, long[] distances, int[] parents, ForkJoinPool pool){
+        deltaStepping(graph, source, suggestedDelta(graph), distances, parents, pool);
+    }
+
+    public static void deltaStepping(GraphStore graph, int source, long delta, long[] distances, int[] parents,
+                                     ForkJoinPool pool){
+        checkVertex(graph, source);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("The bucket width must be positive"),
+                delta > 0
+        );
+        int n = graph.verticesCount();
+        AtomicLongArray tentative = initialDistances(n, source);
+        pool.invoke(ForkJoinTask.adapt(() -> new DeltaStepping(graph, tentative, delta).run(source)));
+        finish(graph, source, tentative, distances, parents);
+    }
+
+    private static AtomicLongArray initialDistances(int n, int source){
+        AtomicLongArray tentative = new AtomicLongArray(n);
+        for (int v = 0; v < n; ++v)
+            tentative.set(v, UNREACHABLE);
+        tentative.set(source, 0);
+        return tentative;
+    }
+
+    private static boolean lowerTo(AtomicLongArray distances, int vertex, long distance){
+        long current;
+        while ((current = distances.get(vertex)) > distance){
+            if (distances.compareAndSet(vertex, current, distance))
+                return true;
+        }
+        return false;
+    }
+
+    private static void finish(GraphStore graph, int source, AtomicLongArray tentative, long[] distances,
+                               int[] parents){
+        int n = graph.verticesCount();
+        for (int v = 0; v < n; ++v)
+            distances[v] = tentative.get(v);
+        if (parents == null)
+            return;
+        Arrays.fill(parents, NO_PARENT);
+        int[] queue = new int[n];
+        boolean[] reached = new boolean[n];
+        int first = 0, last = 0;
+        queue[last++] = source;
+        reached[source] = true;
+        EdgeCursor cursor = graph.outCursor();
+        while (first < last){
+            int v = queue[first++];
+            for (cursor.at(v); cursor.next(); ){
+                int w = cursor.neighbour();
+                if (!reached[w] && distances[v]+cursor.weight() == distances[w]){
+                    reached[w] = true;
+                    parents[w] = v;
+                    queue[last++] = w;
+                }
+            }
+        }
+    }
+
+    private static final class DeltaStepping {
+        private final GraphStore graph;
+        private final AtomicLongArray tentative;
+        private final long delta;
+        private final TreeMap<Long, IntList> buckets = new TreeMap<>();
+        private final int[] marks;
+        private int mark = 0;
+
+        private DeltaStepping(GraphStore graph, AtomicLongArray tentative, long delta){
+            this.graph = graph;
+            this.tentative = tentative;
+            this.delta = delta;
+            marks = new int[graph.verticesCount()];
+        }
+
+        private void run(int source){
+            bucket(0).add(source);
+            while (!buckets.isEmpty()){
+                Map.Entry<Long, IntList> first = buckets.pollFirstEntry();
+                long index = first.getKey();
+                IntList settled = new IntList();
+                int[] frontier = distinct(first.getValue(), index);
+                while (frontier.length > 0){
+                    settled.addAll(frontier, frontier.length);
+                    frontier = distinct(relax(frontier, true), index);
+                }
+                int[] removed = distinct(settled, index);
+                distinct(relax(removed, false), index);
+            }
+        }
+
+        private int[] distinct(IntList candidates, long index){
+            ++mark;
+            IntList current = new IntList();
+            for (int i = 0; i < candidates.size; ++i){
+                int v = candidates.elements[i];
+                if (marks[v] == mark)
+                    continue;
+                marks[v] = mark;
+                long vertexBucket = tentative.get(v)/delta;
+                if (vertexBucket == index)
+                    current.add(v);
+                else if (vertexBucket > index)
+                    bucket(vertexBucket).add(v);
+            }
+            return Arrays.copyOf(current.elements, current.size);
+        }
+
+        private IntList relax(int[] frontier, boolean light){
+            ConcurrentLinkedQueue<IntList> improvements = new ConcurrentLinkedQueue<>();
+            forEach(frontier.length, (from, to) -> {
+                EdgeCursor cursor = graph.outCursor();
+                IntList improved = new IntList();
+                for (int i = from; i < to; ++i){
+                    int v = frontier[i];
+                    long distance = tentative.get(v);
+                    for (cursor.at(v); cursor.next(); ){
+                        int weight = cursor.weight();
+                        Assertions.assertThat(
+                                () -> new IllegalArgumentException("Delta-stepping requires non negative weights"),
+                                weight >= 0
+                        );
+                        if ((weight <= delta) == light && lowerTo(tentative, cursor.neighbour(), distance+weight))
+                            improved.add(cursor.neighbour());
+                    }
+                }
+                if (improved.size > 0)
+                    improvements.add(improved);
+            });
+            IntList result = new IntList();
+            for (IntList improved: improvements)
+                result.addAll(improved.elements, improved.size);
+            return result;
+        }
+
+        private IntList bucket(long index){
+            return buckets.computeIfAbsent(index, key -> new IntList());
+        }
+    }
+
+    private static final class IntList {
+        private int[] elements = new int[16];
+        private int size = 0;
+
+        private void add(int element){
+            if (size == elements.length)
+                elements = Arrays.copyOf(elements, 2*size);
+            elements[size++] = element;
+        }
+
+        private void addAll(int[] source, int length){
+            if (size+length > elements.length)
+                elements = Arrays.copyOf(elements, Math.max(2*elements.length, size+length));
+            System.arraycopy(source, 0, elements, size, length);
+            size += length;
+        }
+    }
+
+}
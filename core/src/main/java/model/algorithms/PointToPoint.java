@@ -0,0 +1,190 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.Graph;
+import model.Vertex;
+import model.spi.BidirectionalStore;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+import model.spi.IndexedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+import static model.algorithms.Algorithms.NO_PARENT;
+import static model.algorithms.Algorithms.UNREACHABLE;
+
+public final class PointToPoint {
+
+    private PointToPoint(){}
+
+    public static Optional<List<Vertex>> bidirectionalDijkstra(Graph graph, Vertex source, Vertex target){
+        return bidirectionalDijkstra(graph, source, target, EventRecorder.NONE);
+    }
+
+    public static Optional<List<Vertex>> bidirectionalDijkstra(Graph graph, Vertex source, Vertex target,
+                                                               EventRecorder recorder){
+        IndexedGraph index = IndexedGraph.of(graph);
+        return toVertices(index, bidirectionalDijkstra(index, index.id(source), index.id(target),
+                Algorithms.ids(index, recorder)));
+    }
+
+    public static Optional<ShortestPath> bidirectionalDijkstra(BidirectionalStore graph, int source, int target,
+                                                               IdEventRecorder recorder){
+        Algorithms.checkVertex(graph, source);
+        Algorithms.checkVertex(graph, target);
+        int n = graph.verticesCount();
+        Search forward = new Search(graph.outCursor(), n, source), backward = new Search(graph.inCursor(), n, target);
+        long best = source == target ? 0 : UNREACHABLE;
+        int meeting = source == target ? source : NO_PARENT, settled = 0;
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()
+                && forward.heap.minKey()+backward.heap.minKey() < best){
+            Search search = forward.heap.minKey() <= backward.heap.minKey() ? forward : backward;
+            Search other = search == forward ? backward : forward;
+            int current = search.heap.poll();
+            ++settled;
+            recorder.record(EventType.VISIT, current, current, (int) search.distances[current]);
+            for (search.cursor.at(current); search.cursor.next(); ){
+                int next = search.cursor.neighbour();
+                search.relax(current, next, checkWeight(search.cursor.weight()));
+                if (other.distances[next] != UNREACHABLE && search.distances[next]+other.distances[next] < best){
+                    best = search.distances[next]+other.distances[next];
+                    meeting = next;
+                }
+            }
+        }
+        if (meeting == NO_PARENT)
+            return Optional.empty();
+        int forwardLength = 0, backwardLength = 0;
+        for (int v = meeting; v != NO_PARENT; v = forward.parents[v])
+            ++forwardLength;
+        for (int v = backward.parents[meeting]; v != NO_PARENT; v = backward.parents[v])
+            ++backwardLength;
+        int[] vertices = new int[forwardLength+backwardLength];
+        long[] distances = new long[vertices.length];
+        for (int v = meeting, position = forwardLength-1; v != NO_PARENT; v = forward.parents[v], --position){
+            vertices[position] = v;
+            distances[position] = forward.distances[v];
+        }
+        for (int v = backward.parents[meeting], position = forwardLength; v != NO_PARENT;
+             v = backward.parents[v], ++position){
+            vertices[position] = v;
+            distances[position] = best-backward.distances[v];
+        }
+        return Optional.of(path(vertices, distances, settled, recorder));
+    }
+
+    public static Optional<List<Vertex>> aStar(Graph graph, Vertex source, Vertex target,
+                                               ToLongFunction<Vertex> heuristic){
+        return aStar(graph, source, target, heuristic, EventRecorder.NONE);
+    }
+
+    public static Optional<List<Vertex>> aStar(Graph graph, Vertex source, Vertex target,
+                                               ToLongFunction<Vertex> heuristic, EventRecorder recorder){
+        IndexedGraph index = IndexedGraph.of(graph);
+        return toVertices(index, aStar(index, index.id(source), index.id(target),
+                v -> heuristic.applyAsLong(index.vertex(v)), Algorithms.ids(index, recorder)));
+    }
+
+    public static Optional<ShortestPath> aStar(GraphStore graph, int source, int target, Heuristic heuristic,
+                                               IdEventRecorder recorder){
+        Algorithms.checkVertex(graph, source);
+        Algorithms.checkVertex(graph, target);
+        Search search = new Search(graph.outCursor(), graph.verticesCount(), source);
+        search.heap.push(source, estimate(heuristic, source));
+        int settled = 0;
+        while (!search.heap.isEmpty()){
+            int current = search.heap.poll();
+            ++settled;
+            recorder.record(EventType.VISIT, current, current, (int) search.distances[current]);
+            if (current == target){
+                int length = 0;
+                for (int v = target; v != NO_PARENT; v = search.parents[v])
+                    ++length;
+                int[] vertices = new int[length];
+                long[] distances = new long[length];
+                for (int v = target; v != NO_PARENT; v = search.parents[v]){
+                    vertices[--length] = v;
+                    distances[length] = search.distances[v];
+                }
+                return Optional.of(path(vertices, distances, settled, recorder));
+            }
+            for (search.cursor.at(current); search.cursor.next(); ){
+                int next = search.cursor.neighbour();
+                long distance = search.distances[current]+checkWeight(search.cursor.weight());
+                if (distance >= search.distances[next])
+                    continue;
+                search.distances[next] = distance;
+                search.parents[next] = current;
+                search.heap.push(next, distance+estimate(heuristic, next));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static long estimate(Heuristic heuristic, int vertex){
+        long estimate = heuristic.estimate(vertex);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Heuristic estimates must be non negative"),
+                estimate >= 0
+        );
+        return estimate;
+    }
+
+    private static int checkWeight(int weight){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Point to point queries require non negative weights"),
+                weight >= 0
+        );
+        return weight;
+    }
+
+    private static ShortestPath path(int[] vertices, long[] distances, int settled, IdEventRecorder recorder){
+        for (int position = 1; position < vertices.length; ++position)
+            recorder.record(EventType.TREE_EDGE, vertices[position-1], vertices[position], (int) distances[position]);
+        return new ShortestPath(vertices, distances, settled);
+    }
+
+    private static Optional<List<Vertex>> toVertices(IndexedGraph index, Optional<ShortestPath> path){
+        return path.map(found -> {
+            List<Vertex> vertices = new ArrayList<>(found.length());
+            for (int position = 0; position < found.length(); ++position){
+                Vertex vertex = index.vertex(found.vertex(position));
+                vertex.setProperty(Algorithms.DISTANCE, (int) found.distanceAt(position));
+                vertices.add(vertex);
+            }
+            return vertices;
+        });
+    }
+
+    private static final class Search {
+        private final EdgeCursor cursor;
+        private final long[] distances;
+        private final int[] parents;
+        private final LongHeap heap;
+
+        private Search(EdgeCursor cursor, int n, int origin){
+            this.cursor = cursor;
+            distances = new long[n];
+            parents = new int[n];
+            heap = new LongHeap(n);
+            Arrays.fill(distances, UNREACHABLE);
+            Arrays.fill(parents, NO_PARENT);
+            distances[origin] = 0;
+            heap.push(origin, 0);
+        }
+
+        private void relax(int from, int to, int weight){
+            long distance = distances[from]+weight;
+            if (distance >= distances[to])
+                return;
+            distances[to] = distance;
+            parents[to] = from;
+            heap.push(to, distance);
+        }
+    }
+
+}
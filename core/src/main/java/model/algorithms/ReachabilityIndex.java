@@ -0,0 +1,104 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.spi.EdgeCursor;
+import model.spi.GraphStore;
+
+public final class ReachabilityIndex {
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    private final int n;
+    private final int[] components;
+    private final int count, words;
+    private final long[] closure;
+
+    private ReachabilityIndex(int n, int[] components, int count, long[] closure){
+        this.n = n;
+        this.components = components;
+        this.count = count;
+        this.words = (count+63) >>> 6;
+        this.closure = closure;
+    }
+
+    public static ReachabilityIndex of(GraphStore graph){
+        return of(graph, DEFAULT_MAX_BYTES);
+    }
+
+    public static ReachabilityIndex of(GraphStore graph, long maxBytes){
+        Condensation condensation = Components.condense(graph);
+        int count = condensation.verticesCount();
+        long bytes = closureBytes(count);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("The transitive closure of "+count+" components needs "+bytes
+                        +" bytes, more than "+maxBytes),
+                bytes <= maxBytes && bytes/Long.BYTES <= Integer.MAX_VALUE
+        );
+        int words = (count+63) >>> 6;
+        long[] closure = new long[count*words];
+        int[] order = Components.topologicalSort(condensation).get();
+        EdgeCursor cursor = condensation.outCursor();
+        for (int i = count-1; i >= 0; --i){
+            int c = order[i], row = c*words;
+            closure[row+(c >>> 6)] |= 1L << c;
+            for (cursor.at(c); cursor.next(); ){
+                int d = cursor.neighbour();
+                if ((closure[row+(d >>> 6)] & 1L << d) == 0)
+                    or(closure, row, d*words, words);
+            }
+        }
+        return new ReachabilityIndex(graph.verticesCount(), condensation.components(), count, closure);
+    }
+
+    public static long closureBytes(int components){
+        return (long) components*((components+63) >>> 6)*Long.BYTES;
+    }
+
+    public int componentsCount(){
+        return count;
+    }
+
+    public int component(int vertex){
+        checkVertex(vertex);
+        return components[vertex];
+    }
+
+    public boolean reaches(int source, int target){
+        checkVertex(source);
+        checkVertex(target);
+        int c = components[source], d = components[target];
+        return (closure[c*words+(d >>> 6)] & 1L << d) != 0;
+    }
+
+    public int reachableComponents(int vertex){
+        checkVertex(vertex);
+        int row = components[vertex]*words, reachable = 0;
+        for (int w = 0; w < words; ++w)
+            reachable += Long.bitCount(closure[row+w]);
+        return reachable;
+    }
+
+    public boolean addEdge(int start, int end){
+        if (reaches(start, end))
+            return false;
+        int c = components[start], d = components[end], source = d*words;
+        for (int x = 0; x < count; ++x){
+            int row = x*words;
+            if ((closure[row+(c >>> 6)] & 1L << c) != 0)
+                or(closure, row, source, words);
+        }
+        return true;
+    }
+
+    private void checkVertex(int vertex){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Vertex id "+vertex+" is not in the graph"),
+                vertex >= 0 && vertex < n
+        );
+    }
+
+    private static void or(long[] closure, int row, int source, int words){
+        for (int w = 0; w < words; ++w)
+            closure[row+w] |= closure[source+w];
+    }
+
+}
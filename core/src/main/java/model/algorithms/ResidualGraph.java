@@ -0,0 +1,132 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.spi.EdgeCursor;
+import model.spi.EdgeVisitor;
+import model.spi.GraphStore;
+
+import java.util.Arrays;
+
+final class ResidualGraph {
+    private static final int NO_ARC = -1;
+
+    private final long[] edgeIds;
+    private final int[] starts, ends, weights;
+    private final int[] arcOffsets, arcs, capacities;
+
+    ResidualGraph(GraphStore graph){
+        int n = graph.verticesCount(), m = (int) graph.edgesCount();
+        edgeIds = new long[m];
+        starts = new int[m];
+        ends = new int[m];
+        weights = new int[m];
+        arcOffsets = new int[n+1];
+        EdgeCursor cursor = graph.outCursor();
+        int e = 0;
+        for (int v = 0; v < n; ++v){
+            for (cursor.at(v); cursor.next(); ++e){
+                edgeIds[e] = cursor.edge();
+                starts[e] = v;
+                ends[e] = cursor.neighbour();
+                weights[e] = cursor.weight();
+                Assertions.assertThat(
+                        () -> new IllegalArgumentException("Flow capacities must be non negative"),
+                        weights[e] >= 0
+                );
+                ++arcOffsets[v+1];
+                ++arcOffsets[ends[e]+1];
+            }
+        }
+        for (int v = 0; v < n; ++v)
+            arcOffsets[v+1] += arcOffsets[v];
+        arcs = new int[2*m];
+        capacities = new int[2*m];
+        int[] fill = Arrays.copyOf(arcOffsets, n);
+        for (e = 0; e < m; ++e){
+            arcs[fill[starts[e]]++] = 2*e;
+            arcs[fill[ends[e]]++] = 2*e+1;
+            capacities[2*e] = weights[e];
+        }
+    }
+
+    int verticesCount(){
+        return arcOffsets.length-1;
+    }
+
+    int edgesCount(){
+        return starts.length;
+    }
+
+    long edgeId(int edge){
+        return edgeIds[edge];
+    }
+
+    int start(int edge){
+        return starts[edge];
+    }
+
+    int end(int edge){
+        return ends[edge];
+    }
+
+    int tail(int arc){
+        return (arc & 1) == 0 ? starts[arc >> 1] : ends[arc >> 1];
+    }
+
+    int head(int arc){
+        return (arc & 1) == 0 ? ends[arc >> 1] : starts[arc >> 1];
+    }
+
+    int firstPosition(int vertex){
+        return arcOffsets[vertex];
+    }
+
+    int endPosition(int vertex){
+        return arcOffsets[vertex+1];
+    }
+
+    int arcAt(int position){
+        return arcs[position];
+    }
+
+    int capacity(int arc){
+        return capacities[arc];
+    }
+
+    int flow(int edge){
+        return capacities[2*edge+1];
+    }
+
+    void forEachFlow(EdgeVisitor edgeFlows){
+        for (int edge = 0; edge < edgesCount(); ++edge){
+            int edgeFlow = flow(edge);
+            if (edgeFlow > 0)
+                edgeFlows.visit(edgeIds[edge], starts[edge], ends[edge], edgeFlow);
+        }
+    }
+
+    void push(int arc, int amount){
+        capacities[arc] -= amount;
+        capacities[arc ^ 1] += amount;
+    }
+
+    boolean shortestAugmentingPath(int source, int sink, int[] parentArcs, int[] queue){
+        Arrays.fill(parentArcs, NO_ARC);
+        int first = 0, last = 0;
+        queue[last++] = source;
+        while (first < last){
+            int current = queue[first++];
+            for (int position = arcOffsets[current]; position < arcOffsets[current+1]; ++position){
+                int arc = arcs[position], next = head(arc);
+                if (capacities[arc] == 0 || next == source || parentArcs[next] != NO_ARC)
+                    continue;
+                parentArcs[next] = arc;
+                if (next == sink)
+                    return true;
+                queue[last++] = next;
+            }
+        }
+        return false;
+    }
+
+}
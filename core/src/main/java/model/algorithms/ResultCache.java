@@ -0,0 +1,147 @@
+package model.algorithms;
+
+import helpers.Assertions;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+public final class ResultCache<V> {
+    public static final long DEFAULT_BUDGET = 32L << 20;
+
+    private final long budget;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<Key, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0, hits = 0, misses = 0;
+
+    public ResultCache(ToLongFunction<V> weigher){
+        this(DEFAULT_BUDGET, weigher);
+    }
+
+    public ResultCache(long budget, ToLongFunction<V> weigher){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("The memory budget must be positive"),
+                budget > 0
+        );
+        this.budget = budget;
+        this.weigher = weigher;
+    }
+
+    public static Key key(String algorithm, long version, Object... arguments){
+        return new Key(algorithm, version, Arrays.asList(arguments.clone()));
+    }
+
+    public synchronized Optional<V> get(Key key){
+        Entry<V> entry = entries.get(key);
+        if (entry == null){
+            ++misses;
+            return Optional.empty();
+        }
+        ++hits;
+        return Optional.of(entry.value);
+    }
+
+    public synchronized void put(Key key, V value){
+        long valueWeight = weigher.applyAsLong(value);
+        Entry<V> previous = entries.remove(key);
+        if (previous != null)
+            weight -= previous.weight;
+        if (valueWeight > budget)
+            return;
+        entries.put(key, new Entry<>(value, valueWeight));
+        weight += valueWeight;
+        Iterator<Entry<V>> eldest = entries.values().iterator();
+        while (weight > budget){
+            weight -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    public V computeIfAbsent(Key key, Supplier<V> computation){
+        Optional<V> cached = get(key);
+        if (cached.isPresent())
+            return cached.get();
+        V value = computation.get();
+        put(key, value);
+        return value;
+    }
+
+    public synchronized void retainVersion(long version){
+        Iterator<Map.Entry<Key, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()){
+            Map.Entry<Key, Entry<V>> entry = iterator.next();
+            if (entry.getKey().version != version){
+                weight -= entry.getValue().weight;
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear(){
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size(){
+        return entries.size();
+    }
+
+    public synchronized long weight(){
+        return weight;
+    }
+
+    public long budget(){
+        return budget;
+    }
+
+    public synchronized long hits(){
+        return hits;
+    }
+
+    public synchronized long misses(){
+        return misses;
+    }
+
+    public static final class Key {
+        private final String algorithm;
+        private final long version;
+        private final List<Object> arguments;
+
+        private Key(String algorithm, long version, List<Object> arguments){
+            this.algorithm = algorithm;
+            this.version = version;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object o){
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key key = (Key) o;
+            return version == key.version && algorithm.equals(key.algorithm) && arguments.equals(key.arguments);
+        }
+
+        @Override
+        public int hashCode(){
+            return Objects.hash(algorithm, version, arguments);
+        }
+
+        @Override
+        public String toString(){
+            return String.format("%s%s@%d", algorithm, arguments, version);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+
+        private Entry(V value, long weight){
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+}
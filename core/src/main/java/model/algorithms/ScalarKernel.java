@@ -0,0 +1,48 @@
+package model.algorithms;
+
+final class ScalarKernel implements DenseKernel {
+
+    @Override
+    public void minPlusRow(int[] distances, int row, int pivotRow, int through, int n){
+        for (int j = 0; j < n; ++j)
+            distances[row+j] = Math.min(distances[row+j], through+distances[pivotRow+j]);
+    }
+
+    @Override
+    public void or(long[] target, long[] bits, int offset, int words){
+        for (int w = 0; w < words; ++w)
+            target[w] |= bits[offset+w];
+    }
+
+    @Override
+    public boolean advance(long[] next, long[] visited, int words){
+        long any = 0;
+        for (int w = 0; w < words; ++w){
+            next[w] &= ~visited[w];
+            visited[w] |= next[w];
+            any |= next[w];
+        }
+        return any != 0;
+    }
+
+    @Override
+    public int argMin(int[] keys, int n){
+        int best = 0;
+        for (int v = 1; v < n; ++v){
+            if (keys[v] < keys[best])
+                best = v;
+        }
+        return best;
+    }
+
+    @Override
+    public void relax(int[] keys, int[] parents, int[] closed, int[] costs, int row, int parent, int n){
+        for (int w = 0; w < n; ++w){
+            if (closed[w] == 0 && costs[row+w] < keys[w]){
+                keys[w] = costs[row+w];
+                parents[w] = parent;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package model.algorithms;
+
+import java.util.Arrays;
+
+public final class ShortestPath {
+    private final int[] vertices;
+    private final long[] distances;
+    private final int settled;
+
+    ShortestPath(int[] vertices, long[] distances, int settled){
+        this.vertices = vertices;
+        this.distances = distances;
+        this.settled = settled;
+    }
+
+    public long distance(){
+        return distances[distances.length-1];
+    }
+
+    public int length(){
+        return vertices.length;
+    }
+
+    public int vertex(int position){
+        return vertices[position];
+    }
+
+    public long distanceAt(int position){
+        return distances[position];
+    }
+
+    public int[] vertices(){
+        return vertices.clone();
+    }
+
+    public int settled(){
+        return settled;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%d via %s (%d settled)", distance(), Arrays.toString(vertices), settled);
+    }
+
+}
@@ -0,0 +1,165 @@
+package model.algorithms;
+
+import helpers.Assertions;
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+import model.spi.IndexedGraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static model.algorithms.Algorithms.UNREACHABLE;
+
+public final class ShortestPathIndex {
+    private static final int MAGIC = 0x5350_0001;
+
+    private final Graph graph;
+    private Vertex[] vertices;
+    private Map<Vertex, Integer> ids;
+    private ContractionHierarchy hierarchy;
+    private ContractionHierarchy.Query query;
+    private long version;
+
+    private ShortestPathIndex(Graph graph){
+        this.graph = graph;
+    }
+
+    public static ShortestPathIndex of(Graph graph){
+        ShortestPathIndex index = new ShortestPathIndex(graph);
+        index.rebuild();
+        return index;
+    }
+
+    public static ShortestPathIndex load(Graph graph, Path file) throws IOException {
+        ShortestPathIndex index = new ShortestPathIndex(graph);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))){
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Not a shortest path index file: "+file),
+                    in.readInt() == MAGIC
+            );
+            String[] names = new String[in.readInt()];
+            for (int i = 0; i < names.length; ++i)
+                names[i] = in.readUTF();
+            long fingerprint = in.readLong();
+            ContractionHierarchy hierarchy = ContractionHierarchy.read(in);
+            long version = graph.version();
+            if (!index.attach(names, fingerprint, hierarchy))
+                index.rebuild();
+            else
+                index.version = version;
+        }
+        return index;
+    }
+
+    public void save(Path file) throws IOException {
+        refresh();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))){
+            out.writeInt(MAGIC);
+            out.writeInt(vertices.length);
+            for (Vertex vertex: vertices)
+                out.writeUTF(vertex.getName());
+            out.writeLong(fingerprint(graph, ids));
+            hierarchy.write(out);
+        }
+    }
+
+    public boolean isStale(){
+        return graph.version() != version;
+    }
+
+    public void rebuild(){
+        long version = graph.version();
+        IndexedGraph index = IndexedGraph.of(graph);
+        vertices = new Vertex[index.verticesCount()];
+        ids = new HashMap<>();
+        for (int v = 0; v < vertices.length; ++v){
+            vertices[v] = index.vertex(v);
+            ids.put(vertices[v], v);
+        }
+        hierarchy = ContractionHierarchy.build(index);
+        query = hierarchy.newQuery();
+        this.version = version;
+    }
+
+    public ContractionHierarchy hierarchy(){
+        refresh();
+        return hierarchy;
+    }
+
+    public OptionalLong distance(Vertex source, Vertex target){
+        refresh();
+        long distance = query.distance(id(source), id(target));
+        return distance == UNREACHABLE ? OptionalLong.empty() : OptionalLong.of(distance);
+    }
+
+    public Optional<List<Vertex>> path(Vertex source, Vertex target){
+        refresh();
+        return query.path(id(source), id(target)).map(found -> {
+            List<Vertex> path = new ArrayList<>(found.length());
+            for (int position = 0; position < found.length(); ++position)
+                path.add(vertices[found.vertex(position)]);
+            return path;
+        });
+    }
+
+    private void refresh(){
+        if (isStale())
+            rebuild();
+    }
+
+    private int id(Vertex vertex){
+        Integer id = ids.get(vertex);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Vertex "+vertex+" is not in the indexed graph"),
+                id != null
+        );
+        return id;
+    }
+
+    private boolean attach(String[] names, long fingerprint, ContractionHierarchy hierarchy){
+        if (names.length != graph.verticesCount() || hierarchy.verticesCount() != names.length)
+            return false;
+        Map<String, Integer> byName = new HashMap<>();
+        for (int v = 0; v < names.length; ++v)
+            byName.put(names[v], v);
+        Vertex[] vertices = new Vertex[names.length];
+        Map<Vertex, Integer> ids = new HashMap<>();
+        for (Vertex vertex: graph.getVertices()){
+            Integer id = byName.get(vertex.getName());
+            if (id == null || vertices[id] != null)
+                return false;
+            vertices[id] = vertex;
+            ids.put(vertex, id);
+        }
+        if (fingerprint(graph, ids) != fingerprint)
+            return false;
+        this.vertices = vertices;
+        this.ids = ids;
+        this.hierarchy = hierarchy;
+        this.query = hierarchy.newQuery();
+        return true;
+    }
+
+    private static long fingerprint(Graph graph, Map<Vertex, Integer> ids){
+        long fingerprint = mix(graph.verticesCount());
+        for (Edge edge: graph.getEdges()){
+            long key = ((long) ids.get(edge.getStart()) << 32 | ids.get(edge.getEnd())) ^ mix(edge.getWeight());
+            fingerprint += mix(key);
+        }
+        return fingerprint;
+    }
+
+    private static long mix(long value){
+        value = (value ^ (value >>> 30))*0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27))*0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+}
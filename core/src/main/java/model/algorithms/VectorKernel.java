@@ -0,0 +1,96 @@
+package model.algorithms;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorKernel implements DenseKernel {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public void minPlusRow(int[] distances, int row, int pivotRow, int through, int n){
+        IntVector add = IntVector.broadcast(INTS, through);
+        int j = 0;
+        for (int bound = INTS.loopBound(n); j < bound; j += INTS.length()){
+            IntVector candidate = IntVector.fromArray(INTS, distances, pivotRow+j).add(add);
+            IntVector.fromArray(INTS, distances, row+j).min(candidate).intoArray(distances, row+j);
+        }
+        for (; j < n; ++j)
+            distances[row+j] = Math.min(distances[row+j], through+distances[pivotRow+j]);
+    }
+
+    @Override
+    public void or(long[] target, long[] bits, int offset, int words){
+        int w = 0;
+        for (int bound = LONGS.loopBound(words); w < bound; w += LONGS.length()){
+            LongVector.fromArray(LONGS, target, w).or(LongVector.fromArray(LONGS, bits, offset+w))
+                    .intoArray(target, w);
+        }
+        for (; w < words; ++w)
+            target[w] |= bits[offset+w];
+    }
+
+    @Override
+    public boolean advance(long[] next, long[] visited, int words){
+        LongVector anyLanes = LongVector.zero(LONGS);
+        int w = 0;
+        for (int bound = LONGS.loopBound(words); w < bound; w += LONGS.length()){
+            LongVector seen = LongVector.fromArray(LONGS, visited, w);
+            LongVector fresh = LongVector.fromArray(LONGS, next, w).lanewise(VectorOperators.AND_NOT, seen);
+            fresh.intoArray(next, w);
+            seen.or(fresh).intoArray(visited, w);
+            anyLanes = anyLanes.or(fresh);
+        }
+        long any = anyLanes.reduceLanes(VectorOperators.OR);
+        for (; w < words; ++w){
+            next[w] &= ~visited[w];
+            visited[w] |= next[w];
+            any |= next[w];
+        }
+        return any != 0;
+    }
+
+    @Override
+    public int argMin(int[] keys, int n){
+        IntVector minLanes = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int v = 0, bound = INTS.loopBound(n);
+        for (; v < bound; v += INTS.length())
+            minLanes = minLanes.min(IntVector.fromArray(INTS, keys, v));
+        int min = minLanes.reduceLanes(VectorOperators.MIN);
+        for (; v < n; ++v)
+            min = Math.min(min, keys[v]);
+        for (v = 0; v < bound; v += INTS.length()){
+            VectorMask<Integer> found = IntVector.fromArray(INTS, keys, v).eq(min);
+            if (found.anyTrue())
+                return v+found.firstTrue();
+        }
+        for (; v < n; ++v){
+            if (keys[v] == min)
+                return v;
+        }
+        return 0;
+    }
+
+    @Override
+    public void relax(int[] keys, int[] parents, int[] closed, int[] costs, int row, int parent, int n){
+        IntVector parentLanes = IntVector.broadcast(INTS, parent);
+        int w = 0;
+        for (int bound = INTS.loopBound(n); w < bound; w += INTS.length()){
+            IntVector cost = IntVector.fromArray(INTS, costs, row+w);
+            VectorMask<Integer> better = cost.lt(IntVector.fromArray(INTS, keys, w))
+                    .and(IntVector.fromArray(INTS, closed, w).eq(0));
+            cost.intoArray(keys, w, better);
+            parentLanes.intoArray(parents, w, better);
+        }
+        for (; w < n; ++w){
+            if (closed[w] == 0 && costs[row+w] < keys[w]){
+                keys[w] = costs[row+w];
+                parents[w] = parent;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package model.io;
+
+import helpers.Assertions;
+import model.Edge;
+import model.Graph;
+import model.HashGraph;
+import model.Vertex;
+import model.spi.CsrStore;
+import model.spi.EdgeCursor;
+
+import java.util.Map;
+
+public final class GraphFile {
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final CsrStore store;
+    private final int[] costs;
+
+    GraphFile(String[] names, Map<String, Integer> ids, CsrStore store, int[] costs){
+        this.names = names;
+        this.ids = ids;
+        this.store = store;
+        this.costs = costs;
+    }
+
+    public int verticesCount(){
+        return names.length;
+    }
+
+    public long edgesCount(){
+        return store.edgesCount();
+    }
+
+    public String name(int id){
+        return names[id];
+    }
+
+    public int id(String name){
+        Integer id = ids.get(name);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Unknown vertex "+name),
+                id != null
+        );
+        return id;
+    }
+
+    public CsrStore store(){
+        return store;
+    }
+
+    public int cost(long edge){
+        return costs[(int) edge];
+    }
+
+    public Graph toGraph(){
+        return toGraph(false);
+    }
+
+    public Graph toGraph(boolean signed){
+        Graph graph = new HashGraph();
+        Vertex[] vertices = new Vertex[names.length];
+        for (int v = 0; v < names.length; ++v){
+            vertices[v] = new Vertex(names[v]);
+            graph.addVertex(vertices[v]);
+        }
+        EdgeCursor cursor = store.outCursor();
+        for (int v = 0; v < names.length; ++v){
+            for (cursor.at(v); cursor.next(); ){
+                Vertex start = vertices[v], end = vertices[cursor.neighbour()];
+                graph.addEdge(Edge.of(start, end, cursor.weight(), cost(cursor.edge()), signed));
+            }
+        }
+        return graph;
+    }
+
+}
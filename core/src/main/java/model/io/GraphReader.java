@@ -0,0 +1,121 @@
+package model.io;
+
+import helpers.Assertions;
+import model.Edge;
+import model.spi.CsrStore;
+import model.spi.EdgeCursor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+
+public final class GraphReader {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char COMMENT = '#';
+
+    private GraphReader(){}
+
+    public static GraphFile read(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)){
+            return read(reader);
+        }
+    }
+
+    public static GraphFile read(BufferedReader reader) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] starts = new int[16], ends = new int[16], weights = new int[16], costs = new int[16];
+        int m = 0, lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()){
+            ++lineNumber;
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == COMMENT)
+                continue;
+            String[] tokens = WHITESPACE.split(line);
+            int number = lineNumber;
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Line "+number+": expected a vertex name or "
+                            +"'start end weight [cost]'"),
+                    tokens.length == 1 || tokens.length == 3 || tokens.length == 4
+            );
+            int start = vertex(tokens[0], ids, names);
+            if (tokens.length == 1)
+                continue;
+            if (m == starts.length){
+                starts = Arrays.copyOf(starts, 2*m);
+                ends = Arrays.copyOf(ends, 2*m);
+                weights = Arrays.copyOf(weights, 2*m);
+                costs = Arrays.copyOf(costs, 2*m);
+            }
+            int cost = tokens.length == 4 ? parse(tokens[3], number) : 0;
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Line "+number+": cost must be non negative"),
+                    Edge.isValidCost(cost)
+            );
+            starts[m] = start;
+            ends[m] = vertex(tokens[1], ids, names);
+            weights[m] = parse(tokens[2], number);
+            costs[m++] = cost;
+        }
+        int n = names.size();
+        CsrStore store = CsrStore.of(n, Arrays.copyOf(starts, m), Arrays.copyOf(ends, m), Arrays.copyOf(weights, m));
+        checkSimple(store, names);
+        return new GraphFile(names.toArray(new String[0]), ids, store, csrOrder(n, starts, costs, m));
+    }
+
+    private static int vertex(String name, Map<String, Integer> ids, List<String> names){
+        Integer id = ids.get(name);
+        if (id == null){
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    private static int parse(String token, int lineNumber){
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e){
+            throw new IllegalArgumentException("Line "+lineNumber+": '"+token+"' is not an int", e);
+        }
+    }
+
+    private static int[] csrOrder(int n, int[] starts, int[] values, int m){
+        int[] offsets = new int[n+1];
+        for (int e = 0; e < m; ++e)
+            ++offsets[starts[e]+1];
+        for (int v = 0; v < n; ++v)
+            offsets[v+1] += offsets[v];
+        int[] ordered = new int[m];
+        for (int e = 0; e < m; ++e)
+            ordered[offsets[starts[e]]++] = values[e];
+        return ordered;
+    }
+
+    private static void checkSimple(CsrStore store, List<String> names){
+        EdgeCursor cursor = store.outCursor();
+        int[] targets = new int[16];
+        for (int v = 0; v < store.verticesCount(); ++v){
+            int degree = store.outDegree(v);
+            if (degree > targets.length)
+                targets = Arrays.copyOf(targets, Math.max(degree, 2*targets.length));
+            int i = 0;
+            for (cursor.at(v); cursor.next(); )
+                targets[i++] = cursor.neighbour();
+            Arrays.sort(targets, 0, degree);
+            for (i = 1; i < degree; ++i){
+                int start = v, end = targets[i];
+                Assertions.assertThat(
+                        () -> new IllegalArgumentException("Duplicate edge "+names.get(start)+" -> "+names.get(end)),
+                        targets[i-1] != end
+                );
+            }
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package model.persistent;
+
+import helpers.Assertions;
+import model.Vertex;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public final class GraphHistory {
+    public static final int DEFAULT_MAX_DEPTH = 1000;
+
+    private final Deque<GraphVersion> undone = new ArrayDeque<>(), redone = new ArrayDeque<>();
+    private final int maxDepth;
+    private volatile GraphVersion current;
+
+    public GraphHistory(GraphVersion initial){
+        this(initial, DEFAULT_MAX_DEPTH);
+    }
+
+    public GraphHistory(GraphVersion initial, int maxDepth){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("History depth must be positive"),
+                maxDepth > 0
+        );
+        this.current = initial;
+        this.maxDepth = maxDepth;
+    }
+
+    public GraphVersion current(){
+        return current;
+    }
+
+    public void commit(GraphVersion version){
+        if (version == current)
+            return;
+        undone.push(current);
+        if (undone.size() > maxDepth)
+            undone.removeLast();
+        redone.clear();
+        current = version;
+    }
+
+    public boolean canUndo(){
+        return !undone.isEmpty();
+    }
+
+    public boolean canRedo(){
+        return !redone.isEmpty();
+    }
+
+    public Optional<GraphVersion> undo(){
+        if (undone.isEmpty())
+            return Optional.empty();
+        redone.push(current);
+        current = undone.pop();
+        return Optional.of(current);
+    }
+
+    public Optional<GraphVersion> redo(){
+        if (redone.isEmpty())
+            return Optional.empty();
+        undone.push(current);
+        current = redone.pop();
+        return Optional.of(current);
+    }
+
+    public Set<Vertex> changedVertices(){
+        Set<Vertex> res = new HashSet<>();
+        GraphVersion.Changes changes = new GraphVersion.Changes() {
+            @Override
+            public void vertexAdded(Vertex vertex){
+                res.add(vertex);
+            }
+
+            @Override
+            public void vertexRemoved(Vertex vertex){
+                res.add(vertex);
+            }
+
+            @Override
+            public void edgeAdded(Vertex start, Vertex end, GraphVersion.EdgeValue value){}
+
+            @Override
+            public void edgeRemoved(Vertex start, Vertex end, GraphVersion.EdgeValue value){}
+        };
+        for (Deque<GraphVersion> versions: List.of(undone, redone)){
+            GraphVersion previous = current;
+            for (GraphVersion version: versions){
+                previous.diff(version, changes);
+                previous = version;
+            }
+        }
+        return res;
+    }
+
+}
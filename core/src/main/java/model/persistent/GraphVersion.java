@@ -0,0 +1,225 @@
+package model.persistent;
+
+import helpers.Assertions;
+import model.Edge;
+import model.Graph;
+import model.HashGraph;
+import model.Vertex;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+public final class GraphVersion {
+    private static final GraphVersion EMPTY = new GraphVersion(PersistentMap.empty(), PersistentMap.empty(), 0);
+
+    private final PersistentMap<Vertex, PersistentMap<Vertex, EdgeValue>> successors, predecessors;
+    private final int edgesCount;
+
+    private GraphVersion(PersistentMap<Vertex, PersistentMap<Vertex, EdgeValue>> successors,
+                         PersistentMap<Vertex, PersistentMap<Vertex, EdgeValue>> predecessors, int edgesCount){
+        this.successors = successors;
+        this.predecessors = predecessors;
+        this.edgesCount = edgesCount;
+    }
+
+    public static GraphVersion empty(){
+        return EMPTY;
+    }
+
+    public static GraphVersion of(Graph graph){
+        GraphVersion res = EMPTY;
+        for (Vertex vertex: graph.getVertices())
+            res = res.addVertex(vertex);
+        for (Edge edge: graph.getEdges())
+            res = res.addEdge(edge);
+        return res;
+    }
+
+    public int verticesCount(){
+        return successors.size();
+    }
+
+    public int edgesCount(){
+        return edgesCount;
+    }
+
+    public boolean containsVertex(Vertex vertex){
+        return successors.containsKey(vertex);
+    }
+
+    public OptionalInt weight(Vertex start, Vertex end){
+        PersistentMap<Vertex, EdgeValue> ends = successors.get(start);
+        EdgeValue value = ends == null ? null : ends.get(end);
+        return value == null ? OptionalInt.empty() : OptionalInt.of(value.weight);
+    }
+
+    public PersistentMap<Vertex, EdgeValue> successors(Vertex vertex){
+        PersistentMap<Vertex, EdgeValue> res = successors.get(vertex);
+        return res == null ? PersistentMap.empty() : res;
+    }
+
+    public PersistentMap<Vertex, EdgeValue> predecessors(Vertex vertex){
+        PersistentMap<Vertex, EdgeValue> res = predecessors.get(vertex);
+        return res == null ? PersistentMap.empty() : res;
+    }
+
+    public void forEachVertex(Consumer<Vertex> action){
+        successors.forEach((vertex, ends) -> action.accept(vertex));
+    }
+
+    public void forEachEdge(EdgeConsumer action){
+        successors.forEach((start, ends) -> ends.forEach((end, value) -> action.accept(start, end, value)));
+    }
+
+    public GraphVersion addVertex(Vertex vertex){
+        if (containsVertex(vertex))
+            return this;
+        return new GraphVersion(successors.put(vertex, PersistentMap.empty()),
+                predecessors.put(vertex, PersistentMap.empty()), edgesCount);
+    }
+
+    public GraphVersion removeVertex(Vertex vertex){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Cannot remove an unregistered vertex"),
+                containsVertex(vertex)
+        );
+        GraphVersion res = this;
+        for (Vertex end: successors(vertex).keySet())
+            res = res.removeEdge(vertex, end);
+        for (Vertex start: res.predecessors(vertex).keySet())
+            res = res.removeEdge(start, vertex);
+        return new GraphVersion(res.successors.remove(vertex), res.predecessors.remove(vertex), res.edgesCount);
+    }
+
+    public GraphVersion addEdge(Edge edge){
+        return addEdge(edge.getStart(), edge.getEnd(),
+                new EdgeValue(edge.getWeight(), edge.getCost(), edge.isSigned()));
+    }
+
+    public GraphVersion addEdge(Vertex start, Vertex end, int weight){
+        return addEdge(start, end, new EdgeValue(weight, 0, false));
+    }
+
+    private GraphVersion addEdge(Vertex start, Vertex end, EdgeValue value){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Start and end of the edge must be registered as vertices"),
+                containsVertex(start) && containsVertex(end)
+        );
+        PersistentMap<Vertex, EdgeValue> ends = successors.get(start);
+        boolean added = !ends.containsKey(end);
+        return new GraphVersion(successors.put(start, ends.put(end, value)),
+                predecessors.put(end, predecessors.get(end).put(start, value)),
+                added ? edgesCount+1 : edgesCount);
+    }
+
+    public GraphVersion removeEdge(Vertex start, Vertex end){
+        PersistentMap<Vertex, EdgeValue> ends = successors.get(start);
+        if (ends == null || !ends.containsKey(end))
+            return this;
+        return new GraphVersion(successors.put(start, ends.remove(end)),
+                predecessors.put(end, predecessors.get(end).remove(start)), edgesCount-1);
+    }
+
+    public Graph toGraph(){
+        Graph res = new HashGraph();
+        forEachVertex(res::addVertex);
+        forEachEdge((start, end, value) -> res.addEdge(value.toEdge(start, end)));
+        return res;
+    }
+
+    public void diff(GraphVersion newer, Changes changes){
+        successors.diff(newer.successors, new PersistentMap.Differ<Vertex, PersistentMap<Vertex, EdgeValue>>() {
+            @Override
+            public void added(Vertex vertex, PersistentMap<Vertex, EdgeValue> ends){
+                changes.vertexAdded(vertex);
+                ends.forEach((end, value) -> changes.edgeAdded(vertex, end, value));
+            }
+
+            @Override
+            public void removed(Vertex vertex, PersistentMap<Vertex, EdgeValue> ends){
+                ends.forEach((end, value) -> changes.edgeRemoved(vertex, end, value));
+                changes.vertexRemoved(vertex);
+            }
+
+            @Override
+            public void changed(Vertex start, PersistentMap<Vertex, EdgeValue> oldEnds,
+                                PersistentMap<Vertex, EdgeValue> newEnds){
+                oldEnds.diff(newEnds, new PersistentMap.Differ<Vertex, EdgeValue>() {
+                    @Override
+                    public void added(Vertex end, EdgeValue value){
+                        changes.edgeAdded(start, end, value);
+                    }
+
+                    @Override
+                    public void removed(Vertex end, EdgeValue value){
+                        changes.edgeRemoved(start, end, value);
+                    }
+
+                    @Override
+                    public void changed(Vertex end, EdgeValue oldValue, EdgeValue newValue){
+                        changes.edgeRemoved(start, end, oldValue);
+                        changes.edgeAdded(start, end, newValue);
+                    }
+                });
+            }
+        });
+    }
+
+    @FunctionalInterface
+    public interface EdgeConsumer {
+        void accept(Vertex start, Vertex end, EdgeValue value);
+    }
+
+    public interface Changes {
+        void vertexAdded(Vertex vertex);
+        void vertexRemoved(Vertex vertex);
+        void edgeAdded(Vertex start, Vertex end, EdgeValue value);
+        void edgeRemoved(Vertex start, Vertex end, EdgeValue value);
+    }
+
+    public static final class EdgeValue {
+        private final int weight, cost;
+        private final boolean signed;
+
+        private EdgeValue(int weight, int cost, boolean signed){
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Weight must be non negative"),
+                    signed || Edge.isValidWeight(weight)
+            );
+            this.weight = weight;
+            this.cost = cost;
+            this.signed = signed;
+        }
+
+        public int getWeight(){
+            return weight;
+        }
+
+        public int getCost(){
+            return cost;
+        }
+
+        public boolean isSigned(){
+            return signed;
+        }
+
+        public Edge toEdge(Vertex start, Vertex end){
+            return Edge.of(start, end, weight, cost, signed);
+        }
+
+        @Override
+        public boolean equals(Object o){
+            if (!(o instanceof EdgeValue))
+                return false;
+            EdgeValue other = (EdgeValue) o;
+            return weight == other.weight && cost == other.cost && signed == other.signed;
+        }
+
+        @Override
+        public int hashCode(){
+            return Objects.hash(weight, cost, signed);
+        }
+    }
+
+}
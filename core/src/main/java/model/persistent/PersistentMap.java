@@ -0,0 +1,338 @@
+package model.persistent;
+
+import helpers.Assertions;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+public final class PersistentMap<K, V> {
+    private static final int BITS = 5, MASK = (1 << BITS)-1;
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.empty(), 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentMap(Node<K, V> root, int size){
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty(){
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public V get(K key){
+        return root.get(key, hash(key), 0);
+    }
+
+    public boolean containsKey(K key){
+        return get(key) != null;
+    }
+
+    public PersistentMap<K, V> put(K key, V value){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Persistent maps do not hold null keys or values"),
+                key != null && value != null
+        );
+        boolean[] added = {false};
+        Node<K, V> newRoot = root.put(key, value, hash(key), 0, added);
+        if (newRoot == root)
+            return this;
+        return new PersistentMap<>(newRoot, added[0] ? size+1 : size);
+    }
+
+    public PersistentMap<K, V> remove(K key){
+        Node<K, V> newRoot = root.remove(key, hash(key), 0);
+        if (newRoot == root)
+            return this;
+        if (newRoot == null)
+            return empty();
+        return new PersistentMap<>(newRoot, size-1);
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action){
+        root.forEach(action);
+    }
+
+    public Set<K> keySet(){
+        Set<K> res = new HashSet<>();
+        forEach((key, value) -> res.add(key));
+        return res;
+    }
+
+    public void diff(PersistentMap<K, V> newer, Differ<K, V> differ){
+        diff(root, newer.root, differ);
+    }
+
+    private static <K, V> void diff(Node<K, V> older, Node<K, V> newer, Differ<K, V> differ){
+        if (older == newer)
+            return;
+        if (!(older instanceof BitmapNode) || !(newer instanceof BitmapNode)){
+            PersistentMap.<K, V>diffEntries(older::forEach, newer::forEach, differ);
+            return;
+        }
+        BitmapNode<K, V> olderNode = (BitmapNode<K, V>) older, newerNode = (BitmapNode<K, V>) newer;
+        int bits = olderNode.bitmap | newerNode.bitmap;
+        while (bits != 0){
+            int bit = Integer.lowestOneBit(bits);
+            bits &= ~bit;
+            boolean inOlder = (olderNode.bitmap & bit) != 0, inNewer = (newerNode.bitmap & bit) != 0;
+            int olderIndex = olderNode.index(bit), newerIndex = newerNode.index(bit);
+            if (!inNewer)
+                olderNode.forEachInSlot(olderIndex, differ::removed);
+            else if (!inOlder)
+                newerNode.forEachInSlot(newerIndex, differ::added);
+            else
+                diffSlots(olderNode, olderIndex, newerNode, newerIndex, differ);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void diffSlots(BitmapNode<K, V> older, int olderIndex,
+                                         BitmapNode<K, V> newer, int newerIndex, Differ<K, V> differ){
+        Object olderKey = older.array[2*olderIndex], newerKey = newer.array[2*newerIndex];
+        Object olderValue = older.array[2*olderIndex+1], newerValue = newer.array[2*newerIndex+1];
+        if (olderKey == null && newerKey == null)
+            diff((Node<K, V>) olderValue, (Node<K, V>) newerValue, differ);
+        else if (olderKey != null && newerKey != null && olderKey.equals(newerKey)){
+            if (olderValue != newerValue && !olderValue.equals(newerValue))
+                differ.changed((K) olderKey, (V) olderValue, (V) newerValue);
+        }
+        else
+            PersistentMap.<K, V>diffEntries(action -> older.forEachInSlot(olderIndex, action),
+                    action -> newer.forEachInSlot(newerIndex, action), differ);
+    }
+
+    private static <K, V> void diffEntries(Traversal<K, V> older, Traversal<K, V> newer, Differ<K, V> differ){
+        Map<K, V> remaining = new HashMap<>();
+        older.forEach(remaining::put);
+        newer.forEach((key, value) -> {
+            V previous = remaining.remove(key);
+            if (previous == null)
+                differ.added(key, value);
+            else if (previous != value && !previous.equals(value))
+                differ.changed(key, previous, value);
+        });
+        remaining.forEach(differ::removed);
+    }
+
+    private static int hash(Object key){
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    public interface Differ<K, V> {
+        void added(K key, V value);
+        void removed(K key, V value);
+        void changed(K key, V oldValue, V newValue);
+    }
+
+    @FunctionalInterface
+    private interface Traversal<K, V> {
+        void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    private static abstract class Node<K, V> {
+        abstract V get(K key, int hash, int shift);
+        abstract Node<K, V> put(K key, V value, int hash, int shift, boolean[] added);
+        abstract Node<K, V> remove(K key, int hash, int shift);
+        abstract void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    private static final class BitmapNode<K, V> extends Node<K, V> {
+        private static final BitmapNode<?, ?> EMPTY = new BitmapNode<>(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        private BitmapNode(int bitmap, Object[] array){
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <K, V> BitmapNode<K, V> empty(){
+            return (BitmapNode<K, V>) EMPTY;
+        }
+
+        private static int bit(int hash, int shift){
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit){
+            return Integer.bitCount(bitmap & (bit-1));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V get(K key, int hash, int shift){
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0)
+                return null;
+            int index = index(bit);
+            Object slotKey = array[2*index], slotValue = array[2*index+1];
+            if (slotKey == null)
+                return ((Node<K, V>) slotValue).get(key, hash, shift+BITS);
+            return key.equals(slotKey) ? (V) slotValue : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> put(K key, V value, int hash, int shift, boolean[] added){
+            int bit = bit(hash, shift), index = index(bit);
+            if ((bitmap & bit) == 0){
+                added[0] = true;
+                Object[] newArray = new Object[array.length+2];
+                System.arraycopy(array, 0, newArray, 0, 2*index);
+                newArray[2*index] = key;
+                newArray[2*index+1] = value;
+                System.arraycopy(array, 2*index, newArray, 2*index+2, array.length-2*index);
+                return new BitmapNode<>(bitmap | bit, newArray);
+            }
+            Object slotKey = array[2*index], slotValue = array[2*index+1];
+            if (slotKey == null){
+                Node<K, V> child = (Node<K, V>) slotValue;
+                Node<K, V> newChild = child.put(key, value, hash, shift+BITS, added);
+                return newChild == child ? this : withSlot(index, null, newChild);
+            }
+            if (key.equals(slotKey))
+                return slotValue == value ? this : withSlot(index, slotKey, value);
+            added[0] = true;
+            return withSlot(index, null, pair((K) slotKey, (V) slotValue, key, value, hash, shift+BITS));
+        }
+
+        private static <K, V> Node<K, V> pair(K firstKey, V firstValue, K secondKey, V secondValue,
+                                              int secondHash, int shift){
+            int firstHash = hash(firstKey);
+            if (firstHash == secondHash)
+                return new CollisionNode<>(firstHash, new Object[]{firstKey, firstValue, secondKey, secondValue});
+            boolean[] ignored = {false};
+            return BitmapNode.<K, V>empty()
+                    .put(firstKey, firstValue, firstHash, shift, ignored)
+                    .put(secondKey, secondValue, secondHash, shift, ignored);
+        }
+
+        private BitmapNode<K, V> withSlot(int index, Object key, Object value){
+            Object[] newArray = array.clone();
+            newArray[2*index] = key;
+            newArray[2*index+1] = value;
+            return new BitmapNode<>(bitmap, newArray);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Node<K, V> remove(K key, int hash, int shift){
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0)
+                return this;
+            int index = index(bit);
+            Object slotKey = array[2*index], slotValue = array[2*index+1];
+            if (slotKey == null){
+                Node<K, V> child = (Node<K, V>) slotValue;
+                Node<K, V> newChild = child.remove(key, hash, shift+BITS);
+                if (newChild == child)
+                    return this;
+                if (newChild != null)
+                    return withSlot(index, null, newChild);
+            }
+            else if (!key.equals(slotKey))
+                return this;
+            if (bitmap == bit)
+                return null;
+            Object[] newArray = new Object[array.length-2];
+            System.arraycopy(array, 0, newArray, 0, 2*index);
+            System.arraycopy(array, 2*index+2, newArray, 2*index, newArray.length-2*index);
+            return new BitmapNode<>(bitmap & ~bit, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<? super K, ? super V> action){
+            for (int index = 0; 2*index < array.length; ++index)
+                forEachInSlot(index, action);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void forEachInSlot(int index, BiConsumer<? super K, ? super V> action){
+            Object slotKey = array[2*index], slotValue = array[2*index+1];
+            if (slotKey == null)
+                ((Node<K, V>) slotValue).forEach(action);
+            else
+                action.accept((K) slotKey, (V) slotValue);
+        }
+    }
+
+    private static final class CollisionNode<K, V> extends Node<K, V> {
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object[] array){
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int find(Object key){
+            for (int i = 0; i < array.length; i += 2){
+                if (key.equals(array[i]))
+                    return i;
+            }
+            return -1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V get(K key, int hash, int shift){
+            int i = find(key);
+            return i < 0 ? null : (V) array[i+1];
+        }
+
+        @Override
+        Node<K, V> put(K key, V value, int hash, int shift, boolean[] added){
+            if (hash != this.hash)
+                return new BitmapNode<K, V>(BitmapNode.bit(this.hash, shift), new Object[]{null, this})
+                        .put(key, value, hash, shift, added);
+            int i = find(key);
+            if (i >= 0){
+                if (array[i+1] == value)
+                    return this;
+                Object[] newArray = array.clone();
+                newArray[i+1] = value;
+                return new CollisionNode<>(hash, newArray);
+            }
+            added[0] = true;
+            Object[] newArray = Arrays.copyOf(array, array.length+2);
+            newArray[array.length] = key;
+            newArray[array.length+1] = value;
+            return new CollisionNode<>(hash, newArray);
+        }
+
+        @Override
+        Node<K, V> remove(K key, int hash, int shift){
+            int i = find(key);
+            if (i < 0)
+                return this;
+            if (array.length == 2)
+                return null;
+            Object[] newArray = new Object[array.length-2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i+2, newArray, i, newArray.length-i);
+            return new CollisionNode<>(hash, newArray);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<? super K, ? super V> action){
+            for (int i = 0; i < array.length; i += 2)
+                action.accept((K) array[i], (V) array[i+1]);
+        }
+    }
+
+}
@@ -0,0 +1,7 @@
+package model.spi;
+
+public interface BidirectionalStore extends GraphStore {
+
+    EdgeCursor inCursor();
+
+}
@@ -0,0 +1,167 @@
+package model.spi;
+
+import helpers.Assertions;
+
+import java.util.Arrays;
+
+public final class CsrStore implements BidirectionalStore {
+    private final int n;
+    private final int[] outOffsets, outTargets, outWeights;
+    private final int[] inOffsets, inSources, inEdges;
+
+    private CsrStore(int n, int[] outOffsets, int[] outTargets, int[] outWeights,
+                     int[] inOffsets, int[] inSources, int[] inEdges){
+        this.n = n;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outWeights = outWeights;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inEdges = inEdges;
+    }
+
+    public static CsrStore of(int verticesCount, int[] starts, int[] ends, int[] weights){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Edge arrays must have matching lengths"),
+                starts.length == ends.length && ends.length == weights.length
+        );
+        int m = starts.length;
+        int[] outOffsets = new int[verticesCount+1], inOffsets = new int[verticesCount+1];
+        for (int e = 0; e < m; ++e){
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Edge ends must be vertex ids in [0, "+verticesCount+")"),
+                    starts[e] >= 0 && starts[e] < verticesCount && ends[e] >= 0 && ends[e] < verticesCount
+            );
+            ++outOffsets[starts[e]+1];
+            ++inOffsets[ends[e]+1];
+        }
+        for (int v = 0; v < verticesCount; ++v){
+            outOffsets[v+1] += outOffsets[v];
+            inOffsets[v+1] += inOffsets[v];
+        }
+        int[] outTargets = new int[m], outWeights = new int[m], inSources = new int[m], inEdges = new int[m];
+        int[] outFill = Arrays.copyOf(outOffsets, verticesCount);
+        for (int e = 0; e < m; ++e){
+            int position = outFill[starts[e]]++;
+            outTargets[position] = ends[e];
+            outWeights[position] = weights[e];
+        }
+        int[] inFill = Arrays.copyOf(inOffsets, verticesCount);
+        for (int v = 0; v < verticesCount; ++v){
+            for (int e = outOffsets[v]; e < outOffsets[v+1]; ++e){
+                int position = inFill[outTargets[e]]++;
+                inSources[position] = v;
+                inEdges[position] = e;
+            }
+        }
+        return new CsrStore(verticesCount, outOffsets, outTargets, outWeights, inOffsets, inSources, inEdges);
+    }
+
+    public static CsrStore copyOf(GraphStore store){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Too many edges for an on-heap CSR store"),
+                store.edgesCount() < Integer.MAX_VALUE
+        );
+        int m = (int) store.edgesCount();
+        int[] starts = new int[m], ends = new int[m], weights = new int[m];
+        EdgeCursor cursor = store.outCursor();
+        int e = 0;
+        for (int v = 0; v < store.verticesCount(); ++v){
+            for (cursor.at(v); cursor.next(); ++e){
+                starts[e] = v;
+                ends[e] = cursor.neighbour();
+                weights[e] = cursor.weight();
+            }
+        }
+        return of(store.verticesCount(), starts, ends, weights);
+    }
+
+    public int outDegree(int vertex){
+        return outOffsets[vertex+1]-outOffsets[vertex];
+    }
+
+    public int inDegree(int vertex){
+        return inOffsets[vertex+1]-inOffsets[vertex];
+    }
+
+    @Override
+    public int verticesCount(){
+        return n;
+    }
+
+    @Override
+    public long edgesCount(){
+        return outTargets.length;
+    }
+
+    @Override
+    public EdgeCursor outCursor(){
+        return new Cursor(false);
+    }
+
+    @Override
+    public EdgeCursor inCursor(){
+        return new Cursor(true);
+    }
+
+    @Override
+    public boolean hasEdge(int start, int end){
+        return find(start, end) >= 0;
+    }
+
+    @Override
+    public int weight(int start, int end){
+        int e = find(start, end);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("No edge between the given vertices"),
+                e >= 0
+        );
+        return outWeights[e];
+    }
+
+    private int find(int start, int end){
+        for (int e = outOffsets[start]; e < outOffsets[start+1]; ++e){
+            if (outTargets[e] == end)
+                return e;
+        }
+        return -1;
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private final boolean incoming;
+        private int position, limit;
+
+        private Cursor(boolean incoming){
+            this.incoming = incoming;
+        }
+
+        @Override
+        public EdgeCursor at(int vertex){
+            int[] offsets = incoming ? inOffsets : outOffsets;
+            position = offsets[vertex]-1;
+            limit = offsets[vertex+1];
+            return this;
+        }
+
+        @Override
+        public boolean next(){
+            return ++position < limit;
+        }
+
+        @Override
+        public int neighbour(){
+            return incoming ? inSources[position] : outTargets[position];
+        }
+
+        @Override
+        public int weight(){
+            return outWeights[(int) edge()];
+        }
+
+        @Override
+        public long edge(){
+            return incoming ? inEdges[position] : position;
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package model.spi;
+
+public interface EdgeCursor {
+
+    EdgeCursor at(int vertex);
+
+    boolean next();
+
+    int neighbour();
+
+    int weight();
+
+    long edge();
+
+}
@@ -0,0 +1,6 @@
+package model.spi;
+
+@FunctionalInterface
+public interface EdgeVisitor {
+    void visit(long edge, int start, int end, int value);
+}
@@ -0,0 +1,15 @@
+package model.spi;
+
+public interface GraphStore {
+
+    int verticesCount();
+
+    long edgesCount();
+
+    EdgeCursor outCursor();
+
+    boolean hasEdge(int start, int end);
+
+    int weight(int start, int end);
+
+}
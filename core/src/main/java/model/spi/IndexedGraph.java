@@ -0,0 +1,200 @@
+package model.spi;
+
+import helpers.Assertions;
+import model.Edge;
+import model.Graph;
+import model.Vertex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class IndexedGraph implements BidirectionalStore {
+    private final Vertex[] vertices;
+    private final Map<Vertex, Integer> ids;
+    private final Edge[] edges;
+    private final int[] outOffsets, outTargets, outWeights;
+    private final int[] inOffsets, inSources, inEdges;
+
+    private IndexedGraph(Vertex[] vertices, Map<Vertex, Integer> ids, Edge[] edges,
+                         int[] outOffsets, int[] outTargets, int[] inOffsets, int[] inSources, int[] inEdges){
+        this.vertices = vertices;
+        this.ids = ids;
+        this.edges = edges;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inEdges = inEdges;
+        this.outWeights = new int[edges.length];
+        for (int e = 0; e < edges.length; ++e)
+            outWeights[e] = edges[e].getWeight();
+    }
+
+    public static IndexedGraph of(Graph graph){
+        int n = graph.verticesCount();
+        Vertex[] vertices = new Vertex[n];
+        Map<Vertex, Integer> ids = new HashMap<>();
+        for (Vertex vertex: graph.getVertices()){
+            vertices[ids.size()] = vertex;
+            ids.put(vertex, ids.size());
+        }
+        List<Map<Vertex, Edge>> successors = successors(graph, vertices);
+        int[] outOffsets = new int[n+1], inOffsets = new int[n+1];
+        for (int v = 0; v < n; ++v){
+            outOffsets[v+1] = outOffsets[v]+successors.get(v).size();
+            for (Vertex end: successors.get(v).keySet())
+                ++inOffsets[ids.get(end)+1];
+        }
+        for (int v = 0; v < n; ++v)
+            inOffsets[v+1] += inOffsets[v];
+        int m = outOffsets[n];
+        Edge[] edges = new Edge[m];
+        int[] outTargets = new int[m], inSources = new int[m], inEdges = new int[m];
+        int[] fill = new int[n];
+        System.arraycopy(inOffsets, 0, fill, 0, n);
+        int e = 0;
+        for (int v = 0; v < n; ++v){
+            for (Edge edge: successors.get(v).values()){
+                int end = ids.get(edge.getEnd());
+                edges[e] = edge;
+                outTargets[e] = end;
+                inSources[fill[end]] = v;
+                inEdges[fill[end]++] = e;
+                ++e;
+            }
+        }
+        return new IndexedGraph(vertices, ids, edges, outOffsets, outTargets, inOffsets, inSources, inEdges);
+    }
+
+    private static List<Map<Vertex, Edge>> successors(Graph graph, Vertex[] vertices){
+        List<Map<Vertex, Edge>> res = new ArrayList<>(vertices.length);
+        for (Vertex vertex: vertices)
+            res.add(graph.adjencyList(vertex));
+        return res;
+    }
+
+    public Vertex vertex(int id){
+        return vertices[id];
+    }
+
+    public int id(Vertex vertex){
+        Integer id = ids.get(vertex);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Vertex is not in the indexed graph"),
+                id != null
+        );
+        return id;
+    }
+
+    public Edge edge(long id){
+        return edges[(int) id];
+    }
+
+    @Override
+    public int verticesCount(){
+        return vertices.length;
+    }
+
+    @Override
+    public long edgesCount(){
+        return edges.length;
+    }
+
+    @Override
+    public EdgeCursor outCursor(){
+        return new OutCursor();
+    }
+
+    @Override
+    public EdgeCursor inCursor(){
+        return new InCursor();
+    }
+
+    @Override
+    public boolean hasEdge(int start, int end){
+        return find(start, end) >= 0;
+    }
+
+    @Override
+    public int weight(int start, int end){
+        int e = find(start, end);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("No edge between the given vertices"),
+                e >= 0
+        );
+        return outWeights[e];
+    }
+
+    private int find(int start, int end){
+        for (int e = outOffsets[start]; e < outOffsets[start+1]; ++e){
+            if (outTargets[e] == end)
+                return e;
+        }
+        return -1;
+    }
+
+    private final class OutCursor implements EdgeCursor {
+        private int position, limit;
+
+        @Override
+        public EdgeCursor at(int vertex){
+            position = outOffsets[vertex]-1;
+            limit = outOffsets[vertex+1];
+            return this;
+        }
+
+        @Override
+        public boolean next(){
+            return ++position < limit;
+        }
+
+        @Override
+        public int neighbour(){
+            return outTargets[position];
+        }
+
+        @Override
+        public int weight(){
+            return outWeights[position];
+        }
+
+        @Override
+        public long edge(){
+            return position;
+        }
+    }
+
+    private final class InCursor implements EdgeCursor {
+        private int position, limit;
+
+        @Override
+        public EdgeCursor at(int vertex){
+            position = inOffsets[vertex]-1;
+            limit = inOffsets[vertex+1];
+            return this;
+        }
+
+        @Override
+        public boolean next(){
+            return ++position < limit;
+        }
+
+        @Override
+        public int neighbour(){
+            return inSources[position];
+        }
+
+        @Override
+        public int weight(){
+            return outWeights[inEdges[position]];
+        }
+
+        @Override
+        public long edge(){
+            return inEdges[position];
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package model.spi;
+
+import helpers.Assertions;
+
+import java.util.BitSet;
+
+public final class MatrixStore implements BidirectionalStore {
+    public static final int MAX_VERTICES = 46_340;
+
+    private final int n;
+    private final BitSet[] rows, columns;
+    private final int[] weights;
+    private long edgesCount = 0;
+
+    public MatrixStore(int verticesCount){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Matrix stores hold between 0 and "+MAX_VERTICES+" vertices"),
+                verticesCount >= 0 && verticesCount <= MAX_VERTICES
+        );
+        this.n = verticesCount;
+        this.rows = new BitSet[n];
+        this.columns = new BitSet[n];
+        for (int v = 0; v < n; ++v){
+            rows[v] = new BitSet(n);
+            columns[v] = new BitSet(n);
+        }
+        this.weights = new int[n*n];
+    }
+
+    public static MatrixStore copyOf(GraphStore store){
+        MatrixStore res = new MatrixStore(store.verticesCount());
+        EdgeCursor cursor = store.outCursor();
+        for (int v = 0; v < res.n; ++v){
+            for (cursor.at(v); cursor.next(); )
+                res.setEdge(v, cursor.neighbour(), cursor.weight());
+        }
+        return res;
+    }
+
+    public MatrixStore setEdge(int start, int end, int weight){
+        checkVertices(start, end);
+        if (!rows[start].get(end)){
+            rows[start].set(end);
+            columns[end].set(start);
+            ++edgesCount;
+        }
+        weights[start*n+end] = weight;
+        return this;
+    }
+
+    public MatrixStore removeEdge(int start, int end){
+        checkVertices(start, end);
+        if (rows[start].get(end)){
+            rows[start].clear(end);
+            columns[end].clear(start);
+            weights[start*n+end] = 0;
+            --edgesCount;
+        }
+        return this;
+    }
+
+    private void checkVertices(int start, int end){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Vertex ids must lie in [0, "+n+")"),
+                start >= 0 && start < n && end >= 0 && end < n
+        );
+    }
+
+    public BitSet row(int vertex){
+        return rows[vertex];
+    }
+
+    public int[] weights(){
+        return weights;
+    }
+
+    @Override
+    public int verticesCount(){
+        return n;
+    }
+
+    @Override
+    public long edgesCount(){
+        return edgesCount;
+    }
+
+    @Override
+    public EdgeCursor outCursor(){
+        return new BitCursor(rows, false);
+    }
+
+    @Override
+    public EdgeCursor inCursor(){
+        return new BitCursor(columns, true);
+    }
+
+    @Override
+    public boolean hasEdge(int start, int end){
+        return rows[start].get(end);
+    }
+
+    @Override
+    public int weight(int start, int end){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("No edge between the given vertices"),
+                hasEdge(start, end)
+        );
+        return weights[start*n+end];
+    }
+
+    private final class BitCursor implements EdgeCursor {
+        private final BitSet[] bits;
+        private final boolean transposed;
+        private int vertex, neighbour;
+
+        private BitCursor(BitSet[] bits, boolean transposed){
+            this.bits = bits;
+            this.transposed = transposed;
+        }
+
+        @Override
+        public EdgeCursor at(int vertex){
+            this.vertex = vertex;
+            this.neighbour = -1;
+            return this;
+        }
+
+        @Override
+        public boolean next(){
+            if (neighbour >= n)
+                return false;
+            neighbour = bits[vertex].nextSetBit(neighbour+1);
+            if (neighbour >= 0)
+                return true;
+            neighbour = n;
+            return false;
+        }
+
+        @Override
+        public int neighbour(){
+            return neighbour;
+        }
+
+        @Override
+        public int weight(){
+            return weights[(int) edge()];
+        }
+
+        @Override
+        public long edge(){
+            return transposed ? (long) neighbour*n+vertex : (long) vertex*n+neighbour;
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+package model.spi;
+
+import helpers.Assertions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class OffHeapCsrStore implements GraphStore, Closeable {
+    private static final long MAGIC = 0x4353_5247_0001L;
+    private static final int HEADER_BYTES = 32;
+
+    private final int n;
+    private final long m;
+    private final Segments offsets, targets, weights;
+    private final FileChannel channel;
+
+    private OffHeapCsrStore(int n, long m, Segments offsets, Segments targets, Segments weights, FileChannel channel){
+        this.n = n;
+        this.m = m;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.channel = channel;
+    }
+
+    public static Builder builder(int verticesCount, long edgesCount){
+        checkSizes(verticesCount, edgesCount);
+        return new Builder(verticesCount, edgesCount, Segments.allocate(8L*(verticesCount+1)),
+                Segments.allocate(4*edgesCount), Segments.allocate(4*edgesCount), null);
+    }
+
+    public static Builder builder(Path file, int verticesCount, long edgesCount) throws IOException {
+        checkSizes(verticesCount, edgesCount);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            Segments[] regions = map(channel, FileChannel.MapMode.READ_WRITE, verticesCount, edgesCount);
+            return new Builder(verticesCount, edgesCount, regions[0], regions[1], regions[2], channel);
+        } catch (IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static OffHeapCsrStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0);
+            header.flip();
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Not a CSR graph file: "+file),
+                    header.remaining() == HEADER_BYTES && header.getLong() == MAGIC
+            );
+            int verticesCount = (int) header.getLong();
+            long edgesCount = header.getLong();
+            checkSizes(verticesCount, edgesCount);
+            Segments[] regions = map(channel, FileChannel.MapMode.READ_ONLY, verticesCount, edgesCount);
+            return new OffHeapCsrStore(verticesCount, edgesCount, regions[0], regions[1], regions[2], channel);
+        } catch (IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static OffHeapCsrStore copyOf(GraphStore store){
+        Builder builder = builder(store.verticesCount(), store.edgesCount());
+        copy(store, builder);
+        return builder.build();
+    }
+
+    public static OffHeapCsrStore copyOf(GraphStore store, Path file) throws IOException {
+        Builder builder = builder(file, store.verticesCount(), store.edgesCount());
+        copy(store, builder);
+        return builder.build();
+    }
+
+    private static void copy(GraphStore store, Builder builder){
+        EdgeCursor cursor = store.outCursor();
+        for (int v = 0; v < store.verticesCount(); ++v){
+            for (cursor.at(v); cursor.next(); )
+                builder.addEdge(v, cursor.neighbour(), cursor.weight());
+        }
+    }
+
+    private static Segments[] map(FileChannel channel, FileChannel.MapMode mode, int verticesCount, long edgesCount)
+            throws IOException {
+        long offsetsBytes = 8L*(verticesCount+1), edgesBytes = 4*edgesCount;
+        return new Segments[]{
+                Segments.map(channel, mode, HEADER_BYTES, offsetsBytes),
+                Segments.map(channel, mode, HEADER_BYTES+offsetsBytes, edgesBytes),
+                Segments.map(channel, mode, HEADER_BYTES+offsetsBytes+edgesBytes, edgesBytes)
+        };
+    }
+
+    private static void checkSizes(int verticesCount, long edgesCount){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Vertices and edges counts must be non negative"),
+                verticesCount >= 0 && edgesCount >= 0
+        );
+    }
+
+    public boolean isMapped(){
+        return channel != null;
+    }
+
+    public long sizeInBytes(){
+        return offsets.bytes()+targets.bytes()+weights.bytes();
+    }
+
+    @Override
+    public int verticesCount(){
+        return n;
+    }
+
+    @Override
+    public long edgesCount(){
+        return m;
+    }
+
+    public long degree(int vertex){
+        return offsets.getLong(vertex+1)-offsets.getLong(vertex);
+    }
+
+    @Override
+    public EdgeCursor outCursor(){
+        return new Cursor();
+    }
+
+    @Override
+    public boolean hasEdge(int start, int end){
+        return find(start, end) >= 0;
+    }
+
+    @Override
+    public int weight(int start, int end){
+        long e = find(start, end);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("No edge between the given vertices"),
+                e >= 0
+        );
+        return weights.getInt(e);
+    }
+
+    private long find(int start, int end){
+        for (long e = offsets.getLong(start), last = offsets.getLong(start+1); e < last; ++e){
+            if (targets.getInt(e) == end)
+                return e;
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private long position, limit;
+
+        @Override
+        public EdgeCursor at(int vertex){
+            position = offsets.getLong(vertex)-1;
+            limit = offsets.getLong(vertex+1);
+            return this;
+        }
+
+        @Override
+        public boolean next(){
+            return ++position < limit;
+        }
+
+        @Override
+        public int neighbour(){
+            return targets.getInt(position);
+        }
+
+        @Override
+        public int weight(){
+            return weights.getInt(position);
+        }
+
+        @Override
+        public long edge(){
+            return position;
+        }
+    }
+
+    public static final class Builder {
+        private final int n;
+        private final long m;
+        private final Segments offsets, targets, weights;
+        private final FileChannel channel;
+        private int currentVertex = 0;
+        private long written = 0;
+        private boolean built = false;
+
+        private Builder(int n, long m, Segments offsets, Segments targets, Segments weights, FileChannel channel){
+            this.n = n;
+            this.m = m;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.channel = channel;
+            offsets.putLong(0, 0);
+        }
+
+        public Builder addEdge(int start, int end, int weight){
+            Assertions.assertThat(
+                    () -> new IllegalStateException("The store has already been built"),
+                    !built
+            );
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Edges must be added by non decreasing start vertex"),
+                    start >= currentVertex && start < n && end >= 0 && end < n
+            );
+            Assertions.assertThat(
+                    () -> new IllegalStateException("More edges than the declared "+m),
+                    written < m
+            );
+            while (currentVertex < start)
+                offsets.putLong(++currentVertex, written);
+            targets.putInt(written, end);
+            weights.putInt(written, weight);
+            ++written;
+            return this;
+        }
+
+        public OffHeapCsrStore build(){
+            Assertions.assertThat(
+                    () -> new IllegalStateException("Expected "+m+" edges but "+written+" were added"),
+                    !built && written == m
+            );
+            built = true;
+            while (currentVertex < n)
+                offsets.putLong(++currentVertex, written);
+            if (channel != null)
+                writeHeader();
+            return new OffHeapCsrStore(n, m, offsets, targets, weights, channel);
+        }
+
+        private void writeHeader(){
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC).putLong(n).putLong(m).putLong(0).flip();
+            try {
+                while (header.hasRemaining())
+                    channel.write(header, HEADER_BYTES-header.remaining());
+                channel.force(true);
+            } catch (IOException e){
+                throw new IllegalStateException("Cannot write the graph file header", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package model.spi;
+
+import helpers.Assertions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+final class Segments {
+    static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT, SEGMENT_MASK = SEGMENT_SIZE-1;
+
+    private final ByteBuffer[] buffers;
+    private final long bytes;
+
+    private Segments(ByteBuffer[] buffers, long bytes){
+        this.buffers = buffers;
+        this.bytes = bytes;
+    }
+
+    static Segments allocate(long bytes){
+        ByteBuffer[] buffers = new ByteBuffer[segmentsCount(bytes)];
+        for (int i = 0; i < buffers.length; ++i)
+            buffers[i] = ByteBuffer.allocateDirect((int) segmentBytes(bytes, i)).order(ByteOrder.LITTLE_ENDIAN);
+        return new Segments(buffers, bytes);
+    }
+
+    static Segments map(FileChannel channel, FileChannel.MapMode mode, long position, long bytes) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[segmentsCount(bytes)];
+        for (int i = 0; i < buffers.length; ++i){
+            buffers[i] = channel.map(mode, position+i*SEGMENT_SIZE, segmentBytes(bytes, i))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new Segments(buffers, bytes);
+    }
+
+    private static int segmentsCount(long bytes){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Segment size must be non negative"),
+                bytes >= 0
+        );
+        return (int) Math.max(1, (bytes+SEGMENT_SIZE-1) >>> SEGMENT_SHIFT);
+    }
+
+    private static long segmentBytes(long bytes, int segment){
+        return Math.min(SEGMENT_SIZE, bytes-(long) segment*SEGMENT_SIZE);
+    }
+
+    long bytes(){
+        return bytes;
+    }
+
+    int getInt(long index){
+        long offset = index << 2;
+        return buffers[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    void putInt(long index, int value){
+        long offset = index << 2;
+        buffers[(int) (offset >>> SEGMENT_SHIFT)].putInt((int) (offset & SEGMENT_MASK), value);
+    }
+
+    long getLong(long index){
+        long offset = index << 3;
+        return buffers[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    void putLong(long index, long value){
+        long offset = index << 3;
+        buffers[(int) (offset >>> SEGMENT_SHIFT)].putLong((int) (offset & SEGMENT_MASK), value);
+    }
+
+}
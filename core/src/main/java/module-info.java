@@ -0,0 +1,12 @@
+module graphsvisualizer.core {
+    requires static jdk.incubator.vector;
+
+    exports cli;
+    exports helpers;
+    exports model;
+    exports model.algorithms;
+    exports model.io;
+    exports model.persistent;
+    exports model.spi;
+    exports server;
+}
@@ -0,0 +1,290 @@
+package server;
+
+import helpers.Assertions;
+import model.Graph;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class GraphServer implements Closeable {
+    public static final int MAX_IN_FLIGHT = 64, QUEUED_PER_WORKER = 64;
+    private static final int READ_BUFFER = 1 << 16;
+
+    private final Graph graph;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final ThreadPoolExecutor workers;
+    private final long workBudget;
+    private final Queue<Connection> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong served = new AtomicLong(), rejected = new AtomicLong();
+    private final Thread loop;
+    private volatile Snapshot snapshot;
+    private volatile boolean running = true;
+
+    private GraphServer(Graph graph, ServerSocketChannel server, int workersCount) throws IOException {
+        this.graph = graph;
+        this.server = server;
+        snapshot = Snapshot.of(graph);
+        selector = Selector.open();
+        workBudget = Runtime.getRuntime().maxMemory()/(2L*workersCount);
+        AtomicInteger threads = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workersCount, workersCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workersCount*QUEUED_PER_WORKER), runnable -> {
+                    Thread thread = new Thread(runnable, "graph-server-worker-"+threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        loop = new Thread(this::serve, "graph-server-io");
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    public static GraphServer start(Graph graph, SocketAddress address, int workers) throws IOException {
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("At least one worker is required"),
+                workers > 0
+        );
+        ServerSocketChannel server = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            return new GraphServer(graph, server, workers);
+        } catch (IOException | RuntimeException e){
+            server.close();
+            throw e;
+        }
+    }
+
+    public void refresh(){
+        if (graph.version() != snapshot.version())
+            snapshot = Snapshot.of(graph);
+    }
+
+    public long snapshotVersion(){
+        return snapshot.version();
+    }
+
+    public SocketAddress address() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    public long served(){
+        return served.get();
+    }
+
+    public long rejected(){
+        return rejected.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+        SocketAddress address = server.getLocalAddress();
+        for (SelectionKey key: selector.keys())
+            key.channel().close();
+        selector.close();
+        if (address instanceof UnixDomainSocketAddress)
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+    }
+
+    private void serve(){
+        try {
+            while (running){
+                selector.select();
+                for (Connection connection = pending.poll(); connection != null; connection = pending.poll())
+                    connection.flush();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()){
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable())
+                        accept();
+                    else {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isWritable())
+                            connection.flush();
+                        if (key.isValid() && key.isReadable())
+                            connection.read();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e){
+            running = false;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null)
+            return;
+        channel.configureBlocking(false);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+        private final Queue<ByteBuffer> out = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private SelectionKey key;
+
+        Connection(SocketChannel channel){
+            this.channel = channel;
+        }
+
+        void read(){
+            try {
+                if (channel.read(in) < 0){
+                    close();
+                    return;
+                }
+                drain();
+            } catch (IOException e){
+                close();
+            }
+        }
+
+        private void drain() throws IOException {
+            in.flip();
+            while (inFlight.get() < MAX_IN_FLIGHT && in.remaining() >= Protocol.LENGTH){
+                int length = in.getInt(in.position());
+                if (length < Protocol.HEADER || length > Protocol.MAX_REQUEST-Protocol.LENGTH){
+                    close();
+                    return;
+                }
+                if (in.remaining() < Protocol.LENGTH+length)
+                    break;
+                byte[] frame = new byte[length];
+                in.position(in.position()+Protocol.LENGTH);
+                in.get(frame);
+                dispatch(frame);
+            }
+            in.compact();
+            updateInterest();
+        }
+
+        private void dispatch(byte[] frame) throws IOException {
+            DataInputStream request = new DataInputStream(new ByteArrayInputStream(frame));
+            inFlight.incrementAndGet();
+            int id = request.readInt();
+            byte operation = request.readByte();
+            int arity = Protocol.arity(operation);
+            if (arity < 0){
+                send(error(id, Protocol.BAD_REQUEST, "Unknown operation "+operation));
+                return;
+            }
+            String[] names = new String[arity];
+            for (int i = 0; i < arity; ++i)
+                names[i] = request.readUTF();
+            Snapshot current = snapshot;
+            try {
+                workers.execute(() -> send(answer(current, id, operation, names)));
+            } catch (RejectedExecutionException e){
+                rejected.incrementAndGet();
+                send(error(id, Protocol.BUSY, "Server busy"));
+            }
+        }
+
+        private ByteBuffer answer(Snapshot current, int id, byte operation, String[] names){
+            try {
+                long needed = current.workBytes(operation), responseBytes = current.responseBytes(operation);
+                if (responseBytes > Protocol.MAX_RESPONSE)
+                    return error(id, Protocol.FAILED, "The response could need "+responseBytes+" bytes, more than "
+                            +Protocol.MAX_RESPONSE);
+                if (needed > workBudget)
+                    return error(id, Protocol.FAILED, "The query could need "+needed+" bytes, more than the "
+                            +workBudget+" allowed per worker");
+                int[] vertices = new int[names.length];
+                for (int i = 0; i < names.length; ++i)
+                    vertices[i] = current.id(names[i]);
+                return Protocol.frame(id, Protocol.OK, response -> current.answer(operation, vertices, response));
+            } catch (IllegalArgumentException e){
+                return error(id, Protocol.BAD_REQUEST, String.valueOf(e.getMessage()));
+            } catch (RuntimeException e){
+                return error(id, Protocol.FAILED, e.toString());
+            } finally {
+                served.incrementAndGet();
+            }
+        }
+
+        private ByteBuffer error(int id, byte status, String message){
+            return Protocol.frame(id, status, response -> response.writeUTF(message));
+        }
+
+        private void send(ByteBuffer response){
+            out.add(response);
+            pending.add(this);
+            selector.wakeup();
+        }
+
+        void flush(){
+            if (!key.isValid())
+                return;
+            try {
+                for (ByteBuffer response = out.peek(); response != null; response = out.peek()){
+                    channel.write(response);
+                    if (response.hasRemaining())
+                        break;
+                    out.poll();
+                    inFlight.decrementAndGet();
+                }
+                if (inFlight.get() < MAX_IN_FLIGHT && in.position() > 0)
+                    drain();
+                else
+                    updateInterest();
+            } catch (IOException e){
+                close();
+            }
+        }
+
+        private void updateInterest(){
+            if (!key.isValid())
+                return;
+            int interest = out.isEmpty() ? 0 : SelectionKey.OP_WRITE;
+            if (inFlight.get() < MAX_IN_FLIGHT)
+                interest |= SelectionKey.OP_READ;
+            key.interestOps(interest);
+        }
+
+        private void close(){
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored){}
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package server;
+
+import helpers.Assertions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+public final class Protocol {
+    public static final byte BFS = 1, SHORTEST_PATH = 2, REACHABLE = 3, SPANNING_TREE = 4, MAX_FLOW = 5;
+    public static final byte OK = 0, BAD_REQUEST = 1, BUSY = 2, FAILED = 3;
+    public static final int MAX_REQUEST = 1 << 16, MAX_RESPONSE = Integer.MAX_VALUE-8;
+    static final int LENGTH = Integer.BYTES, HEADER = Integer.BYTES+Byte.BYTES;
+
+    private Protocol(){}
+
+    public static int arity(byte operation){
+        switch (operation){
+            case BFS:
+                return 1;
+            case SHORTEST_PATH:
+            case REACHABLE:
+            case MAX_FLOW:
+                return 2;
+            case SPANNING_TREE:
+                return 0;
+            default:
+                return -1;
+        }
+    }
+
+    public static ByteBuffer request(int id, byte operation, String... vertices){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Operation "+operation+" expects "+arity(operation)+" vertices"),
+                arity(operation) == vertices.length
+        );
+        ByteBuffer frame = frame(id, operation, out -> {
+            for (String vertex: vertices)
+                out.writeUTF(vertex);
+        });
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Request exceeds "+MAX_REQUEST+" bytes"),
+                frame.remaining() <= MAX_REQUEST
+        );
+        return frame;
+    }
+
+    public static void write(WritableByteChannel channel, ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining())
+            channel.write(frame);
+    }
+
+    public static Response read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(LENGTH);
+        if (!fill(channel, length, true))
+            return null;
+        int size = length.getInt(0);
+        if (size < HEADER || size > MAX_RESPONSE)
+            throw new IOException("Invalid frame length "+size);
+        ByteBuffer body = ByteBuffer.allocate(size);
+        fill(channel, body, false);
+        byte[] payload = new byte[size-HEADER];
+        int id = body.getInt(0);
+        byte status = body.get(Integer.BYTES);
+        body.position(HEADER);
+        body.get(payload);
+        return new Response(id, status, payload);
+    }
+
+    private static boolean fill(ReadableByteChannel channel, ByteBuffer buffer, boolean endAllowed) throws IOException {
+        while (buffer.hasRemaining()){
+            if (channel.read(buffer) < 0){
+                if (endAllowed && buffer.position() == 0)
+                    return false;
+                throw new EOFException("Connection closed inside a frame");
+            }
+        }
+        return true;
+    }
+
+    static ByteBuffer frame(int id, byte code, Body body){
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)){
+            out.writeInt(0);
+            out.writeInt(id);
+            out.writeByte(code);
+            body.write(out);
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+        frame.putInt(0, frame.remaining()-LENGTH);
+        return frame;
+    }
+
+    interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    public static final class Response {
+        private final int id;
+        private final byte status;
+        private final byte[] payload;
+
+        private Response(int id, byte status, byte[] payload){
+            this.id = id;
+            this.status = status;
+            this.payload = payload;
+        }
+
+        public int id(){
+            return id;
+        }
+
+        public byte status(){
+            return status;
+        }
+
+        public DataInputStream payload(){
+            return new DataInputStream(new ByteArrayInputStream(payload));
+        }
+
+        public String message() throws IOException {
+            return status == OK ? "" : payload().readUTF();
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+package server;
+
+import helpers.Assertions;
+import model.Graph;
+import model.algorithms.Algorithms;
+import model.algorithms.IdEventRecorder;
+import model.algorithms.MaxFlow;
+import model.algorithms.PointToPoint;
+import model.algorithms.ReachabilityIndex;
+import model.algorithms.ShortestPath;
+import model.spi.CsrStore;
+import model.spi.EdgeCursor;
+import model.spi.IndexedGraph;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static model.algorithms.Algorithms.UNREACHED;
+
+final class Snapshot {
+    private static final int RESPONSE_COPIES = 3;
+
+    private final long version;
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final CsrStore store;
+    private final long nameBytes, longestName;
+    private volatile byte[] spanningTree;
+    private volatile ReachabilityIndex reachability;
+    private volatile boolean reachabilityTooLarge;
+
+    private Snapshot(long version, String[] names, Map<String, Integer> ids, CsrStore store){
+        this.version = version;
+        this.names = names;
+        this.ids = ids;
+        this.store = store;
+        long total = 0, longest = 0;
+        for (String name: names){
+            long bytes = Short.BYTES+utfLength(name);
+            total += bytes;
+            longest = Math.max(longest, bytes);
+        }
+        this.nameBytes = total;
+        this.longestName = longest;
+    }
+
+    private static long utfLength(String name){
+        long length = 0;
+        for (int i = 0; i < name.length(); ++i){
+            char c = name.charAt(i);
+            length += c >= 1 && c <= 0x7F ? 1 : c <= 0x7FF ? 2 : 3;
+        }
+        return length;
+    }
+
+    static Snapshot of(Graph graph){
+        long version = graph.version();
+        IndexedGraph indexed = IndexedGraph.of(graph);
+        int n = indexed.verticesCount();
+        String[] names = new String[n];
+        Map<String, Integer> ids = new HashMap<>();
+        for (int v = 0; v < n; ++v){
+            String name = indexed.vertex(v).getName();
+            names[v] = name;
+            Assertions.assertThat(
+                    () -> new IllegalArgumentException("Duplicate vertex name "+name),
+                    ids.putIfAbsent(name, v) == null
+            );
+        }
+        return new Snapshot(version, names, ids, CsrStore.copyOf(indexed));
+    }
+
+    long version(){
+        return version;
+    }
+
+    int id(String name){
+        Integer id = ids.get(name);
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Unknown vertex "+name),
+                id != null
+        );
+        return id;
+    }
+
+    long responseBytes(byte operation){
+        long n = names.length, m = store.edgesCount();
+        switch (operation){
+            case Protocol.BFS:
+                return Integer.BYTES+nameBytes+n*Integer.BYTES;
+            case Protocol.SHORTEST_PATH:
+                return Long.BYTES+Integer.BYTES+nameBytes;
+            case Protocol.REACHABLE:
+                return 1;
+            case Protocol.SPANNING_TREE:
+                return Long.BYTES+Integer.BYTES+n*(2*longestName+Integer.BYTES);
+            case Protocol.MAX_FLOW:
+                return Long.BYTES+Integer.BYTES+m*(2*longestName+Integer.BYTES);
+            default:
+                return 0;
+        }
+    }
+
+    long workBytes(byte operation){
+        long n = names.length, m = store.edgesCount();
+        long response = RESPONSE_COPIES*responseBytes(operation);
+        switch (operation){
+            case Protocol.BFS:
+                return response+2L*Integer.BYTES*n;
+            case Protocol.SHORTEST_PATH:
+                return response+64*n;
+            case Protocol.REACHABLE:
+                if (reachability != null || reachabilityTooLarge)
+                    return response+5*n;
+                return response+32*n+8*m+Math.min(ReachabilityIndex.DEFAULT_MAX_BYTES,
+                        ReachabilityIndex.closureBytes(names.length));
+            case Protocol.SPANNING_TREE:
+                return spanningTree != null ? response : response+36*m+28*n;
+            case Protocol.MAX_FLOW:
+                return response+64*m+48*n;
+            default:
+                return response;
+        }
+    }
+
+    void answer(byte operation, int[] vertices, DataOutputStream out) throws IOException {
+        switch (operation){
+            case Protocol.BFS:
+                bfs(vertices[0], out);
+                break;
+            case Protocol.SHORTEST_PATH:
+                shortestPath(vertices[0], vertices[1], out);
+                break;
+            case Protocol.REACHABLE:
+                out.writeBoolean(reachable(vertices[0], vertices[1]));
+                break;
+            case Protocol.SPANNING_TREE:
+                out.write(spanningTree());
+                break;
+            case Protocol.MAX_FLOW:
+                maxFlow(vertices[0], vertices[1], out);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation "+operation);
+        }
+    }
+
+    private void bfs(int source, DataOutputStream out) throws IOException {
+        int[] distances = new int[names.length];
+        Algorithms.breathFirstSearch(store, source, distances, IdEventRecorder.NONE);
+        int reached = 0;
+        for (int distance: distances)
+            reached += distance == UNREACHED ? 0 : 1;
+        out.writeInt(reached);
+        for (int v = 0; v < distances.length; ++v){
+            if (distances[v] != UNREACHED){
+                out.writeUTF(names[v]);
+                out.writeInt(distances[v]);
+            }
+        }
+    }
+
+    private void shortestPath(int source, int target, DataOutputStream out) throws IOException {
+        Optional<ShortestPath> path = PointToPoint.bidirectionalDijkstra(store, source, target, IdEventRecorder.NONE);
+        out.writeLong(path.map(ShortestPath::distance).orElse(-1L));
+        out.writeInt(path.map(ShortestPath::length).orElse(0));
+        if (path.isPresent()){
+            for (int v: path.get().vertices())
+                out.writeUTF(names[v]);
+        }
+    }
+
+    private boolean reachable(int source, int target){
+        ReachabilityIndex index = reachability();
+        if (index != null)
+            return index.reaches(source, target);
+        if (source == target)
+            return true;
+        boolean[] visited = new boolean[names.length];
+        int[] queue = new int[names.length];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        visited[source] = true;
+        EdgeCursor cursor = store.outCursor();
+        while (head < tail){
+            for (cursor.at(queue[head++]); cursor.next(); ){
+                int w = cursor.neighbour();
+                if (w == target)
+                    return true;
+                if (!visited[w]){
+                    visited[w] = true;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return false;
+    }
+
+    private ReachabilityIndex reachability(){
+        ReachabilityIndex index = reachability;
+        if (index != null || reachabilityTooLarge)
+            return index;
+        synchronized (this){
+            if (reachability == null && !reachabilityTooLarge){
+                try {
+                    reachability = ReachabilityIndex.of(store);
+                } catch (IllegalArgumentException e){
+                    reachabilityTooLarge = true;
+                }
+            }
+            return reachability;
+        }
+    }
+
+    private byte[] spanningTree() throws IOException {
+        byte[] encoded = spanningTree;
+        if (encoded == null){
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            EdgeList edges = new EdgeList();
+            long weight = Algorithms.kruskal(store, (edge, start, end, value) -> edges.add(start, end, value),
+                    IdEventRecorder.NONE);
+            out.writeLong(weight);
+            edges.write(out);
+            out.flush();
+            spanningTree = encoded = bytes.toByteArray();
+        }
+        return encoded;
+    }
+
+    private void maxFlow(int source, int sink, DataOutputStream out) throws IOException {
+        EdgeList flows = new EdgeList();
+        long flow = MaxFlow.pushRelabel(store, source, sink, MaxFlow.Selection.HIGHEST_LABEL,
+                (edge, start, end, value) -> flows.add(start, end, value), new boolean[names.length],
+                IdEventRecorder.NONE);
+        out.writeLong(flow);
+        flows.write(out);
+    }
+
+    private final class EdgeList {
+        private int[] values = new int[48];
+        private int size;
+
+        void add(int start, int end, int value){
+            if (size+3 > values.length)
+                values = Arrays.copyOf(values, 2*values.length);
+            values[size++] = start;
+            values[size++] = end;
+            values[size++] = value;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(size/3);
+            for (int i = 0; i < size; i += 3){
+                out.writeUTF(names[values[i]]);
+                out.writeUTF(names[values[i+1]]);
+                out.writeInt(values[i+2]);
+            }
+        }
+    }
+
+}
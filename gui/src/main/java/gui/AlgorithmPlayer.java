@@ -0,0 +1,246 @@
+package gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import model.Edge;
+import model.algorithms.EventBuffer;
+
+import java.util.*;
+
+public final class AlgorithmPlayer extends AnimationTimer {
+    public static final int DEFAULT_FRAME_RATE = 30, DEFAULT_EVENTS_PER_SECOND = 10;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int NO_PARENT = -1;
+
+    private final FXGraph graph;
+    private final ReadOnlyIntegerWrapper position = new ReadOnlyIntegerWrapper(), length = new ReadOnlyIntegerWrapper();
+    private final ReadOnlyBooleanWrapper playing = new ReadOnlyBooleanWrapper();
+    private final ReadOnlyBooleanWrapper truncated = new ReadOnlyBooleanWrapper();
+    private EventBuffer events = null;
+    private Runnable onFinished = () -> {};
+
+    private long frameIntervalNanos = NANOS_PER_SECOND / DEFAULT_FRAME_RATE;
+    private double eventsPerSecond = DEFAULT_EVENTS_PER_SECOND;
+    private long lastFrameTime = 0;
+    private double pendingEvents = 0;
+
+    private final BitSet visited = new BitSet(), dirtyVertices = new BitSet();
+    private int[] parents = new int[0];
+    private final Set<Long> highlighted = new HashSet<>(), dirtyEdges = new HashSet<>();
+    private final Map<Long, Integer> flows = new HashMap<>();
+
+    public AlgorithmPlayer(FXGraph graph){
+        this.graph = graph;
+    }
+
+    public void load(EventBuffer events, Runnable onFinished){
+        discard();
+        this.events = events;
+        this.onFinished = onFinished;
+        this.parents = new int[events.vertexCount()];
+        Arrays.fill(parents, NO_PARENT);
+        length.set(events.size());
+        position.set(0);
+        truncated.set(events.isTruncated());
+        for (FXVertex vertex: graph.getVertices())
+            vertex.setDimmed(true);
+        play();
+    }
+
+    public void discard(){
+        pause();
+        if (events == null)
+            return;
+        for (FXVertex vertex: graph.getVertices())
+            vertex.setDimmed(false);
+        for (Long key: highlighted)
+            fxEdge(key).ifPresent(edge -> edge.setHighlighted(false));
+        for (Long key: flows.keySet())
+            fxEdge(key).ifPresent(edge -> edge.showUsedWeight(Edge.DEFAULT_USED_WEIGHT));
+        clearState();
+        events = null;
+        length.set(0);
+        position.set(0);
+        truncated.set(false);
+    }
+
+    public void play(){
+        if (events == null || getPosition() == getLength())
+            return;
+        lastFrameTime = 0;
+        pendingEvents = 0;
+        playing.set(true);
+        start();
+    }
+
+    public void pause(){
+        stop();
+        playing.set(false);
+    }
+
+    public void step(){
+        pause();
+        seek(getPosition()+1);
+    }
+
+    public void seek(int target){
+        if (events == null)
+            return;
+        target = Math.max(0, Math.min(target, getLength()));
+        if (target == getPosition())
+            return;
+        if (target < getPosition())
+            rewind();
+        for (int i = getPosition(); i < target; ++i)
+            apply(i);
+        position.set(target);
+        flush();
+        if (target == getLength()){
+            pause();
+            onFinished.run();
+        }
+    }
+
+    @Override
+    public void handle(long now){
+        if (lastFrameTime == 0){
+            lastFrameTime = now;
+            return;
+        }
+        if (now-lastFrameTime < frameIntervalNanos)
+            return;
+        pendingEvents += eventsPerSecond*(now-lastFrameTime)/NANOS_PER_SECOND;
+        lastFrameTime = now;
+        int count = (int) pendingEvents;
+        pendingEvents -= count;
+        if (count > 0)
+            seek(getPosition()+count);
+    }
+
+    private void rewind(){
+        for (int id = visited.nextSetBit(0); id >= 0; id = visited.nextSetBit(id+1))
+            dirtyVertices.set(id);
+        dirtyEdges.addAll(highlighted);
+        dirtyEdges.addAll(flows.keySet());
+        visited.clear();
+        highlighted.clear();
+        flows.clear();
+        Arrays.fill(parents, NO_PARENT);
+        position.set(0);
+    }
+
+    private void apply(int index){
+        int from = events.from(index), to = events.to(index);
+        switch (events.type(index)){
+            case VISIT:
+                visit(to);
+                break;
+            case TREE_EDGE:
+                visit(from);
+                visit(to);
+                setHighlighted(edgeKey(from, to), true);
+                break;
+            case RELAX:
+                visit(from);
+                visit(to);
+                if (parents[to] != NO_PARENT)
+                    setHighlighted(edgeKey(parents[to], to), false);
+                parents[to] = from;
+                setHighlighted(edgeKey(from, to), true);
+                break;
+            case AUGMENT:
+                long key = edgeKey(from, to);
+                flows.merge(key, events.value(index), Integer::sum);
+                setHighlighted(key, true);
+                break;
+        }
+    }
+
+    private void visit(int id){
+        visited.set(id);
+        dirtyVertices.set(id);
+    }
+
+    private void setHighlighted(long key, boolean highlight){
+        if (highlight)
+            highlighted.add(key);
+        else
+            highlighted.remove(key);
+        dirtyEdges.add(key);
+    }
+
+    private void flush(){
+        for (int id = dirtyVertices.nextSetBit(0); id >= 0; id = dirtyVertices.nextSetBit(id+1)){
+            boolean dimmed = !visited.get(id);
+            graph.getVertex(events.vertex(id)).ifPresent(vertex -> vertex.setDimmed(dimmed));
+        }
+        for (Long key: dirtyEdges){
+            fxEdge(key).ifPresent(edge -> {
+                edge.setHighlighted(highlighted.contains(key));
+                edge.showUsedWeight(flows.getOrDefault(key, Edge.DEFAULT_USED_WEIGHT));
+            });
+        }
+        dirtyVertices.clear();
+        dirtyEdges.clear();
+    }
+
+    private void clearState(){
+        visited.clear();
+        dirtyVertices.clear();
+        highlighted.clear();
+        dirtyEdges.clear();
+        flows.clear();
+    }
+
+    private Optional<FXEdge> fxEdge(long key){
+        return graph.getEdge(events.vertex((int)(key >>> 32)), events.vertex((int) key));
+    }
+
+    private static long edgeKey(int from, int to){
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    public void setFrameRate(int framesPerSecond){
+        frameIntervalNanos = NANOS_PER_SECOND / framesPerSecond;
+    }
+
+    public void setEventsPerSecond(double eventsPerSecond){
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public int getPosition(){
+        return position.get();
+    }
+
+    public ReadOnlyIntegerProperty positionProperty(){
+        return position.getReadOnlyProperty();
+    }
+
+    public int getLength(){
+        return length.get();
+    }
+
+    public ReadOnlyIntegerProperty lengthProperty(){
+        return length.getReadOnlyProperty();
+    }
+
+    public boolean isPlaying(){
+        return playing.get();
+    }
+
+    public ReadOnlyBooleanProperty playingProperty(){
+        return playing.getReadOnlyProperty();
+    }
+
+    public boolean isTruncated(){
+        return truncated.get();
+    }
+
+    public ReadOnlyBooleanProperty truncatedProperty(){
+        return truncated.getReadOnlyProperty();
+    }
+
+}
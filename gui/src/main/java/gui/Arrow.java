@@ -0,0 +1,158 @@
+package gui;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.QuadCurve;
+
+public final class Arrow extends Group {
+    public static final double POINT_ANGLE_DEG = 30;
+    private static final Color DEFAULT_COLOR = Color.BLACK;
+    public static final int CURVE_ANGLE_ENABLED = 25;
+
+    private final ObservableDoubleValue startX, startY, endX, endY;
+    private final ArrowGeometry geometry;
+    private final Shapes shapes = new Shapes(), highlightShapes = new Shapes();
+    private final ObjectProperty<Paint> stroke = new SimpleObjectProperty<>();
+    private final ReadOnlyDoubleWrapper controlX = new ReadOnlyDoubleWrapper(),
+            controlY = new ReadOnlyDoubleWrapper();
+    private boolean geometryValid = false;
+
+    public Arrow(ObservableDoubleValue startX, ObservableDoubleValue startY,
+                 ObservableDoubleValue endX, ObservableDoubleValue endY, double maxPointLength, boolean curve){
+        this.startX = startX;
+        this.startY = startY;
+        this.endX = endX;
+        this.endY = endY;
+        this.geometry = new ArrowGeometry(maxPointLength, curve);
+
+        InvalidationListener invalidateGeometry = obs -> {
+            if (geometryValid){
+                geometryValid = false;
+                requestLayout();
+            }
+        };
+        startX.addListener(invalidateGeometry);
+        startY.addListener(invalidateGeometry);
+        endX.addListener(invalidateGeometry);
+        endY.addListener(invalidateGeometry);
+
+        shapes.bindStroke(stroke);
+        setStroke(DEFAULT_COLOR);
+        highlightShapes.group.setVisible(false);
+        highlightShapes.group.setMouseTransparent(true);
+        getChildren().addAll(highlightShapes.group, shapes.group);
+        updateGeometry();
+    }
+
+    @Override
+    protected void layoutChildren(){
+        super.layoutChildren();
+        if (!geometryValid)
+            updateGeometry();
+    }
+
+    private void updateGeometry(){
+        double sx = startX.get(), sy = startY.get(), ex = endX.get(), ey = endY.get();
+        geometry.update(sx, sy, ex, ey);
+        shapes.update(geometry, sx, sy, ex, ey);
+        highlightShapes.update(geometry, sx, sy, ex, ey);
+        controlX.set(geometry.getControlX());
+        controlY.set(geometry.getControlY());
+        geometryValid = true;
+    }
+
+    public void setStrokeWidth(double weight) {
+        shapes.setStrokeWidth(weight);
+    }
+
+    public void setStroke(Paint paint){
+        stroke.set(paint);
+    }
+
+    public Paint getStroke(){
+        return stroke.get();
+    }
+
+    public ObjectProperty<Paint> strokeProperty() {
+        return stroke;
+    }
+
+    public void setHighlightStrokeWidth(double weight){
+        highlightShapes.setStrokeWidth(weight);
+    }
+
+    public void setHighlightStroke(Paint paint){
+        highlightShapes.setStroke(paint);
+    }
+
+    public void setHighlighted(boolean highlighted){
+        highlightShapes.group.setVisible(highlighted);
+    }
+
+    public boolean isHighlighted(){
+        return highlightShapes.group.isVisible();
+    }
+
+    public ReadOnlyDoubleProperty controlXProperty(){
+        return controlX.getReadOnlyProperty();
+    }
+
+    public ReadOnlyDoubleProperty controlYProperty(){
+        return controlY.getReadOnlyProperty();
+    }
+
+    private static final class Shapes {
+        private final QuadCurve line = new QuadCurve();
+        private final Line left = new Line(), right = new Line();
+        private final Group group = new Group(line, right, left);
+
+        private Shapes(){
+            line.setFill(null);
+        }
+
+        private void update(ArrowGeometry geometry, double startX, double startY, double endX, double endY){
+            line.setStartX(startX);
+            line.setStartY(startY);
+            line.setControlX(geometry.getControlX());
+            line.setControlY(geometry.getControlY());
+            line.setEndX(endX);
+            line.setEndY(endY);
+            left.setStartX(geometry.getLeftX());
+            left.setStartY(geometry.getLeftY());
+            left.setEndX(endX);
+            left.setEndY(endY);
+            right.setStartX(geometry.getRightX());
+            right.setStartY(geometry.getRightY());
+            right.setEndX(endX);
+            right.setEndY(endY);
+        }
+
+        private void bindStroke(ObjectProperty<Paint> stroke){
+            line.strokeProperty().bind(stroke);
+            left.strokeProperty().bind(stroke);
+            right.strokeProperty().bind(stroke);
+        }
+
+        private void setStroke(Paint paint){
+            line.setStroke(paint);
+            left.setStroke(paint);
+            right.setStroke(paint);
+        }
+
+        private void setStrokeWidth(double weight){
+            line.setStrokeWidth(weight);
+            left.setStrokeWidth(weight);
+            right.setStrokeWidth(weight);
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package gui;
+
+final class ArrowGeometry {
+    private static final double MAX_POINT_PART = 1.0/3.0;
+
+    private final double maxPointLength;
+    private final double leftCos, leftSin, rightCos, rightSin, curveCos, curveSin;
+    private double controlX, controlY, leftX, leftY, rightX, rightY;
+
+    ArrowGeometry(double maxPointLength, boolean curve){
+        this.maxPointLength = maxPointLength;
+        double curveAngle = curve ? Arrow.CURVE_ANGLE_ENABLED : 0;
+        double leftRad = Math.toRadians(-Arrow.POINT_ANGLE_DEG+curveAngle),
+                rightRad = Math.toRadians(Arrow.POINT_ANGLE_DEG+curveAngle),
+                curveRad = Math.toRadians(curveAngle);
+        this.leftCos = Math.cos(leftRad);
+        this.leftSin = Math.sin(leftRad);
+        this.rightCos = Math.cos(rightRad);
+        this.rightSin = Math.sin(rightRad);
+        this.curveCos = Math.cos(curveRad);
+        this.curveSin = Math.sin(curveRad);
+    }
+
+    void update(double startX, double startY, double endX, double endY){
+        double deltaX = startX-endX, deltaY = startY-endY;
+        double norm = Math.hypot(deltaX, deltaY);
+        double pointScale = norm == 0 ? 0 : Math.min(maxPointLength, norm*MAX_POINT_PART)/norm;
+        double pointX = deltaX*pointScale, pointY = deltaY*pointScale;
+        leftX = pointX*leftCos-pointY*leftSin+endX;
+        leftY = pointX*leftSin+pointY*leftCos+endY;
+        rightX = pointX*rightCos-pointY*rightSin+endX;
+        rightY = pointX*rightSin+pointY*rightCos+endY;
+        double halfX = deltaX*0.5, halfY = deltaY*0.5;
+        controlX = halfX*curveCos-halfY*curveSin+endX;
+        controlY = halfX*curveSin+halfY*curveCos+endY;
+    }
+
+    double getControlX(){
+        return controlX;
+    }
+
+    double getControlY(){
+        return controlY;
+    }
+
+    double getLeftX(){
+        return leftX;
+    }
+
+    double getLeftY(){
+        return leftY;
+    }
+
+    double getRightX(){
+        return rightX;
+    }
+
+    double getRightY(){
+        return rightY;
+    }
+
+}
@@ -0,0 +1,150 @@
+package gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+public final class CanvasRenderer extends AnimationTimer {
+    private static final double LABEL_MARGIN = 10, LABEL_HEIGHT = 17, CHAR_WIDTH = 7, TEXT_BASELINE = 13;
+
+    private final GraphViewport viewport;
+    private final Canvas canvas = new Canvas();
+    private final List<FXVertex> visibleVertices = new ArrayList<>();
+    private final List<FXEdge> visibleEdges = new ArrayList<>();
+    private boolean active = false, dirty = false;
+
+    public CanvasRenderer(GraphViewport viewport){
+        this.viewport = viewport;
+        canvas.widthProperty().addListener(obs -> requestRedraw());
+        canvas.heightProperty().addListener(obs -> requestRedraw());
+    }
+
+    public Canvas getCanvas(){
+        return canvas;
+    }
+
+    public boolean isActive(){
+        return active;
+    }
+
+    public void activate(){
+        active = true;
+        requestRedraw();
+        start();
+    }
+
+    public void deactivate(){
+        stop();
+        active = false;
+    }
+
+    public void requestRedraw(){
+        dirty = true;
+    }
+
+    @Override
+    public void handle(long now){
+        if (!dirty)
+            return;
+        dirty = false;
+        redraw();
+    }
+
+    private void redraw(){
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        visibleVertices.clear();
+        visibleEdges.clear();
+        viewport.forEachVisibleVertex(visibleVertices::add);
+        viewport.forEachVisibleEdge(visibleEdges::add);
+
+        gc.save();
+        gc.translate(-viewport.getViewX(), -viewport.getViewY());
+        gc.setGlobalAlpha(1);
+        strokeEdges(gc, visibleEdges, FXEdge.HIGHLIGHT_COLOR, FXEdge.HIGHLIGHT_WEIGHT, FXEdge::isHighlighted);
+        strokeEdges(gc, visibleEdges, Color.GRAY, FXEdge.WEIGHT, edge -> !edge.isSelected());
+        strokeEdges(gc, visibleEdges, Color.BLACK, FXEdge.WEIGHT, FXEdge::isSelected);
+        drawEdgeLabels(gc, visibleEdges);
+
+        Map<Paint, List<FXVertex>> byColor = new LinkedHashMap<>();
+        for (FXVertex vertex: visibleVertices)
+            byColor.computeIfAbsent(vertex.getColor(), color -> new ArrayList<>()).add(vertex);
+        fillVertices(gc, byColor, false);
+        fillVertices(gc, byColor, true);
+        gc.setGlobalAlpha(1);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.beginPath();
+        for (FXVertex vertex: visibleVertices){
+            if (vertex.isSelected())
+                appendCircle(gc, vertex.getX(), vertex.getY(), FXVertex.RADIUS);
+        }
+        gc.stroke();
+        gc.setFill(Color.BLACK);
+        for (FXVertex vertex: visibleVertices){
+            gc.setGlobalAlpha(vertex.isDimmed() ? FXVertex.DIMMED_OPACITY : 1);
+            gc.fillText(vertex.getVertex().getName(), vertex.getX()+FXVertex.RADIUS,
+                    vertex.getY()+FXVertex.RADIUS+TEXT_BASELINE);
+        }
+        gc.restore();
+    }
+
+    private void strokeEdges(GraphicsContext gc, Collection<FXEdge> edges, Paint stroke, double width,
+                             Predicate<FXEdge> filter){
+        gc.setStroke(stroke);
+        gc.setLineWidth(width);
+        gc.beginPath();
+        for (FXEdge edge: edges){
+            if (!filter.test(edge))
+                continue;
+            FXVertex start = edge.getStart(), end = edge.getEnd();
+            ArrowGeometry geometry = viewport.geometry(edge);
+            gc.moveTo(start.getX(), start.getY());
+            gc.quadraticCurveTo(geometry.getControlX(), geometry.getControlY(), end.getX(), end.getY());
+            gc.moveTo(geometry.getLeftX(), geometry.getLeftY());
+            gc.lineTo(end.getX(), end.getY());
+            gc.lineTo(geometry.getRightX(), geometry.getRightY());
+        }
+        gc.stroke();
+    }
+
+    private void drawEdgeLabels(GraphicsContext gc, Collection<FXEdge> edges){
+        gc.setFill(Color.WHITE);
+        for (FXEdge edge: edges){
+            ArrowGeometry geometry = viewport.geometry(edge);
+            gc.fillRect(geometry.getControlX()-LABEL_MARGIN, geometry.getControlY()-LABEL_MARGIN,
+                    edge.getWeightText().length()*CHAR_WIDTH, LABEL_HEIGHT);
+        }
+        gc.setFill(Color.BLACK);
+        for (FXEdge edge: edges){
+            ArrowGeometry geometry = viewport.geometry(edge);
+            gc.fillText(edge.getWeightText(), geometry.getControlX()-LABEL_MARGIN,
+                    geometry.getControlY()-LABEL_MARGIN+TEXT_BASELINE);
+        }
+    }
+
+    private void fillVertices(GraphicsContext gc, Map<Paint, List<FXVertex>> byColor, boolean dimmed){
+        gc.setGlobalAlpha(dimmed ? FXVertex.DIMMED_OPACITY : 1);
+        for (Map.Entry<Paint, List<FXVertex>> entry: byColor.entrySet()){
+            gc.setFill(entry.getKey());
+            gc.beginPath();
+            for (FXVertex vertex: entry.getValue()){
+                if (vertex.isDimmed() == dimmed)
+                    appendCircle(gc, vertex.getX(), vertex.getY(), FXVertex.RADIUS);
+            }
+            gc.fill();
+        }
+    }
+
+    private static void appendCircle(GraphicsContext gc, double x, double y, double radius){
+        gc.moveTo(x+radius, y);
+        gc.arc(x, y, radius, radius, 0, 360);
+        gc.closePath();
+    }
+
+}
@@ -0,0 +1,177 @@
+package gui;
+
+import javafx.beans.binding.Bindings;
+import javafx.scene.Group;
+import javafx.scene.control.Label;
+import javafx.scene.paint.Color;
+import model.Edge;
+import model.Graph;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public final class FXEdge extends FXGraphComponent<FXEdge, Edge> {
+    static final double WEIGHT = 5, HIGHLIGHT_WEIGHT = 15;
+    static final int MAX_POINT_LENGTH = 25;
+    private static final double LABEL_MARGIN = 10;
+    public static final Color HIGHLIGHT_COLOR = Color.LIGHTGRAY;
+
+    private final Edge edge;
+    private final FXVertex start, end;
+    private final FXGraph graph;
+    private final boolean curve;
+    private final Group graphics;
+    private final Arrow arrow;
+    private final Label weightLabel;
+    private double minX, minY, maxX, maxY;
+    private int shownWeight, shownCost, shownUsedWeight = Edge.DEFAULT_USED_WEIGHT;
+
+    public static FXEdge create(FXVertex start, FXVertex end, int weight, FXGraph graph, boolean curve){
+        return create(start, end, weight, 0, false, graph, curve);
+    }
+
+    public static FXEdge create(FXVertex start, FXVertex end, int weight, int cost, boolean signed,
+                                FXGraph graph, boolean curve){
+        return create(Edge.of(start.getVertex(), end.getVertex(), weight, cost, signed), start, end, graph, curve);
+    }
+
+    public static FXEdge create(Edge edge, FXVertex start, FXVertex end, FXGraph graph, boolean curve){
+        return new FXEdge(edge, start, end, graph, curve);
+    }
+
+    private FXEdge(Edge edge, FXVertex start, FXVertex end, FXGraph graph, boolean curve){
+        this.edge = edge;
+        this.start = start;
+        this.end = end;
+        this.graph = graph;
+        this.curve = curve;
+        this.arrow = new Arrow(start.xProperty(), start.yProperty(), end.xProperty(),
+                end.yProperty(), MAX_POINT_LENGTH, curve);
+        arrow.setStrokeWidth(WEIGHT);
+        arrow.strokeProperty().bind(Bindings.when(selectedProperty()).then(Color.BLACK).otherwise(Color.GRAY));
+        arrow.setHighlightStrokeWidth(HIGHLIGHT_WEIGHT);
+        arrow.setHighlightStroke(HIGHLIGHT_COLOR);
+        this.shownWeight = edge.getWeight();
+        this.shownCost = edge.getCost();
+        this.weightLabel = new Label(labelText(Integer.toString(shownWeight), shownCost));
+        weightLabel.layoutXProperty().bind(
+                arrow.controlXProperty().subtract(LABEL_MARGIN)
+        );
+        weightLabel.layoutYProperty().bind(
+                arrow.controlYProperty().subtract(LABEL_MARGIN)
+        );
+        weightLabel.setStyle("-fx-background-color: white");
+        this.graphics = new Group(arrow, weightLabel);
+    }
+
+    public Edge getEdge(){
+        return edge;
+    }
+
+    public FXVertex getStart(){
+        return start;
+    }
+
+    public FXVertex getEnd(){
+        return end;
+    }
+
+    public boolean isCurved(){
+        return curve;
+    }
+
+    public Group getGraphics(){
+        return graphics;
+    }
+
+    void updateBounds(ArrowGeometry geometry){
+        double startX = start.getX(), startY = start.getY(), endX = end.getX(), endY = end.getY();
+        geometry.update(startX, startY, endX, endY);
+        double margin = Math.max(HIGHLIGHT_WEIGHT/2, LABEL_MARGIN);
+        minX = min(startX, endX, geometry.getControlX(), geometry.getLeftX(), geometry.getRightX())-margin;
+        minY = min(startY, endY, geometry.getControlY(), geometry.getLeftY(), geometry.getRightY())-margin;
+        maxX = max(startX, endX, geometry.getControlX(), geometry.getLeftX(), geometry.getRightX())+margin;
+        maxY = max(startY, endY, geometry.getControlY(), geometry.getLeftY(), geometry.getRightY())+margin;
+    }
+
+    private static double min(double first, double... others){
+        double res = first;
+        for (double value: others)
+            res = Math.min(res, value);
+        return res;
+    }
+
+    private static double max(double first, double... others){
+        double res = first;
+        for (double value: others)
+            res = Math.max(res, value);
+        return res;
+    }
+
+    double getMinX(){
+        return minX;
+    }
+
+    double getMinY(){
+        return minY;
+    }
+
+    double getMaxX(){
+        return maxX;
+    }
+
+    double getMaxY(){
+        return maxY;
+    }
+
+    public void setHighlighted(boolean highlighted){
+        arrow.setHighlighted(highlighted);
+        graph.requestRedraw();
+    }
+
+    public boolean isHighlighted(){
+        return arrow.isHighlighted();
+    }
+
+    public String getWeightText(){
+        return weightLabel.getText();
+    }
+
+    @Override
+    public void addToGraph(FXGraph fxGraph, Graph graph, Map<Edge, FXEdge> retrieveMap,
+                           Set<String> usedNames) {
+        Optional<FXEdge> previous = fxGraph.getEdge(getEdge().getStart(), getEdge().getEnd());
+        previous.ifPresent(fxGraph::removeEdge);
+        graph.addEdge(getEdge());
+        retrieveMap.put(getEdge(), this);
+    }
+
+    @Override
+    public void removeFromGraph(FXGraph fxGraph, Graph graph, Map<Edge, FXEdge> retrieveMap,
+                                Set<String> usedNames) {
+        graph.removeEdge(getEdge());
+        retrieveMap.remove(getEdge());
+    }
+
+    public void updateWeight(){
+        showUsedWeight(edge.getUsedWeight());
+    }
+
+    public void showUsedWeight(int usedWeight){
+        if (usedWeight == shownUsedWeight && edge.getWeight() == shownWeight && edge.getCost() == shownCost)
+            return;
+        shownUsedWeight = usedWeight;
+        shownWeight = edge.getWeight();
+        shownCost = edge.getCost();
+        weightLabel.setText(labelText(usedWeight == Edge.DEFAULT_USED_WEIGHT ?
+                Integer.toString(edge.getWeight())
+                :String.format("%d/%d", usedWeight, edge.getWeight()), shownCost));
+        graph.requestRedraw();
+    }
+
+    private static String labelText(String weight, int cost){
+        return cost == 0 ? weight : String.format("%s (cost %d)", weight, cost);
+    }
+
+}
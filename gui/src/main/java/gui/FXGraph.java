@@ -0,0 +1,745 @@
+package gui;
+
+import helpers.Assertions;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import model.algorithms.Algorithms;
+import model.algorithms.Components;
+import model.algorithms.EventBuffer;
+import model.algorithms.EventRecorder;
+import model.algorithms.MaxFlow;
+import model.algorithms.MinCostFlow;
+import model.algorithms.PointToPoint;
+import model.algorithms.ResultCache;
+import model.Edge;
+import model.Graph;
+import model.HashGraph;
+import model.Vertex;
+import model.persistent.GraphHistory;
+import model.persistent.GraphVersion;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import static javafx.scene.paint.Color.*;
+
+public final class FXGraph {
+    private static final List<Color> DEFAULT_COLORS =
+            Arrays.asList(BLUE, RED, GREEN, YELLOW, PURPLE, BROWN, SKYBLUE, ORANGE, LIGHTGREEN, DARKBLUE, PINK);
+    private static final int TIMELINE_CAPACITY = 1 << 20;
+    public static final int DEFAULT_CANVAS_THRESHOLD = 5000;
+    private static final double ADMISSIBILITY_MARGIN = 1e-9;
+    private static final int COST_SCALING_THRESHOLD = 10_000;
+    private static final int MIN_DETACHED_LIMIT = 64;
+
+    private final Graph graph;
+    private final Pane graphics = new Pane();
+    private final GraphViewport viewport;
+    private final VertexDescriptionTable descriptions = new VertexDescriptionTable();
+    private final Map<Vertex, FXVertex> vertices = new HashMap<>();
+    private final Map<Edge, FXEdge> edges = new HashMap<>();
+
+    private final Set<String> usedNames = new HashSet<>();
+    private int colorIndex = 0;
+
+    private final Selection selection = new Selection();
+
+    private int canvasThreshold = DEFAULT_CANVAS_THRESHOLD;
+
+    private int transactionDepth = 0;
+    private final Set<FXVertex> addedDescriptions = new LinkedHashSet<>();
+    private final Set<FXVertex> removedDescriptions = new HashSet<>();
+
+    private final GraphHistory history;
+    private GraphVersion working;
+    private final Map<Vertex, FXVertex> detached = new HashMap<>();
+    private int detachedLimit = MIN_DETACHED_LIMIT;
+    private boolean restoring = false;
+
+    private final AlgorithmPlayer player = new AlgorithmPlayer(this);
+    private EventBuffer timeline = null;
+    private boolean animated = false;
+    private final ResultCache<RunSnapshot> results = new ResultCache<>(RunSnapshot::weight);
+
+    public FXGraph(Graph graph){
+        this.graph = graph;
+        this.working = GraphVersion.of(graph);
+        this.history = new GraphHistory(working);
+        descriptions.setMinWidth(150);
+        this.viewport = new GraphViewport(this, graphics);
+    }
+
+    public Map<FXVertex, FXEdge> adjencyList(Vertex vertex){
+        Map<FXVertex, FXEdge> res = new HashMap<>();
+        for (Map.Entry<Vertex, Edge> entry: graph.adjencyList(vertex).entrySet()){
+            res.put(vertices.get(entry.getKey()), edges.get(entry.getValue()));
+        }
+        return new HashMap<>(res);
+    }
+
+    public Map<FXVertex, FXEdge> precedencyList(Vertex vertex){
+        Map<FXVertex, FXEdge> res = new HashMap<>();
+        for (Map.Entry<Vertex, Edge> entry: graph.precedencyList(vertex).entrySet()){
+            res.put(vertices.get(entry.getKey()), edges.get(entry.getValue()));
+        }
+        return new HashMap<>(res);
+    }
+
+    public Set<FXVertex> getVertices(){
+        return new HashSet<>(vertices.values());
+    }
+
+    public Optional<FXVertex> getVertex(Vertex vertex){
+        return Optional.ofNullable(vertices.get(vertex));
+    }
+
+    Collection<FXVertex> vertexComponents(){
+        return Collections.unmodifiableCollection(vertices.values());
+    }
+
+    Collection<FXEdge> edgeComponents(){
+        return Collections.unmodifiableCollection(edges.values());
+    }
+
+    public Set<FXEdge> getEdges(){
+        return graph.getEdges().stream().map(edges::get).collect(Collectors.toSet());
+    }
+
+    public boolean isValidName(String name){
+        return !name.isEmpty()
+                && !usedNames.contains(name)
+                && Character.isAlphabetic(name.charAt(0))
+                && checkAlphabeticOrDigit(name);
+    }
+
+    private boolean checkAlphabeticOrDigit(String str){
+        for (int i = 0; i < str.length(); ++i){
+            char car = str.charAt(i);
+            if (!Character.isAlphabetic(car) || Character.isDigit(car))
+                return false;
+        }
+        return true;
+    }
+
+    public FXGraph addVertex(FXVertex vertex){
+        inTransaction(() -> {
+            vertex.addToGraph(this, graph, vertices, usedNames);
+            viewport.addVertex(vertex);
+            working = working.addVertex(vertex.getVertex());
+            detached.remove(vertex.getVertex());
+        });
+        return this;
+    }
+
+    public FXGraph addEdge(FXEdge edge){
+        inTransaction(() -> {
+            edge.addToGraph(this, graph, edges, usedNames);
+            viewport.addEdge(edge);
+            working = working.addEdge(edge.getEdge());
+        });
+        return this;
+    }
+
+    public FXGraph removeVertex(FXVertex vertex){
+        inTransaction(() -> {
+            vertex.removeFromGraph(this, graph, vertices, usedNames);
+            viewport.removeVertex(vertex);
+            working = working.removeVertex(vertex.getVertex());
+            detached.put(vertex.getVertex(), vertex);
+        });
+        return this;
+    }
+
+    public FXGraph removeEdge(FXEdge edge){
+        inTransaction(() -> {
+            edge.removeFromGraph(this, graph, edges, usedNames);
+            viewport.removeEdge(edge);
+            working = working.removeEdge(edge.getStart().getVertex(), edge.getEnd().getVertex());
+        });
+        return this;
+    }
+
+    public FXGraph addAll(Collection<FXVertex> newVertices, Collection<FXEdge> newEdges){
+        inTransaction(() -> {
+            for (FXVertex vertex: newVertices)
+                addVertex(vertex);
+            for (FXEdge edge: newEdges)
+                addEdge(edge);
+        });
+        return this;
+    }
+
+    public FXGraph removeAll(Collection<FXVertex> oldVertices, Collection<FXEdge> oldEdges){
+        inTransaction(() -> {
+            for (FXEdge edge: oldEdges){
+                if (edges.containsKey(edge.getEdge()))
+                    removeEdge(edge);
+            }
+            for (FXVertex vertex: oldVertices){
+                if (vertices.containsKey(vertex.getVertex()))
+                    removeVertex(vertex);
+            }
+        });
+        return this;
+    }
+
+    public void beginTransaction(){
+        ++transactionDepth;
+    }
+
+    public void commitTransaction(){
+        Assertions.assertThat(
+                () -> new IllegalStateException("No transaction to commit"),
+                transactionDepth > 0
+        );
+        if (--transactionDepth > 0)
+            return;
+        descriptions.removeAll(removedDescriptions);
+        descriptions.addAll(addedDescriptions);
+        removedDescriptions.clear();
+        addedDescriptions.clear();
+        updateRenderMode();
+        if (!restoring){
+            history.commit(working);
+            pruneDetached();
+        }
+    }
+
+    private void pruneDetached(){
+        if (detached.size() <= detachedLimit)
+            return;
+        detached.keySet().retainAll(history.changedVertices());
+        detachedLimit = Math.max(MIN_DETACHED_LIMIT, 2*detached.size());
+    }
+
+    public GraphVersion snapshot(){
+        return history.current();
+    }
+
+    public boolean canUndo(){
+        return history.canUndo();
+    }
+
+    public boolean canRedo(){
+        return history.canRedo();
+    }
+
+    public boolean undo(){
+        Optional<GraphVersion> target = history.undo();
+        target.ifPresent(this::restore);
+        return target.isPresent();
+    }
+
+    public boolean redo(){
+        Optional<GraphVersion> target = history.redo();
+        target.ifPresent(this::restore);
+        return target.isPresent();
+    }
+
+    private void restore(GraphVersion target){
+        player.discard();
+        clearSelection();
+        List<Vertex> addedVertices = new ArrayList<>(), removedVertices = new ArrayList<>();
+        List<EdgeChange> addedEdges = new ArrayList<>(), removedEdges = new ArrayList<>();
+        working.diff(target, new GraphVersion.Changes() {
+            @Override
+            public void vertexAdded(Vertex vertex){
+                addedVertices.add(vertex);
+            }
+
+            @Override
+            public void vertexRemoved(Vertex vertex){
+                removedVertices.add(vertex);
+            }
+
+            @Override
+            public void edgeAdded(Vertex start, Vertex end, GraphVersion.EdgeValue value){
+                addedEdges.add(new EdgeChange(start, end, value));
+            }
+
+            @Override
+            public void edgeRemoved(Vertex start, Vertex end, GraphVersion.EdgeValue value){
+                removedEdges.add(new EdgeChange(start, end, value));
+            }
+        });
+        restoring = true;
+        try {
+            inTransaction(() -> {
+                for (EdgeChange change: removedEdges)
+                    getEdge(change.start, change.end).ifPresent(this::removeEdge);
+                for (Vertex vertex: removedVertices)
+                    getVertex(vertex).ifPresent(this::removeVertex);
+                for (Vertex vertex: addedVertices)
+                    addVertex(detached.get(vertex));
+                for (EdgeChange change: addedEdges)
+                    addEdge(FXEdge.create(change.value.toEdge(change.start, change.end), vertices.get(change.start),
+                            vertices.get(change.end), this, getEdge(change.end, change.start).isPresent()));
+            });
+        } finally {
+            restoring = false;
+        }
+        working = target;
+    }
+
+    public boolean isInTransaction(){
+        return transactionDepth > 0;
+    }
+
+    public void inTransaction(Runnable changes){
+        beginTransaction();
+        try {
+            changes.run();
+        } finally {
+            commitTransaction();
+        }
+    }
+
+    public void setCanvasThreshold(int canvasThreshold){
+        this.canvasThreshold = canvasThreshold;
+        updateRenderMode();
+    }
+
+    public boolean isCanvasMode(){
+        return viewport.isCanvasMode();
+    }
+
+    public GraphViewport getViewport(){
+        return viewport;
+    }
+
+    private void updateRenderMode(){
+        viewport.setCanvasMode(vertices.size()+edges.size() > canvasThreshold);
+    }
+
+    void requestRedraw(){
+        viewport.requestRedraw();
+    }
+
+    void vertexMoved(FXVertex vertex){
+        viewport.vertexMoved(vertex);
+    }
+
+    public Pane getGraphics(){
+        return graphics;
+    }
+
+    public VertexDescriptionTable getDescriptionPane(){
+        return descriptions;
+    }
+
+    public Color getNextColor(){
+        colorIndex = (colorIndex+1) % DEFAULT_COLORS.size();
+        return DEFAULT_COLORS.get(colorIndex);
+    }
+
+    public void clearSelection(){
+        selection.clear();
+        requestRedraw();
+    }
+
+    public void select(FXVertex vertex){
+        selection.selectVertex(vertex);
+        requestRedraw();
+    }
+
+    public void select(FXEdge edge){
+        selection.selectEdge(edge);
+        requestRedraw();
+    }
+
+    public void selectAll(Collection<FXVertex> vertices, Collection<FXEdge> edges){
+        selection.clear();
+        selection.selectAll(vertices, edges);
+        requestRedraw();
+    }
+
+    public void linkSelectedVertices(int weight, int cost, boolean signed){
+        if (selection.selectedVerticesCount() == 2){
+            FXVertex start = selection.selectedVertices().get(0),
+                    end = selection.selectedVertices().get(1);
+            addEdge(FXEdge.create(start, end, weight, cost, signed, this,
+                    getEdge(end.getVertex(), start.getVertex()).isPresent()));
+        }
+    }
+
+    public Optional<FXEdge> getEdge(Vertex start, Vertex end){
+        Optional<Edge> edge = graph.getEdge(start, end);
+        return edge.map(edges::get);
+    }
+
+    public void deleteSelected(){
+        List<FXVertex> selectedVertices = selection.selectedVertices();
+        List<FXEdge> selectedEdges = selection.selectedEdges();
+        clearSelection();
+        removeAll(selectedVertices, selectedEdges);
+    }
+
+    public void addVertexDescr(FXVertex vertex){
+        if (!isInTransaction())
+            descriptions.add(vertex);
+        else if (!removedDescriptions.remove(vertex))
+            addedDescriptions.add(vertex);
+    }
+
+    public void removeVertexDescr(FXVertex vertex){
+        if (!isInTransaction())
+            descriptions.remove(vertex);
+        else if (!addedDescriptions.remove(vertex))
+            removedDescriptions.add(vertex);
+    }
+
+    public void updateDescriptions(){
+        descriptions.update();
+        for (FXEdge edge: edges.values())
+            edge.updateWeight();
+    }
+
+    public AlgorithmPlayer getPlayer(){
+        return player;
+    }
+
+    public void setAnimated(boolean animated){
+        this.animated = animated;
+    }
+
+    private EventRecorder newRecorder(){
+        if (!animated)
+            return EventRecorder.NONE;
+        if (timeline == null)
+            timeline = new EventBuffer(TIMELINE_CAPACITY);
+        timeline.clear();
+        return timeline;
+    }
+
+    private void showRun(EventRecorder recorder){
+        if (recorder == timeline && !timeline.isEmpty())
+            player.load(timeline, this::updateDescriptions);
+        else
+            updateDescriptions();
+    }
+
+    public void clearProperties(){
+        player.discard();
+        graph.clearVerticesProperties();
+        for (FXEdge edge : edges.values()) {
+            edge.setHighlighted(false);
+            edge.getEdge().setUsedWeight(Edge.DEFAULT_USED_WEIGHT);
+        }
+        updateDescriptions();
+    }
+
+    public boolean runDFS(){
+        return runGraphSourceAlgo("DFS", Algorithms::depthFirstSearch);
+    }
+
+    public boolean runBFS(){
+        return runGraphSourceAlgo("BFS", Algorithms::breathFirstSearch);
+    }
+
+    public boolean runBellmanFord(){
+        Assertions.assertThat(
+                () -> new IllegalStateException("Exactly one vertex must be selected when running Bellman-Ford"),
+                isSingleVertexSelected()
+        );
+        Vertex source = selection.selectedVertices().get(0).getVertex();
+        boolean noNegativeCycle = runCachedOutcome(ResultCache.key("Bellman-Ford", graph.version(), source),
+                (view, recorder) -> {
+                    boolean res = Algorithms.bellmanFord(view, source, recorder);
+                    if (!res && recorder == EventRecorder.NONE)
+                        highlightReachableNegativeCycle(view);
+                    return res;
+                });
+        clearSelection();
+        return noNegativeCycle;
+    }
+
+    private void highlightReachableNegativeCycle(Graph view){
+        Graph reachable = new HashGraph();
+        Set<Vertex> reached = new HashSet<>();
+        for (Vertex vertex: view.getVertices()){
+            if (!Algorithms.INFINITY.equals(vertex.getProperty(Algorithms.DISTANCE))){
+                reachable.addVertex(vertex);
+                reached.add(vertex);
+            }
+        }
+        for (Edge edge: view.getEdges()){
+            if (reached.contains(edge.getStart()) && reached.contains(edge.getEnd()))
+                reachable.addEdge(edge.copy(edge.getStart(), edge.getEnd()));
+        }
+        Algorithms.negativeCycle(reachable).ifPresent(cycle -> {
+            for (int i = 0; i < cycle.size(); ++i){
+                getEdge(cycle.get(i), cycle.get((i+1)%cycle.size()))
+                        .ifPresent(fxEdge -> fxEdge.setHighlighted(true));
+            }
+        });
+    }
+
+    public boolean isSingleVertexSelected(){
+        return selection.selectedVerticesCount() == 1 && selection.selectedEdgesCount() == 0;
+    }
+
+    private boolean runGraphSourceAlgo(String name, SourceAlgorithm algo){
+        if (!isSingleVertexSelected())
+            return false;
+        Vertex source = selection.selectedVertices().get(0).getVertex();
+        runCached(ResultCache.key(name, graph.version(), source), (view, recorder) -> algo.run(view, source, recorder));
+        clearSelection();
+        return true;
+    }
+
+    public void runKruskal(){
+        runCached(ResultCache.key("Kruskal", graph.version()), (view, recorder) -> {
+            Set<Edge> spanningEdges = Algorithms.kruskal(view, recorder);
+            if (recorder == EventRecorder.NONE) {
+                for (Edge edge: spanningEdges)
+                    getEdge(edge.getStart(), edge.getEnd()).ifPresent(fxEdge -> fxEdge.setHighlighted(true));
+            }
+        });
+        clearSelection();
+    }
+
+    public boolean runFordFulkerson(){
+        if (selection.selectedVerticesCount() != 2)
+            return false;
+        Vertex source = selection.selectedVertices().get(0).getVertex();
+        Vertex sink = selection.selectedVertices().get(1).getVertex();
+        runCached(ResultCache.key("Ford-Fulkerson", graph.version(), source, sink),
+                (view, recorder) -> Algorithms.fordFulkerson(view, source, sink, recorder));
+        clearSelection();
+        return true;
+    }
+
+    public boolean runPushRelabel(){
+        if (!(selection.selectedVerticesCount() == 2 && selection.selectedEdgesCount() == 0))
+            return false;
+        Vertex source = selection.selectedVertices().get(0).getVertex();
+        Vertex sink = selection.selectedVertices().get(1).getVertex();
+        runCached(ResultCache.key("Push-relabel", graph.version(), source, sink), (view, recorder) -> {
+            Set<Edge> cut = MaxFlow.pushRelabel(view, source, sink, MaxFlow.Selection.HIGHEST_LABEL, recorder);
+            if (recorder == EventRecorder.NONE) {
+                for (Edge edge: cut)
+                    getEdge(edge.getStart(), edge.getEnd()).ifPresent(fxEdge -> fxEdge.setHighlighted(true));
+            }
+        });
+        clearSelection();
+        return true;
+    }
+
+    public boolean runMinCostFlow(){
+        if (!(selection.selectedVerticesCount() == 2 && selection.selectedEdgesCount() == 0))
+            return false;
+        Vertex source = selection.selectedVertices().get(0).getVertex();
+        Vertex sink = selection.selectedVertices().get(1).getVertex();
+        MinCostFlow.Mode mode = edges.size() > COST_SCALING_THRESHOLD
+                ? MinCostFlow.Mode.COST_SCALING : MinCostFlow.Mode.SUCCESSIVE_SHORTEST_PATHS;
+        runCached(ResultCache.key("Min-cost flow", graph.version(), source, sink),
+                (view, recorder) -> MinCostFlow.minCostMaxFlow(view, source, sink, mode, recorder));
+        clearSelection();
+        return true;
+    }
+
+    public boolean runBidirectionalDijkstra(){
+        return runPointToPoint("Dijkstra", (view, source, target, recorder) ->
+                PointToPoint.bidirectionalDijkstra(view, source.getVertex(), target.getVertex(), recorder));
+    }
+
+    public boolean runAStar(){
+        return runPointToPoint("A*", (view, source, target, recorder) ->
+                PointToPoint.aStar(view, source.getVertex(), target.getVertex(), euclideanHeuristic(target), recorder));
+    }
+
+    private boolean runPointToPoint(String name, PathAlgorithm algo){
+        if (!(selection.selectedVerticesCount() == 2 && selection.selectedEdgesCount() == 0))
+            return false;
+        List<FXVertex> ends = selection.selectedVertices();
+        FXVertex source = ends.get(0), target = ends.get(1);
+        runCached(ResultCache.key(name, graph.version(), source.getVertex(), target.getVertex()), (view, recorder) -> {
+            Optional<List<Vertex>> path = algo.run(view, source, target, recorder);
+            if (recorder == EventRecorder.NONE) {
+                path.ifPresent(found -> {
+                    for (int i = 1; i < found.size(); ++i)
+                        getEdge(found.get(i-1), found.get(i)).ifPresent(edge -> edge.setHighlighted(true));
+                });
+            }
+        });
+        clearSelection();
+        return true;
+    }
+
+    private void runCached(ResultCache.Key key, BiConsumer<Graph, EventRecorder> algorithm){
+        runCachedOutcome(key, (view, recorder) -> {
+            algorithm.accept(view, recorder);
+            return true;
+        });
+    }
+
+    private boolean runCachedOutcome(ResultCache.Key key, BiPredicate<Graph, EventRecorder> algorithm){
+        clearProperties();
+        EventRecorder recorder = newRecorder();
+        if (recorder == EventRecorder.NONE) {
+            results.retainVersion(graph.version());
+            Optional<RunSnapshot> cached = results.get(key);
+            if (cached.isPresent()) {
+                cached.get().restore();
+                updateDescriptions();
+                return cached.get().outcome();
+            }
+        }
+        Graph view = snapshot().toGraph();
+        boolean outcome = algorithm.test(view, recorder);
+        for (Edge edge: view.getEdges()){
+            int used = edge.getUsedWeight();
+            getEdge(edge.getStart(), edge.getEnd()).ifPresent(fxEdge -> fxEdge.getEdge().setUsedWeight(used));
+        }
+        showRun(recorder);
+        if (recorder == EventRecorder.NONE)
+            results.put(key, RunSnapshot.capture(vertices.values(), edges.values(), outcome));
+        return outcome;
+    }
+
+    private ToLongFunction<Vertex> euclideanHeuristic(FXVertex target){
+        double scale = Double.POSITIVE_INFINITY;
+        for (FXEdge edge: edges.values()){
+            double length = distance(edge.getStart(), edge.getEnd());
+            if (length > 0)
+                scale = Math.min(scale, edge.getEdge().getWeight()/length);
+        }
+        double admissibleScale = Double.isInfinite(scale) ? 0 : scale*(1-ADMISSIBILITY_MARGIN);
+        return vertex -> (long) Math.floor(admissibleScale*distance(vertices.get(vertex), target));
+    }
+
+    private static double distance(FXVertex first, FXVertex second){
+        return Math.hypot(first.getX()-second.getX(), first.getY()-second.getY());
+    }
+
+    public int runStronglyConnectedComponents(){
+        clearProperties();
+        int count = Components.stronglyConnectedComponents(snapshot().toGraph());
+        List<Color> colors = new ArrayList<>();
+        for (int component = 0; component < count; ++component)
+            colors.add(getNextColor());
+        for (FXVertex vertex: vertices.values())
+            vertex.setColor(colors.get((int) vertex.getVertex().getProperty(Components.COMPONENT)));
+        updateDescriptions();
+        clearSelection();
+        return count;
+    }
+
+    public boolean runTopologicalSort(){
+        clearProperties();
+        boolean acyclic = Components.topologicalSort(snapshot().toGraph());
+        updateDescriptions();
+        clearSelection();
+        return acyclic;
+    }
+
+    @FunctionalInterface
+    private interface SourceAlgorithm {
+        void run(Graph graph, Vertex source, EventRecorder recorder);
+    }
+
+    @FunctionalInterface
+    private interface PathAlgorithm {
+        Optional<List<Vertex>> run(Graph graph, FXVertex source, FXVertex target, EventRecorder recorder);
+    }
+
+    private static final class EdgeChange {
+        private final Vertex start, end;
+        private final GraphVersion.EdgeValue value;
+
+        private EdgeChange(Vertex start, Vertex end, GraphVersion.EdgeValue value){
+            this.start = start;
+            this.end = end;
+            this.value = value;
+        }
+    }
+
+    private static final class Selection {
+        private static final int MAX_SELECTED_NB = 2;
+
+        private final List<FXGraphComponent> vertices = new LinkedList<>();
+        private final List<FXGraphComponent> edges = new LinkedList<>();
+        private final List<FXGraphComponent> components = new LinkedList<>();
+
+        List<FXVertex> selectedVertices(){
+            return new ArrayList<>(vertices.stream().map(v -> (FXVertex)v).collect(Collectors.toList()));
+        }
+
+        List<FXEdge> selectedEdges(){
+            return new ArrayList<>(edges.stream().map(v -> (FXEdge)v).collect(Collectors.toList()));
+        }
+
+        void clear(){
+            for (FXGraphComponent comp: components)
+                comp.setSelected(false);
+            vertices.clear();
+            edges.clear();
+            components.clear();
+        }
+
+        int selectedVerticesCount(){
+            return vertices.size();
+        }
+
+        int selectedEdgesCount(){
+            return edges.size();
+        }
+
+        void selectAll(Collection<FXVertex> newVertices, Collection<FXEdge> newEdges){
+            vertices.addAll(newVertices);
+            edges.addAll(newEdges);
+            components.addAll(newVertices);
+            components.addAll(newEdges);
+            for (FXGraphComponent comp: components)
+                comp.setSelected(true);
+        }
+
+        void selectVertex(FXVertex vertex){
+            clearIfRegionSelected();
+            if (vertices.contains(vertex)){
+                vertices.remove(vertex);
+                components.remove(vertex);
+                vertex.setSelected(false);
+            }
+            else {
+                vertices.add(vertex);
+                components.add(vertex);
+                removeHeadIFNecessary();
+                vertex.setSelected(true);
+            }
+        }
+
+        void selectEdge(FXEdge edge){
+            clearIfRegionSelected();
+            if (edges.contains(edge)){
+                edges.remove(edge);
+                components.remove(edge);
+                edge.setSelected(false);
+            }
+            else {
+                edges.add(edge);
+                components.add(edge);
+                removeHeadIFNecessary();
+                edge.setSelected(true);
+            }
+        }
+
+        private void clearIfRegionSelected(){
+            if (components.size() > MAX_SELECTED_NB)
+                clear();
+        }
+
+        private void removeHeadIFNecessary(){
+            if (components.size() > MAX_SELECTED_NB){
+                FXGraphComponent removed = components.remove(0);
+                vertices.remove(removed);
+                edges.remove(removed);
+            }
+        }
+
+    }
+
+}
@@ -2,7 +2,6 @@ package gui;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
-import javafx.scene.layout.Pane;
 import model.Graph;
 
 import java.util.Map;
@@ -24,8 +23,8 @@ public abstract class FXGraphComponent<T extends FXGraphComponent, U extends Gra
     }
 
     public abstract void addToGraph(FXGraph fxGraph, Graph graph, Map<U, T> retrieveMap,
-                                    Pane graphGraphics, Set<String> usedNames);
+                                    Set<String> usedNames);
     public abstract void removeFromGraph(FXGraph fxGraph, Graph graph, Map<U, T> retrieveMap,
-                                         Pane graphGraphics, Set<String> usedNames);
+                                         Set<String> usedNames);
 
 }
@@ -5,8 +5,8 @@ import javafx.beans.binding.Bindings;
 import javafx.beans.value.ObservableDoubleValue;
 import javafx.scene.Group;
 import javafx.scene.control.Label;
-import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.shape.Circle;
 import model.Graph;
 import model.Vertex;
@@ -15,66 +15,68 @@ import java.util.Set;
 
 
 public final class FXVertex extends FXGraphComponent<FXVertex, Vertex> {
-    private static final int RADIUS = 10, DRAG_CIRCLE_RADIUS = 50;
+    static final int RADIUS = 10, DRAG_CIRCLE_RADIUS = 50;
     private static final Color NO_COLOR = null;
+    static final double DIMMED_OPACITY = 0.3;
     public static final int DRAG_TIME_MARGIN = 500;
 
     private final Vertex vertex;
+    private final FXGraph graph;
     private final Group graphics;
     private final Circle circle;
 
-    private double mouseDeltaX = -100, mouseDeltaY = -100;
-    private long lastDragTime = 0;
-
     public static FXVertex create(String name, double startX, double startY, FXGraph graph){
         return new FXVertex(new Vertex(name), startX, startY, graph);
     }
 
     private FXVertex(Vertex vertex, double startX, double startY, FXGraph graph){
         this.vertex = vertex;
+        this.graph = graph;
         this.circle = new Circle(RADIUS);
         circle.setStrokeWidth(1);
         circle.strokeProperty().bind(Bindings.when(selectedProperty()).then(Color.BLACK).otherwise(NO_COLOR));
         Label labelName = new Label(vertex.getName());
         labelName.layoutXProperty().bind(circle.centerXProperty().add(RADIUS));
         labelName.layoutYProperty().bind(circle.centerYProperty().add(RADIUS));
-        Circle dragCircle = new Circle(DRAG_CIRCLE_RADIUS);
-        dragCircle.centerXProperty().bind(circle.centerXProperty());
-        dragCircle.centerYProperty().bind(circle.centerYProperty());
-        dragCircle.setFill(Color.TRANSPARENT);
-        this.graphics = new Group(circle, labelName, dragCircle);
-        dragCircle.setOnMouseDragged(event -> {
-            if (mouseDeltaX < 0){
-                mouseDeltaX = circle.getCenterX()-event.getX();
-                mouseDeltaY = circle.getCenterY()-event.getY();
-            }
-            else {
-                setPos(event.getX()+mouseDeltaX, event.getY()+mouseDeltaY);
-            }
-            lastDragTime = System.currentTimeMillis();
-        });
-        dragCircle.setOnMouseReleased(event -> {
-            mouseDeltaX = mouseDeltaY = -100;
-        });
-        dragCircle.setOnMouseClicked(event -> {
-            long currTime = System.currentTimeMillis();
-            if (currTime-lastDragTime > DRAG_TIME_MARGIN)
-                graph.select(this);
-        });
+        this.graphics = new Group(circle, labelName);
         setPos(startX, startY);
     }
 
     public FXVertex setColor(Color color){
         circle.setFill(color);
+        graph.requestRedraw();
+        return this;
+    }
+
+    public Paint getColor(){
+        return circle.getFill();
+    }
+
+    public FXVertex setDimmed(boolean dimmed){
+        graphics.setOpacity(dimmed ? DIMMED_OPACITY : 1);
+        graph.requestRedraw();
         return this;
     }
 
+    public boolean isDimmed(){
+        return graphics.getOpacity() < 1;
+    }
+
     public FXVertex setPos(double x, double y){
         circle.setCenterX(x);
         circle.setCenterY(y);
+        graph.vertexMoved(this);
         return this;
     }
 
+    public double getX(){
+        return circle.getCenterX();
+    }
+
+    public double getY(){
+        return circle.getCenterY();
+    }
+
     public FXVertex movePos(double dx, double dy){
         return setPos(circle.getCenterX()+dx, circle.getCenterY()+dy);
     }
@@ -97,7 +99,7 @@ public final class FXVertex extends FXGraphComponent<FXVertex, Vertex> {
 
     @Override
     public void addToGraph(FXGraph fxGraph, Graph graph, Map<Vertex, FXVertex> retrieveMap,
-                           Pane graphGraphics, Set<String> usedNames) {
+                           Set<String> usedNames) {
         Assertions.assertThat(
                 () -> new IllegalArgumentException("Name is already used"),
                 fxGraph.isValidName(getVertex().getName())
@@ -105,7 +107,6 @@ public final class FXVertex extends FXGraphComponent<FXVertex, Vertex> {
         setColor(fxGraph.getNextColor());
 
         graph.addVertex(getVertex());
-        graphGraphics.getChildren().add(getGraphics());
         retrieveMap.put(getVertex(), this);
         usedNames.add(getVertex().getName());
         fxGraph.addVertexDescr(this);
@@ -113,14 +114,13 @@ public final class FXVertex extends FXGraphComponent<FXVertex, Vertex> {
 
     @Override
     public void removeFromGraph(FXGraph fxGraph, Graph graph, Map<Vertex, FXVertex> retrieveMap,
-                                Pane graphGraphics, Set<String> usedNames) {
+                                Set<String> usedNames) {
         for (FXEdge edge: fxGraph.adjencyList(vertex).values())
             fxGraph.removeEdge(edge);
         for (FXEdge edge: fxGraph.precedencyList(vertex).values())
             fxGraph.removeEdge(edge);
 
         graph.removeVertex(getVertex());
-        graphGraphics.getChildren().remove(getGraphics());
         retrieveMap.remove(getVertex());
         usedNames.remove(getVertex().getName());
         fxGraph.removeVertexDescr(this);
@@ -0,0 +1,358 @@
+package gui;
+
+import helpers.SpatialGrid;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class GraphViewport extends AnimationTimer {
+    private static final double GRID_CELL_SIZE = 2*FXVertex.DRAG_CIRCLE_RADIUS;
+    private static final double CULL_MARGIN = 100;
+    private static final double EDGE_PICK_MARGIN = 5;
+    private static final int CURVE_SAMPLES = 8;
+
+    private final FXGraph graph;
+    private final Pane graphics;
+    private final Group edgeLayer = new Group(), vertexLayer = new Group();
+    private final Group sceneLayer = new Group(edgeLayer, vertexLayer);
+    private final Rectangle selectionBox = new Rectangle();
+    private final CanvasRenderer renderer;
+
+    private final SpatialGrid<FXVertex> vertexGrid =
+            new SpatialGrid<>(GRID_CELL_SIZE, FXVertex::getX, FXVertex::getY);
+    private final SpatialGrid<FXEdge> edgeGrid =
+            new SpatialGrid<>(GRID_CELL_SIZE, FXEdge::getMinX, FXEdge::getMinY, FXEdge::getMaxX, FXEdge::getMaxY);
+    private final Map<FXVertex, List<FXEdge>> incidentEdges = new HashMap<>();
+    private final ArrowGeometry straightGeometry = new ArrowGeometry(FXEdge.MAX_POINT_LENGTH, false),
+            curvedGeometry = new ArrowGeometry(FXEdge.MAX_POINT_LENGTH, true);
+
+    private Set<FXVertex> shownVertices = new HashSet<>();
+    private Set<FXEdge> shownEdges = new HashSet<>();
+    private boolean cullingDirty = false;
+    private double viewX = 0, viewY = 0;
+
+    private Gesture gesture = Gesture.NONE;
+    private FXVertex dragged = null;
+    private double pressX, pressY, dragDeltaX, dragDeltaY, panStartX, panStartY;
+    private long lastDragTime = 0;
+
+    public GraphViewport(FXGraph graph, Pane graphics){
+        this.graph = graph;
+        this.graphics = graphics;
+        this.renderer = new CanvasRenderer(this);
+        sceneLayer.setMouseTransparent(true);
+        selectionBox.setManaged(false);
+        selectionBox.setVisible(false);
+        selectionBox.setMouseTransparent(true);
+        selectionBox.setFill(Color.LIGHTBLUE.deriveColor(0, 1, 1, 0.3));
+        selectionBox.setStroke(Color.STEELBLUE);
+
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(graphics.widthProperty());
+        clip.heightProperty().bind(graphics.heightProperty());
+        graphics.setClip(clip);
+        graphics.getChildren().setAll(sceneLayer, selectionBox);
+        renderer.getCanvas().widthProperty().bind(graphics.widthProperty());
+        renderer.getCanvas().heightProperty().bind(graphics.heightProperty());
+        graphics.widthProperty().addListener(obs -> viewChanged());
+        graphics.heightProperty().addListener(obs -> viewChanged());
+
+        graphics.setOnMousePressed(this::onMousePressed);
+        graphics.setOnMouseDragged(this::onMouseDragged);
+        graphics.setOnMouseReleased(this::onMouseReleased);
+        graphics.setOnMouseClicked(this::onMouseClicked);
+        graphics.setOnScroll(this::onScroll);
+        start();
+    }
+
+    public void addVertex(FXVertex vertex){
+        vertexGrid.put(vertex);
+        incidentEdges.put(vertex, new ArrayList<>());
+        componentsChanged();
+    }
+
+    public void removeVertex(FXVertex vertex){
+        vertexGrid.remove(vertex);
+        incidentEdges.remove(vertex);
+        componentsChanged();
+    }
+
+    public void addEdge(FXEdge edge){
+        edge.updateBounds(geometry(edge));
+        edgeGrid.put(edge);
+        incidentEdges.get(edge.getStart()).add(edge);
+        incidentEdges.get(edge.getEnd()).add(edge);
+        componentsChanged();
+    }
+
+    public void removeEdge(FXEdge edge){
+        edgeGrid.remove(edge);
+        for (FXVertex end: Arrays.asList(edge.getStart(), edge.getEnd())){
+            List<FXEdge> incident = incidentEdges.get(end);
+            if (incident != null)
+                incident.remove(edge);
+        }
+        componentsChanged();
+    }
+
+    public void vertexMoved(FXVertex vertex){
+        if (!vertexGrid.contains(vertex))
+            return;
+        vertexGrid.put(vertex);
+        for (FXEdge edge: incidentEdges.get(vertex)){
+            edge.updateBounds(geometry(edge));
+            edgeGrid.put(edge);
+        }
+        componentsChanged();
+    }
+
+    private void componentsChanged(){
+        cullingDirty = true;
+        renderer.requestRedraw();
+    }
+
+    private void viewChanged(){
+        sceneLayer.setTranslateX(-viewX);
+        sceneLayer.setTranslateY(-viewY);
+        componentsChanged();
+    }
+
+    public void requestRedraw(){
+        renderer.requestRedraw();
+    }
+
+    public boolean isCanvasMode(){
+        return renderer.isActive();
+    }
+
+    public void setCanvasMode(boolean canvasMode){
+        if (canvasMode == renderer.isActive())
+            return;
+        if (canvasMode){
+            vertexLayer.getChildren().clear();
+            edgeLayer.getChildren().clear();
+            shownVertices = new HashSet<>();
+            shownEdges = new HashSet<>();
+            graphics.getChildren().setAll(renderer.getCanvas(), selectionBox);
+            renderer.activate();
+        }
+        else {
+            renderer.deactivate();
+            graphics.getChildren().setAll(sceneLayer, selectionBox);
+            cullingDirty = true;
+        }
+    }
+
+    public void setView(double x, double y){
+        viewX = x;
+        viewY = y;
+        viewChanged();
+    }
+
+    double getViewX(){
+        return viewX;
+    }
+
+    double getViewY(){
+        return viewY;
+    }
+
+    @Override
+    public void handle(long now){
+        if (cullingDirty && !renderer.isActive()){
+            cullingDirty = false;
+            refreshShownNodes();
+        }
+    }
+
+    private void refreshShownNodes(){
+        Set<FXVertex> visibleVertices = new HashSet<>();
+        Set<FXEdge> visibleEdges = new HashSet<>();
+        forEachVisibleVertex(visibleVertices::add);
+        forEachVisibleEdge(visibleEdges::add);
+        replaceShown(vertexLayer, shownVertices, visibleVertices, FXVertex::getGraphics);
+        replaceShown(edgeLayer, shownEdges, visibleEdges, FXEdge::getGraphics);
+        shownVertices = visibleVertices;
+        shownEdges = visibleEdges;
+    }
+
+    private static <T> void replaceShown(Group layer, Set<T> shown, Set<T> visible,
+                                         Function<T, Node> nodeOf){
+        Set<Node> leaving = new HashSet<>();
+        for (T component: shown){
+            if (!visible.contains(component))
+                leaving.add(nodeOf.apply(component));
+        }
+        List<Node> entering = new ArrayList<>();
+        for (T component: visible){
+            if (!shown.contains(component))
+                entering.add(nodeOf.apply(component));
+        }
+        if (!leaving.isEmpty())
+            layer.getChildren().removeAll(leaving);
+        if (!entering.isEmpty())
+            layer.getChildren().addAll(entering);
+    }
+
+    void forEachVisibleVertex(Consumer<FXVertex> action){
+        vertexGrid.forEachIn(viewX-CULL_MARGIN, viewY-CULL_MARGIN,
+                viewX+graphics.getWidth()+CULL_MARGIN, viewY+graphics.getHeight()+CULL_MARGIN, action);
+    }
+
+    void forEachVisibleEdge(Consumer<FXEdge> action){
+        edgeGrid.forEachIn(viewX-CULL_MARGIN, viewY-CULL_MARGIN,
+                viewX+graphics.getWidth()+CULL_MARGIN, viewY+graphics.getHeight()+CULL_MARGIN, action);
+    }
+
+    public Optional<FXVertex> pickVertex(double x, double y){
+        return vertexGrid.nearest(x, y, FXVertex.DRAG_CIRCLE_RADIUS);
+    }
+
+    public Optional<FXEdge> pickEdge(double x, double y){
+        double maxDist = FXEdge.WEIGHT/2+EDGE_PICK_MARGIN;
+        List<FXEdge> candidates = new ArrayList<>();
+        edgeGrid.forEachIn(x-maxDist, y-maxDist, x+maxDist, y+maxDist, candidates::add);
+        FXEdge best = null;
+        double bestDist = maxDist;
+        for (FXEdge edge: candidates){
+            double dist = distanceToEdge(edge, x, y);
+            if (dist <= bestDist){
+                best = edge;
+                bestDist = dist;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public void selectRegion(double minX, double minY, double maxX, double maxY){
+        List<FXVertex> vertices = new ArrayList<>();
+        List<FXEdge> edges = new ArrayList<>();
+        vertexGrid.forEachIn(minX, minY, maxX, maxY, vertices::add);
+        edgeGrid.forEachIn(minX, minY, maxX, maxY, edge -> {
+            if (edge.getMinX() >= minX && edge.getMaxX() <= maxX && edge.getMinY() >= minY && edge.getMaxY() <= maxY)
+                edges.add(edge);
+        });
+        graph.selectAll(vertices, edges);
+    }
+
+    ArrowGeometry geometry(FXEdge edge){
+        ArrowGeometry geometry = edge.isCurved() ? curvedGeometry : straightGeometry;
+        geometry.update(edge.getStart().getX(), edge.getStart().getY(), edge.getEnd().getX(), edge.getEnd().getY());
+        return geometry;
+    }
+
+    private double distanceToEdge(FXEdge edge, double x, double y){
+        ArrowGeometry geometry = geometry(edge);
+        double startX = edge.getStart().getX(), startY = edge.getStart().getY(),
+                endX = edge.getEnd().getX(), endY = edge.getEnd().getY();
+        double best = Double.POSITIVE_INFINITY;
+        double prevX = startX, prevY = startY;
+        for (int i = 1; i <= CURVE_SAMPLES; ++i){
+            double t = (double) i/CURVE_SAMPLES, u = 1-t;
+            double currX = u*u*startX+2*u*t*geometry.getControlX()+t*t*endX,
+                    currY = u*u*startY+2*u*t*geometry.getControlY()+t*t*endY;
+            best = Math.min(best, distanceToSegment(x, y, prevX, prevY, currX, currY));
+            prevX = currX;
+            prevY = currY;
+        }
+        return best;
+    }
+
+    private static double distanceToSegment(double x, double y, double ax, double ay, double bx, double by){
+        double dx = bx-ax, dy = by-ay;
+        double lengthSq = dx*dx+dy*dy;
+        double t = lengthSq == 0 ? 0 : Math.max(0, Math.min(1, ((x-ax)*dx+(y-ay)*dy)/lengthSq));
+        return Math.hypot(x-(ax+t*dx), y-(ay+t*dy));
+    }
+
+    private void onMousePressed(MouseEvent event){
+        if (event.getButton() != MouseButton.PRIMARY)
+            return;
+        pressX = event.getX();
+        pressY = event.getY();
+        if (event.isShiftDown()){
+            gesture = Gesture.BOX_SELECTION;
+            updateSelectionBox(pressX, pressY);
+            selectionBox.setVisible(true);
+            return;
+        }
+        dragged = pickVertex(pressX+viewX, pressY+viewY).orElse(null);
+        if (dragged != null){
+            gesture = Gesture.DRAG_VERTEX;
+            dragDeltaX = dragged.getX()-(pressX+viewX);
+            dragDeltaY = dragged.getY()-(pressY+viewY);
+        }
+        else {
+            gesture = Gesture.PAN;
+            panStartX = viewX;
+            panStartY = viewY;
+        }
+    }
+
+    private void onMouseDragged(MouseEvent event){
+        switch (gesture){
+            case DRAG_VERTEX:
+                dragged.setPos(event.getX()+viewX+dragDeltaX, event.getY()+viewY+dragDeltaY);
+                break;
+            case PAN:
+                setView(panStartX-(event.getX()-pressX), panStartY-(event.getY()-pressY));
+                break;
+            case BOX_SELECTION:
+                updateSelectionBox(event.getX(), event.getY());
+                break;
+            case NONE:
+                return;
+        }
+        lastDragTime = System.currentTimeMillis();
+    }
+
+    private void onMouseReleased(MouseEvent event){
+        if (gesture == Gesture.BOX_SELECTION){
+            selectionBox.setVisible(false);
+            selectRegion(selectionBox.getX()+viewX, selectionBox.getY()+viewY,
+                    selectionBox.getX()+selectionBox.getWidth()+viewX,
+                    selectionBox.getY()+selectionBox.getHeight()+viewY);
+        }
+        gesture = Gesture.NONE;
+        dragged = null;
+    }
+
+    private void onMouseClicked(MouseEvent event){
+        if (event.getButton() != MouseButton.PRIMARY || event.isShiftDown()
+                || System.currentTimeMillis()-lastDragTime <= FXVertex.DRAG_TIME_MARGIN)
+            return;
+        double x = event.getX()+viewX, y = event.getY()+viewY;
+        Optional<FXVertex> vertex = pickVertex(x, y);
+        if (vertex.isPresent()){
+            graph.select(vertex.get());
+            return;
+        }
+        pickEdge(x, y).ifPresent(graph::select);
+    }
+
+    private void onScroll(ScrollEvent event){
+        setView(viewX-event.getDeltaX(), viewY-event.getDeltaY());
+    }
+
+    private void updateSelectionBox(double x, double y){
+        selectionBox.setX(Math.min(pressX, x));
+        selectionBox.setY(Math.min(pressY, y));
+        selectionBox.setWidth(Math.abs(x-pressX));
+        selectionBox.setHeight(Math.abs(y-pressY));
+    }
+
+    private enum Gesture {
+        NONE, DRAG_VERTEX, PAN, BOX_SELECTION
+    }
+
+}
@@ -0,0 +1,11 @@
+package gui;
+
+public final class Launcher {
+
+    private Launcher(){}
+
+    public static void main(String[] args){
+        Main.main(args);
+    }
+
+}
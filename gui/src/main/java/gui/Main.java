@@ -0,0 +1,211 @@
+package gui;
+
+import javafx.application.Application;
+import gui.layout.LayoutRunner;
+import javafx.beans.binding.Bindings;
+import javafx.geometry.Orientation;
+import javafx.geometry.Side;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.*;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import model.HashGraph;
+
+
+public final class Main extends Application {
+
+    @Override
+    public void start(Stage primaryStage) throws Exception {
+        FXGraph graph = new FXGraph(new HashGraph());
+        String canvasThreshold = getParameters().getNamed().get("canvas-threshold");
+        if (canvasThreshold != null)
+            graph.setCanvasThreshold(Integer.parseInt(canvasThreshold));
+        VBox mainPane = new VBox(createCommandBar(graph, primaryStage), createPlaybackBar(graph),
+                graph.getGraphics());
+        VBox.setVgrow(graph.getGraphics(), Priority.ALWAYS);
+        mainPane.setMinSize(1200, 600);
+        VertexDescriptionTable descrPane = graph.getDescriptionPane();
+        descrPane.setStyle("-fx-background-color: lightblue");
+        descrPane.setMaxWidth(400);
+        SplitPane rootPane = new SplitPane(mainPane, descrPane);
+        primaryStage.setScene(new Scene(rootPane));
+        primaryStage.show();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    private HBox createCommandBar(FXGraph graph, Stage primaryStage){
+        Button addVerticeButton = new Button("Create");
+        TextField verticeNameField = new TextField();
+        addVerticeButton.setOnAction(event -> {
+            String name = verticeNameField.getText();
+            if (graph.isValidName(name)){
+                verticeNameField.setStyle("-fx-border-color: lightgrey");
+                graph.addVertex(FXVertex.create(name, 10, 10, graph));
+                verticeNameField.setText("");
+            }
+            else {
+                verticeNameField.setStyle("-fx-border-color: red");
+            }
+        });
+        verticeNameField.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.ENTER)
+                addVerticeButton.fire();
+            event.consume();
+        });
+        SpinnerValueFactory.IntegerSpinnerValueFactory edgeWeights =
+                new SpinnerValueFactory.IntegerSpinnerValueFactory(0, Integer.MAX_VALUE, 1);
+        Spinner<Integer> edgeWeightSpinner = new Spinner<>(edgeWeights);
+        edgeWeightSpinner.setEditable(true);
+        CheckBox signedBox = new CheckBox("Signed");
+        edgeWeights.minProperty().bind(
+                Bindings.when(signedBox.selectedProperty()).then(Integer.MIN_VALUE).otherwise(0));
+        Spinner<Integer> edgeCostSpinner = new Spinner<>(0, Integer.MAX_VALUE, 0);
+        edgeCostSpinner.setEditable(true);
+        Button addEdgeButton = new Button("Create");
+        addEdgeButton.setOnAction(event -> {
+            graph.linkSelectedVertices(edgeWeightSpinner.getValue(), edgeCostSpinner.getValue(),
+                    signedBox.isSelected());
+            graph.clearSelection();
+        });
+        Button clearPropertiesButton = new Button("Clear properties");
+        clearPropertiesButton.setOnAction(event -> graph.clearProperties());
+        Button deleteButton = new Button("Delete selected");
+        deleteButton.setOnAction(event -> graph.deleteSelected());
+        Button undoButton = new Button("Undo");
+        undoButton.setOnAction(event -> graph.undo());
+        Button redoButton = new Button("Redo");
+        redoButton.setOnAction(event -> graph.redo());
+        Label verticeLabel = new Label(" Vertex"), edgeLabel = new Label("Edge");
+        verticeLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14");
+        edgeLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14");
+        Button dfsButton = new Button("DFS");
+        dfsButton.setOnAction(event -> {
+            if (!graph.runDFS()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "Exactly one vertex must be selected when running DFS").show();
+            }
+        });
+        Button bfsButton = new Button("BFS");
+        bfsButton.setOnAction(event -> {
+            if (!graph.runBFS()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "Exactly one vertex must be selected when running BFS").show();
+            }
+        });
+        Button kruskalButton = new Button("Kruskal");
+        kruskalButton.setOnAction(event -> graph.runKruskal());
+        Button fordFulkersonButton = new Button("FF");
+        fordFulkersonButton.setOnAction(event -> {
+            if (!graph.runFordFulkerson()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "Exactly two vertices must be selected when running FF").show();
+            }
+        });
+        Button pushRelabelButton = new Button("PR");
+        pushRelabelButton.setOnAction(event -> {
+            if (!graph.runPushRelabel()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "Exactly two vertices must be selected when running PR").show();
+            }
+        });
+        Button minCostFlowButton = new Button("MCF");
+        minCostFlowButton.setOnAction(event -> {
+            if (!graph.runMinCostFlow()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "Exactly two vertices must be selected when running MCF").show();
+            }
+        });
+        Button bellmanFordButton = new Button("BF");
+        bellmanFordButton.setOnAction(event -> {
+            if (!graph.isSingleVertexSelected()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "Exactly one vertex must be selected when running BF").show();
+            } else if (!graph.runBellmanFord()){
+                new Alert(Alert.AlertType.WARNING,
+                        "A negative cycle is reachable from the source, so the distances are not shortest paths")
+                        .show();
+            }
+        });
+        Button dijkstraButton = new Button("Dijkstra");
+        dijkstraButton.setOnAction(event -> {
+            if (!graph.runBidirectionalDijkstra()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "Exactly two vertices must be selected when running Dijkstra").show();
+            }
+        });
+        Button aStarButton = new Button("A*");
+        aStarButton.setOnAction(event -> {
+            if (!graph.runAStar()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "Exactly two vertices must be selected when running A*").show();
+            }
+        });
+        Button sccButton = new Button("SCC");
+        sccButton.setOnAction(event -> graph.runStronglyConnectedComponents());
+        Button topologicalSortButton = new Button("Topo");
+        topologicalSortButton.setOnAction(event -> {
+            if (!graph.runTopologicalSort()){
+                new Alert(Alert.AlertType.INFORMATION,
+                        "The graph has a cycle, so it has no topological order").show();
+            }
+        });
+        LayoutRunner layoutRunner = new LayoutRunner(graph);
+        Button layoutButton = new Button("Layout");
+        layoutButton.textProperty().bind(
+                Bindings.when(layoutRunner.runningProperty()).then("Stop layout").otherwise("Layout"));
+        layoutButton.setOnAction(event -> {
+            if (layoutRunner.isRunning())
+                layoutRunner.stop();
+            else
+                layoutRunner.start();
+        });
+        HBox res = new HBox(verticeLabel, new Label("Name:"), verticeNameField, addVerticeButton,
+                new Separator(Orientation.VERTICAL), edgeLabel, new Label("Weight:"), edgeWeightSpinner,
+                signedBox, new Label("Cost:"), edgeCostSpinner, addEdgeButton, deleteButton, undoButton, redoButton,
+                clearPropertiesButton, dfsButton, bfsButton, kruskalButton, fordFulkersonButton, pushRelabelButton,
+                minCostFlowButton, bellmanFordButton, dijkstraButton, aStarButton, sccButton, topologicalSortButton,
+                layoutButton);
+        res.setStyle("-fx-alignment: baseline-left; -fx-spacing: 10");
+        return res;
+    }
+
+    private HBox createPlaybackBar(FXGraph graph){
+        AlgorithmPlayer player = graph.getPlayer();
+        CheckBox animateBox = new CheckBox("Animate");
+        animateBox.selectedProperty().addListener((obs, wasSelected, selected) -> graph.setAnimated(selected));
+        Button playButton = new Button("Play");
+        playButton.textProperty().bind(Bindings.when(player.playingProperty()).then("Pause").otherwise("Play"));
+        playButton.setOnAction(event -> {
+            if (player.isPlaying())
+                player.pause();
+            else
+                player.play();
+        });
+        Button stepButton = new Button("Step");
+        stepButton.setOnAction(event -> player.step());
+        Spinner<Integer> speedSpinner = new Spinner<>(1, 10_000, AlgorithmPlayer.DEFAULT_EVENTS_PER_SECOND);
+        speedSpinner.setEditable(true);
+        speedSpinner.valueProperty().addListener((obs, oldSpeed, speed) -> player.setEventsPerSecond(speed));
+        Slider timelineSlider = new Slider(0, 0, 0);
+        timelineSlider.setMinWidth(400);
+        timelineSlider.maxProperty().bind(player.lengthProperty());
+        player.positionProperty().addListener((obs, oldPos, pos) -> timelineSlider.setValue(pos.intValue()));
+        timelineSlider.valueProperty().addListener((obs, oldPos, pos) -> player.seek(pos.intValue()));
+        Label positionLabel = new Label();
+        positionLabel.textProperty().bind(Bindings.format("%d/%d%s", player.positionProperty(), player.lengthProperty(),
+                Bindings.when(player.truncatedProperty()).then(" (earlier events dropped)").otherwise("")));
+        HBox res = new HBox(animateBox, playButton, stepButton, new Label("Events/s:"), speedSpinner,
+                timelineSlider, positionLabel);
+        res.setStyle("-fx-alignment: baseline-left; -fx-spacing: 10");
+        return res;
+    }
+
+}
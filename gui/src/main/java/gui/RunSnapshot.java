@@ -0,0 +1,65 @@
+package gui;
+
+import model.Edge;
+import model.Vertex;
+
+import java.util.*;
+
+final class RunSnapshot {
+    private static final long BASE_BYTES = 64, VERTEX_BYTES = 48, PROPERTY_BYTES = 40, EDGE_BYTES = 32;
+
+    private final Map<Vertex, Map<String, Object>> properties;
+    private final Map<Edge, Integer> usedWeights;
+    private final List<FXEdge> highlighted;
+    private final boolean outcome;
+    private final long weight;
+
+    private RunSnapshot(Map<Vertex, Map<String, Object>> properties, Map<Edge, Integer> usedWeights,
+                        List<FXEdge> highlighted, boolean outcome){
+        this.properties = properties;
+        this.usedWeights = usedWeights;
+        this.highlighted = highlighted;
+        this.outcome = outcome;
+        long weight = BASE_BYTES+EDGE_BYTES*(usedWeights.size()+highlighted.size());
+        for (Map<String, Object> vertexProperties: properties.values())
+            weight += VERTEX_BYTES+PROPERTY_BYTES*vertexProperties.size();
+        this.weight = weight;
+    }
+
+    static RunSnapshot capture(Collection<FXVertex> vertices, Collection<FXEdge> edges, boolean outcome){
+        Map<Vertex, Map<String, Object>> properties = new HashMap<>();
+        for (FXVertex vertex: vertices){
+            Map<String, Object> vertexProperties = vertex.getVertex().getProperties();
+            if (!vertexProperties.isEmpty())
+                properties.put(vertex.getVertex(), new HashMap<>(vertexProperties));
+        }
+        Map<Edge, Integer> usedWeights = new HashMap<>();
+        List<FXEdge> highlighted = new ArrayList<>();
+        for (FXEdge edge: edges){
+            if (edge.getEdge().getUsedWeight() != Edge.DEFAULT_USED_WEIGHT)
+                usedWeights.put(edge.getEdge(), edge.getEdge().getUsedWeight());
+            if (edge.isHighlighted())
+                highlighted.add(edge);
+        }
+        return new RunSnapshot(properties, usedWeights, highlighted, outcome);
+    }
+
+    void restore(){
+        for (Map.Entry<Vertex, Map<String, Object>> vertex: properties.entrySet())
+            for (Map.Entry<String, Object> property: vertex.getValue().entrySet())
+                vertex.getKey().setProperty(property.getKey(), property.getValue());
+        for (Map.Entry<Edge, Integer> usedWeight: usedWeights.entrySet())
+            usedWeight.getKey().setUsedWeight(usedWeight.getValue());
+        for (FXEdge edge: highlighted)
+            edge.setHighlighted(true);
+    }
+
+    boolean outcome(){
+        return outcome;
+    }
+
+    long weight(){
+        return weight;
+    }
+
+}
@@ -0,0 +1,54 @@
+package gui;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import model.Vertex;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public final class VertexDescription {
+    private final FXVertex vertex;
+    private final ReadOnlyStringWrapper name;
+    private final Map<String, ReadOnlyStringWrapper> values = new HashMap<>();
+    private int seenVersion = -1;
+
+    VertexDescription(FXVertex vertex){
+        this.vertex = vertex;
+        this.name = new ReadOnlyStringWrapper(vertex.getVertex().getName());
+    }
+
+    public FXVertex getVertex(){
+        return vertex;
+    }
+
+    public String getVertexName(){
+        return name.get();
+    }
+
+    public ReadOnlyStringProperty nameProperty(){
+        return name.getReadOnlyProperty();
+    }
+
+    public ReadOnlyStringProperty valueProperty(String propertyName){
+        return values.computeIfAbsent(propertyName, key -> new ReadOnlyStringWrapper(format(key)))
+                .getReadOnlyProperty();
+    }
+
+    void refresh(Set<String> usedNames){
+        Vertex model = vertex.getVertex();
+        usedNames.addAll(model.getProperties().keySet());
+        if (model.getPropertiesVersion() == seenVersion)
+            return;
+        seenVersion = model.getPropertiesVersion();
+        for (Map.Entry<String, ReadOnlyStringWrapper> entry: values.entrySet())
+            entry.getValue().set(format(entry.getKey()));
+    }
+
+    private String format(String propertyName){
+        Object value = vertex.getVertex().getProperty(propertyName);
+        return value == null ? "" : value.toString();
+    }
+
+}
@@ -0,0 +1,90 @@
+package gui;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import model.Vertex;
+
+import java.util.*;
+
+public final class VertexDescriptionTable extends TableView<VertexDescription> {
+    private static final double CELL_SIZE = 25;
+
+    private final ObservableList<VertexDescription> rows = FXCollections.observableArrayList();
+    private final Map<Vertex, VertexDescription> rowOf = new HashMap<>();
+    private final Map<String, TableColumn<VertexDescription, String>> propertyColumns = new TreeMap<>();
+
+    public VertexDescriptionTable(){
+        TableColumn<VertexDescription, String> nameColumn = new TableColumn<>("Vertex");
+        nameColumn.setCellValueFactory(cell -> cell.getValue().nameProperty());
+        nameColumn.setSortable(false);
+        getColumns().add(nameColumn);
+        setItems(new SortedList<>(rows, Comparator.comparing(VertexDescription::getVertexName)));
+        setFixedCellSize(CELL_SIZE);
+    }
+
+    public void add(FXVertex vertex){
+        VertexDescription row = new VertexDescription(vertex);
+        VertexDescription previous = rowOf.put(vertex.getVertex(), row);
+        if (previous != null)
+            rows.remove(previous);
+        rows.add(row);
+    }
+
+    public void remove(FXVertex vertex){
+        VertexDescription row = rowOf.remove(vertex.getVertex());
+        if (row != null)
+            rows.remove(row);
+    }
+
+    public void addAll(Collection<FXVertex> vertices){
+        List<VertexDescription> added = new ArrayList<>();
+        Set<VertexDescription> replaced = new HashSet<>();
+        for (FXVertex vertex: vertices){
+            VertexDescription row = new VertexDescription(vertex);
+            VertexDescription previous = rowOf.put(vertex.getVertex(), row);
+            if (previous != null)
+                replaced.add(previous);
+            added.add(row);
+        }
+        if (!replaced.isEmpty())
+            rows.removeAll(replaced);
+        rows.addAll(added);
+    }
+
+    public void removeAll(Collection<FXVertex> vertices){
+        Set<VertexDescription> removed = new HashSet<>();
+        for (FXVertex vertex: vertices){
+            VertexDescription row = rowOf.remove(vertex.getVertex());
+            if (row != null)
+                removed.add(row);
+        }
+        if (!removed.isEmpty())
+            rows.removeAll(removed);
+    }
+
+    public void update(){
+        Set<String> usedNames = new HashSet<>();
+        for (VertexDescription row: rows)
+            row.refresh(usedNames);
+        if (usedNames.equals(propertyColumns.keySet()))
+            return;
+        propertyColumns.keySet().retainAll(usedNames);
+        for (String propertyName: usedNames)
+            propertyColumns.computeIfAbsent(propertyName, this::newPropertyColumn);
+        List<TableColumn<VertexDescription, ?>> columns = new ArrayList<>();
+        columns.add(getColumns().get(0));
+        columns.addAll(propertyColumns.values());
+        getColumns().setAll(columns);
+    }
+
+    private TableColumn<VertexDescription, String> newPropertyColumn(String propertyName){
+        TableColumn<VertexDescription, String> column = new TableColumn<>(propertyName);
+        column.setCellValueFactory(cell -> cell.getValue().valueProperty(propertyName));
+        column.setSortable(false);
+        return column;
+    }
+
+}
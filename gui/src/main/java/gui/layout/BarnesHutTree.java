@@ -0,0 +1,187 @@
+package gui.layout;
+
+import java.util.Arrays;
+
+final class BarnesHutTree {
+    private static final int NO_CHILD = -1, EMPTY = -1, AGGREGATE = -2;
+    private static final int MAX_DEPTH = 40;
+    private static final int NODE_STRIDE = 4, CENTER_X = 0, CENTER_Y = 1, MASS = 2, SIZE = 3;
+    private static final int LINK_STRIDE = 2, FIRST_CHILD = 0, BODY = 1;
+
+    private double[] nodes = new double[0], origins = new double[0];
+    private int[] links = new int[0];
+    private int capacity = 0, nodesCount = 0;
+    private int[] bodiesOrder = new int[0];
+
+    void build(double[] x, double[] y, int n){
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY,
+                maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; ++i){
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        ensureCapacity(Math.max(16, 2*n+1));
+        nodesCount = 0;
+        double side = Math.max(Math.max(maxX-minX, maxY-minY), 1)*1.0001;
+        newNode(minX, minY, side);
+        for (int i = 0; i < n; ++i)
+            insert(i, x[i], y[i]);
+        for (int node = 0; node < nodesCount; ++node){
+            double mass = nodes[node*NODE_STRIDE+MASS];
+            if (mass > 0){
+                nodes[node*NODE_STRIDE+CENTER_X] /= mass;
+                nodes[node*NODE_STRIDE+CENTER_Y] /= mass;
+            }
+        }
+        orderBodies(n);
+    }
+
+    private void insert(int i, double px, double py){
+        int node = 0;
+        for (int depth = 0; ; ++depth){
+            addMass(node, px, py);
+            if (links[node*LINK_STRIDE+FIRST_CHILD] != NO_CHILD){
+                node = childFor(node, px, py);
+                continue;
+            }
+            int body = links[node*LINK_STRIDE+BODY];
+            if (body == EMPTY){
+                links[node*LINK_STRIDE+BODY] = i;
+                return;
+            }
+            if (body == AGGREGATE || depth >= MAX_DEPTH){
+                links[node*LINK_STRIDE+BODY] = AGGREGATE;
+                return;
+            }
+            double previousX = nodes[node*NODE_STRIDE+CENTER_X]-px,
+                    previousY = nodes[node*NODE_STRIDE+CENTER_Y]-py;
+            links[node*LINK_STRIDE+BODY] = EMPTY;
+            subdivide(node);
+            int previousChild = childFor(node, previousX, previousY);
+            addMass(previousChild, previousX, previousY);
+            links[previousChild*LINK_STRIDE+BODY] = body;
+            node = childFor(node, px, py);
+        }
+    }
+
+    private void addMass(int node, double px, double py){
+        nodes[node*NODE_STRIDE+CENTER_X] += px;
+        nodes[node*NODE_STRIDE+CENTER_Y] += py;
+        nodes[node*NODE_STRIDE+MASS] += 1;
+    }
+
+    private void subdivide(int node){
+        double half = nodes[node*NODE_STRIDE+SIZE]/2;
+        double ox = origins[2*node], oy = origins[2*node+1];
+        ensureCapacity(nodesCount+4);
+        links[node*LINK_STRIDE+FIRST_CHILD] = nodesCount;
+        newNode(ox, oy, half);
+        newNode(ox+half, oy, half);
+        newNode(ox, oy+half, half);
+        newNode(ox+half, oy+half, half);
+    }
+
+    private int childFor(int node, double px, double py){
+        double half = nodes[node*NODE_STRIDE+SIZE]/2;
+        int quadrant = (px >= origins[2*node]+half ? 1 : 0) + (py >= origins[2*node+1]+half ? 2 : 0);
+        return links[node*LINK_STRIDE+FIRST_CHILD]+quadrant;
+    }
+
+    private void newNode(double ox, double oy, double side){
+        int node = nodesCount++;
+        links[node*LINK_STRIDE+FIRST_CHILD] = NO_CHILD;
+        links[node*LINK_STRIDE+BODY] = EMPTY;
+        nodes[node*NODE_STRIDE+CENTER_X] = 0;
+        nodes[node*NODE_STRIDE+CENTER_Y] = 0;
+        nodes[node*NODE_STRIDE+MASS] = 0;
+        nodes[node*NODE_STRIDE+SIZE] = side;
+        origins[2*node] = ox;
+        origins[2*node+1] = oy;
+    }
+
+    private void ensureCapacity(int required){
+        if (required <= capacity)
+            return;
+        capacity = Math.max(required, 2*capacity);
+        nodes = Arrays.copyOf(nodes, capacity*NODE_STRIDE);
+        links = Arrays.copyOf(links, capacity*LINK_STRIDE);
+        origins = Arrays.copyOf(origins, capacity*2);
+    }
+
+    private void orderBodies(int n){
+        if (bodiesOrder.length != n)
+            bodiesOrder = new int[n];
+        int filled = 0;
+        int[] stack = new int[4*MAX_DEPTH+4];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0){
+            int node = stack[--top];
+            int first = links[node*LINK_STRIDE+FIRST_CHILD], body = links[node*LINK_STRIDE+BODY];
+            if (first != NO_CHILD){
+                for (int child = first+3; child >= first; --child)
+                    stack[top++] = child;
+            }
+            else if (body >= 0)
+                bodiesOrder[filled++] = body;
+        }
+        if (filled < n){
+            boolean[] ordered = new boolean[n];
+            for (int i = 0; i < filled; ++i)
+                ordered[bodiesOrder[i]] = true;
+            for (int i = 0; i < n; ++i){
+                if (!ordered[i])
+                    bodiesOrder[filled++] = i;
+            }
+        }
+    }
+
+    int[] bodiesInSpatialOrder(){
+        return bodiesOrder;
+    }
+
+    void accumulateRepulsion(int i, double px, double py, double thetaSq, double kSq, double[] dispX, double[] dispY){
+        int[] stack = new int[4*MAX_DEPTH+4];
+        int top = 0;
+        stack[top++] = 0;
+        double fx = 0, fy = 0;
+        while (top > 0){
+            int node = stack[--top];
+            int base = node*NODE_STRIDE;
+            double mass = nodes[base+MASS];
+            int first = links[node*LINK_STRIDE+FIRST_CHILD], body = links[node*LINK_STRIDE+BODY];
+            if (mass == 0 || body == i)
+                continue;
+            double dx = px-nodes[base+CENTER_X], dy = py-nodes[base+CENTER_Y];
+            double distSq = dx*dx+dy*dy;
+            double size = nodes[base+SIZE];
+            if (first == NO_CHILD || size*size < thetaSq*distSq){
+                if (distSq == 0){
+                    dx = ((i*31) & 7)-3.5;
+                    dy = ((i*17) & 7)-3.5;
+                    distSq = dx*dx+dy*dy;
+                }
+                double bodies = body == AGGREGATE && isInside(node, px, py) ? mass-1 : mass;
+                double factor = kSq*bodies/distSq;
+                fx += dx*factor;
+                fy += dy*factor;
+                continue;
+            }
+            stack[top++] = first;
+            stack[top++] = first+1;
+            stack[top++] = first+2;
+            stack[top++] = first+3;
+        }
+        dispX[i] += fx;
+        dispY[i] += fy;
+    }
+
+    private boolean isInside(int node, double px, double py){
+        double size = nodes[node*NODE_STRIDE+SIZE];
+        return px >= origins[2*node] && px < origins[2*node]+size
+                && py >= origins[2*node+1] && py < origins[2*node+1]+size;
+    }
+
+}
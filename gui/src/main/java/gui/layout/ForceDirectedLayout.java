@@ -0,0 +1,115 @@
+package gui.layout;
+
+import helpers.Assertions;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public final class ForceDirectedLayout {
+    public static final double DEFAULT_SPACING = 80, DEFAULT_THETA = 1.0;
+    public static final int DEFAULT_MAX_ITERATIONS = 300;
+    private static final double COOLING = 0.95, MIN_TEMPERATURE = 0.5, INITIAL_TEMPERATURE_PART = 0.1;
+
+    private final int n;
+    private final double[] x, y, dispX, dispY;
+    private final int[] neighbourOffsets, neighbours;
+    private final BarnesHutTree tree = new BarnesHutTree();
+    private final double k, kSq, thetaSq;
+    private final int maxIterations;
+    private double temperature;
+    private int iteration = 0;
+
+    public ForceDirectedLayout(double[] x, double[] y, int[] edgeSources, int[] edgeTargets){
+        this(x, y, edgeSources, edgeTargets, DEFAULT_SPACING, DEFAULT_THETA, DEFAULT_MAX_ITERATIONS);
+    }
+
+    public ForceDirectedLayout(double[] x, double[] y, int[] edgeSources, int[] edgeTargets,
+                               double spacing, double theta, int maxIterations){
+        Assertions.assertThat(
+                () -> new IllegalArgumentException("Coordinates and edge ends must have matching lengths"),
+                x.length == y.length && edgeSources.length == edgeTargets.length
+        );
+        this.n = x.length;
+        this.x = Arrays.copyOf(x, n);
+        this.y = Arrays.copyOf(y, n);
+        this.dispX = new double[n];
+        this.dispY = new double[n];
+        this.k = spacing;
+        this.kSq = spacing*spacing;
+        this.thetaSq = theta*theta;
+        this.maxIterations = maxIterations;
+        this.temperature = Math.sqrt(n)*spacing*INITIAL_TEMPERATURE_PART;
+
+        neighbourOffsets = new int[n+1];
+        for (int e = 0; e < edgeSources.length; ++e){
+            if (edgeSources[e] == edgeTargets[e])
+                continue;
+            ++neighbourOffsets[edgeSources[e]+1];
+            ++neighbourOffsets[edgeTargets[e]+1];
+        }
+        for (int v = 0; v < n; ++v)
+            neighbourOffsets[v+1] += neighbourOffsets[v];
+        neighbours = new int[neighbourOffsets[n]];
+        int[] fill = Arrays.copyOf(neighbourOffsets, n);
+        for (int e = 0; e < edgeSources.length; ++e){
+            int source = edgeSources[e], target = edgeTargets[e];
+            if (source == target)
+                continue;
+            neighbours[fill[source]++] = target;
+            neighbours[fill[target]++] = source;
+        }
+    }
+
+    public boolean isConverged(){
+        return iteration >= maxIterations || temperature < MIN_TEMPERATURE;
+    }
+
+    public boolean step(){
+        if (isConverged())
+            return false;
+        tree.build(x, y, n);
+        int[] order = tree.bodiesInSpatialOrder();
+        IntStream.range(0, n).parallel().forEach(i -> computeDisplacement(order[i]));
+        double maxDisplacement = temperature;
+        IntStream.range(0, n).parallel().forEach(v -> {
+            double norm = Math.sqrt(dispX[v]*dispX[v]+dispY[v]*dispY[v]);
+            if (norm > 0){
+                double limited = Math.min(norm, maxDisplacement);
+                x[v] += dispX[v]/norm*limited;
+                y[v] += dispY[v]/norm*limited;
+            }
+        });
+        temperature *= COOLING;
+        ++iteration;
+        return true;
+    }
+
+    private void computeDisplacement(int v){
+        dispX[v] = 0;
+        dispY[v] = 0;
+        double px = x[v], py = y[v];
+        tree.accumulateRepulsion(v, px, py, thetaSq, kSq, dispX, dispY);
+        for (int i = neighbourOffsets[v]; i < neighbourOffsets[v+1]; ++i){
+            int u = neighbours[i];
+            double dx = px-x[u], dy = py-y[u];
+            double dist = Math.sqrt(dx*dx+dy*dy);
+            double factor = dist/k;
+            dispX[v] -= dx*factor;
+            dispY[v] -= dy*factor;
+        }
+    }
+
+    public int getIteration(){
+        return iteration;
+    }
+
+    public int verticesCount(){
+        return n;
+    }
+
+    public void copyPositions(double[] xOut, double[] yOut){
+        System.arraycopy(x, 0, xOut, 0, n);
+        System.arraycopy(y, 0, yOut, 0, n);
+    }
+
+}
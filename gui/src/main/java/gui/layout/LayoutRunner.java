@@ -0,0 +1,119 @@
+package gui.layout;
+
+import gui.FXEdge;
+import gui.FXGraph;
+import gui.FXVertex;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class LayoutRunner {
+    private static final long PUBLISH_INTERVAL_MS = 100;
+
+    private final FXGraph graph;
+    private final ReadOnlyBooleanWrapper running = new ReadOnlyBooleanWrapper();
+    private final AtomicReference<Frame> pendingFrame = new AtomicReference<>();
+    private final AtomicBoolean publishScheduled = new AtomicBoolean();
+    private volatile Thread worker = null;
+
+    public LayoutRunner(FXGraph graph){
+        this.graph = graph;
+    }
+
+    public void start(){
+        stop();
+        List<FXVertex> vertices = new ArrayList<>(graph.getVertices());
+        if (vertices.isEmpty())
+            return;
+        Map<FXVertex, Integer> indices = new HashMap<>();
+        double[] x = new double[vertices.size()], y = new double[vertices.size()];
+        for (int i = 0; i < vertices.size(); ++i){
+            indices.put(vertices.get(i), i);
+            x[i] = vertices.get(i).getX();
+            y[i] = vertices.get(i).getY();
+        }
+        Set<FXEdge> edges = graph.getEdges();
+        int[] sources = new int[edges.size()], targets = new int[edges.size()];
+        int e = 0;
+        for (FXEdge edge: edges){
+            sources[e] = indices.get(edge.getStart());
+            targets[e] = indices.get(edge.getEnd());
+            ++e;
+        }
+        ForceDirectedLayout layout = new ForceDirectedLayout(x, y, sources, targets);
+        Thread thread = new Thread(() -> run(layout, vertices), "force-directed-layout");
+        thread.setDaemon(true);
+        worker = thread;
+        running.set(true);
+        thread.start();
+    }
+
+    public void stop(){
+        worker = null;
+        running.set(false);
+    }
+
+    private void run(ForceDirectedLayout layout, List<FXVertex> vertices){
+        Thread self = Thread.currentThread();
+        long lastPublish = 0;
+        while (worker == self && layout.step()){
+            long now = System.currentTimeMillis();
+            if (now-lastPublish >= PUBLISH_INTERVAL_MS){
+                publish(layout, vertices);
+                lastPublish = now;
+            }
+        }
+        if (worker == self){
+            publish(layout, vertices);
+            Platform.runLater(() -> {
+                if (worker == self){
+                    worker = null;
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    private void publish(ForceDirectedLayout layout, List<FXVertex> vertices){
+        double[] x = new double[layout.verticesCount()], y = new double[layout.verticesCount()];
+        layout.copyPositions(x, y);
+        pendingFrame.set(new Frame(Thread.currentThread(), vertices, x, y));
+        if (publishScheduled.compareAndSet(false, true))
+            Platform.runLater(this::applyPendingFrame);
+    }
+
+    private void applyPendingFrame(){
+        publishScheduled.set(false);
+        Frame frame = pendingFrame.getAndSet(null);
+        if (frame == null || frame.owner != worker)
+            return;
+        for (int i = 0; i < frame.vertices.size(); ++i)
+            frame.vertices.get(i).setPos(frame.x[i], frame.y[i]);
+    }
+
+    public boolean isRunning(){
+        return running.get();
+    }
+
+    public ReadOnlyBooleanProperty runningProperty(){
+        return running.getReadOnlyProperty();
+    }
+
+    private static final class Frame {
+        private final Thread owner;
+        private final List<FXVertex> vertices;
+        private final double[] x, y;
+
+        private Frame(Thread owner, List<FXVertex> vertices, double[] x, double[] y){
+            this.owner = owner;
+            this.vertices = vertices;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+}